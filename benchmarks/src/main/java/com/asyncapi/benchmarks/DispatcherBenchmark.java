@@ -0,0 +1,124 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ObjectMapperConfig;
+import com.asyncapi.consumer.AsyncMessageDispatcher;
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.consumer.InboundPayloadParser;
+import com.asyncapi.consumer.InboundRecordHandler;
+import com.asyncapi.consumer.VirtualThreadDispatcher;
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The ASYNC (reactive) and VIRTUAL (blocking on virtual threads) dispatchers side by side: each operation
+ * dispatches a burst of records on one partition to an external API that answers after a fixed latency,
+ * and ends when the burst's last offset is committed. VIRTUAL needs a Java 21 JVM; on Java 17 run
+ * with {@code -p mode=ASYNC}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class DispatcherBenchmark {
+
+    @Param({"ASYNC", "VIRTUAL"})
+    private ConsumerProperties.ProcessingMode mode;
+
+    @Param({"1000"})
+    private int burst;
+
+    @Param({"1", "20"})
+    private long latencyMillis;
+
+    private Consumer<Message<byte[]>> dispatcher;
+    private VirtualThreadDispatcher virtualThreadDispatcher;
+    private byte[] payload;
+    private long nextOffset;
+
+    @Setup
+    public void setUp() throws IOException {
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapperConfig().objectMapper());
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setMode(mode);
+        consumerProperties.setMaxInFlightPerPartition(burst);
+        consumerProperties.getVirtualThreads().setMaxConcurrency(burst);
+
+        MessageRouter messageRouter = StubExternalApiService.router(
+                Mono.delay(Duration.ofMillis(latencyMillis)).thenReturn("{\"status\":\"success\"}"));
+        InboundPayloadParser inboundPayloadParser = new InboundPayloadParser(codec, consumerProperties);
+        OffsetTracker offsetTracker = new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry());
+        // Every call succeeds, so the failed record publisher never publishes
+        FailedRecordPublisher failedRecordPublisher = new FailedRecordPublisher(null, consumerProperties);
+        ConsumerMetrics consumerMetrics = new ConsumerMetrics(new SimpleMeterRegistry());
+        MessageEventLogger messageEventLogger = new MessageEventLogger(new MessageLoggingProperties());
+        InboundRecordHandler inboundRecordHandler = new InboundRecordHandler(messageRouter, inboundPayloadParser,
+                failedRecordPublisher, consumerProperties, messageEventLogger);
+
+        if (mode == ConsumerProperties.ProcessingMode.VIRTUAL) {
+            virtualThreadDispatcher = new VirtualThreadDispatcher(offsetTracker, consumerProperties, consumerMetrics,
+                    inboundRecordHandler);
+            dispatcher = virtualThreadDispatcher::dispatch;
+        } else {
+            dispatcher = new AsyncMessageDispatcher(offsetTracker, consumerProperties, consumerMetrics,
+                    inboundRecordHandler)::dispatch;
+        }
+        payload = codec.write(Payloads.payload(256));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (virtualThreadDispatcher != null) {
+            virtualThreadDispatcher.destroy();
+        }
+    }
+
+    @Benchmark
+    public void dispatchBurst() throws InterruptedException {
+        CountDownLatch committed = new CountDownLatch(1);
+        long last = nextOffset + burst - 1;
+        for (; nextOffset <= last; nextOffset++) {
+            Acknowledgment acknowledgment = nextOffset == last ? committed::countDown : () -> { };
+            dispatcher.accept(MessageBuilder.withPayload(payload)
+                    .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                    .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                    .setHeader(KafkaHeaders.OFFSET, nextOffset)
+                    .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                    .build());
+        }
+        if (!committed.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Burst ending at offset " + last + " was not committed");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ObjectMapperConfig;
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.consumer.InboundPayloadParser;
+import com.asyncapi.consumer.KafkaConsumerConfiguration;
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The SYNC messageConsumer lambda from record to completed external API call, with the external API
+ * answering immediately, so the figures cover header access, parsing and the reactive plumbing only
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MessageConsumerBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    private int contentLength;
+
+    @Param({"false", "true"})
+    private boolean passthrough;
+
+    private Consumer<Message<byte[]>> messageConsumer;
+    private Message<byte[]> message;
+
+    @Setup
+    public void setUp() throws IOException {
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapperConfig().objectMapper());
+        ConsumerProperties consumerProperties = new ConsumerProperties();
+        consumerProperties.setPassthrough(passthrough);
+
+        // Only the SYNC lambda is built, so the dispatchers are never used, and since every call
+        // succeeds the failed record publisher never publishes
+        MessageRouter messageRouter = StubExternalApiService.router(Mono.just("{\"status\":\"success\"}"));
+        KafkaConsumerConfiguration configuration = new KafkaConsumerConfiguration(messageRouter,
+                new InboundPayloadParser(codec, consumerProperties), consumerProperties,
+                null, null, null, null, null, new FailedRecordPublisher(null, consumerProperties),
+                new ConsumerMetrics(new SimpleMeterRegistry()), new MessageEventLogger(new MessageLoggingProperties()));
+        messageConsumer = configuration.messageConsumer();
+
+        message = MessageBuilder.withPayload(codec.write(Payloads.payload(contentLength)))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                .setHeader(KafkaHeaders.OFFSET, 42L)
+                .build();
+    }
+
+    @Benchmark
+    public void consume() {
+        messageConsumer.accept(message);
+    }
+}
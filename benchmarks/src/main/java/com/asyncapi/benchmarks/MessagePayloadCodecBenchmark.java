@@ -0,0 +1,81 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ObjectMapperConfig;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.RawMessagePayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessagePayload JSON reading and writing with the application's ObjectMapper. readFromString is the
+ * String-based parse the consumers used before reading straight from the record bytes, kept as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MessagePayloadCodecBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private MessagePayloadCodec codec;
+    private MessagePayload payload;
+    private byte[] json;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        codec = new MessagePayloadCodec(objectMapper);
+        payload = Payloads.payload(contentLength);
+        json = codec.write(payload);
+        out = new ByteArrayOutputStream(json.length);
+    }
+
+    @Benchmark
+    public MessagePayload readFromString() throws IOException {
+        return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), MessagePayload.class);
+    }
+
+    @Benchmark
+    public MessagePayload readFromBytes() throws IOException {
+        return codec.read(json);
+    }
+
+    @Benchmark
+    public RawMessagePayload readRequiredFields() throws IOException {
+        return codec.readRequiredFields(json);
+    }
+
+    @Benchmark
+    public byte[] writeToBytes() throws IOException {
+        return codec.write(payload);
+    }
+
+    @Benchmark
+    public int writeToStream() throws IOException {
+        out.reset();
+        codec.write(payload, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ObjectMapperConfig;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.PayloadFormat;
+import com.asyncapi.model.RawMessagePayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessagePayload reading and writing in each payload format, with the encoded size reported once per
+ * trial so throughput can be weighed against bytes on the wire. transcodeToJson is the cost of forwarding
+ * a passthrough record of that format to a JSON endpoint.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE", "AVRO"})
+    private PayloadFormat format;
+
+    @Param({"64", "1024", "16384"})
+    private int contentLength;
+
+    private MessagePayloadCodec codec;
+    private MessagePayload payload;
+    private byte[] encoded;
+    private RawMessagePayload raw;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = new MessagePayloadCodec(new ObjectMapperConfig().objectMapper());
+        payload = Payloads.payload(contentLength);
+        encoded = codec.write(payload, format);
+        raw = codec.readRequiredFields(encoded, format);
+        System.out.printf("%n%s, content %d: %d bytes%n", format, contentLength, encoded.length);
+    }
+
+    @Benchmark
+    public MessagePayload read() throws IOException {
+        return codec.read(encoded, format);
+    }
+
+    @Benchmark
+    public RawMessagePayload readRequiredFields() throws IOException {
+        return codec.readRequiredFields(encoded, format);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return codec.write(payload, format);
+    }
+
+    @Benchmark
+    public byte[] transcodeToJson() throws IOException {
+        return codec.write(raw, PayloadFormat.JSON);
+    }
+}
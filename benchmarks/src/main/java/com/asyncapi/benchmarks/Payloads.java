@@ -0,0 +1,27 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.model.MessagePayload;
+
+/**
+ * Payloads shaped like production messages, with the content field sized by the benchmark parameter
+ */
+final class Payloads {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog, \"quoted\" and café ☕. ";
+
+    private Payloads() {
+    }
+
+    static MessagePayload payload(int contentLength) {
+        StringBuilder content = new StringBuilder(contentLength);
+        while (content.length() < contentLength) {
+            content.append(TEXT, 0, Math.min(TEXT.length(), contentLength - content.length()));
+        }
+        return MessagePayload.builder()
+                .id("msg-0001")
+                .content(content.toString())
+                .timestamp(1698768000000L)
+                .source("benchmark")
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.ExternalApiService;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.routing.MessageRouter;
+import com.asyncapi.service.spill.SpillBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * An ExternalApiService that answers every delivery with the given response instead of calling the API
+ */
+final class StubExternalApiService extends ExternalApiService {
+
+    private final Mono<String> response;
+
+    private StubExternalApiService(ExternalApiProperties properties, MessagePayloadCodec codec, Mono<String> response) {
+        this(properties, codec, new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry()),
+             new ExternalApiResilience(properties, new SimpleMeterRegistry()), response);
+    }
+
+    private StubExternalApiService(ExternalApiProperties properties, MessagePayloadCodec codec,
+                                   AdaptiveConcurrencyLimiter limiter, ExternalApiResilience resilience,
+                                   Mono<String> response) {
+        super(WebClient.create(), codec, properties, limiter, resilience, new DeliveredMessageCache(properties),
+              new MessageEventLogger(new MessageLoggingProperties()),
+              new SpillBuffer(properties, codec, limiter, resilience, new SimpleMeterRegistry()));
+        this.response = response;
+    }
+
+    /**
+     * A router without routes, which sends every message to a stub answering with the given response
+     */
+    static MessageRouter router(Mono<String> response) {
+        ExternalApiProperties properties = new ExternalApiProperties();
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        return new MessageRouter(new StubExternalApiService(properties, codec, response), properties, codec,
+                                 new DeliveredMessageCache(properties), new MessageEventLogger(new MessageLoggingProperties()),
+                                 WebClient.builder(), new SimpleMeterRegistry());
+    }
+
+    @Override
+    public Mono<String> deliverMessage(MessagePayload payload) {
+        return response;
+    }
+}
@@ -0,0 +1,180 @@
+package com.asyncapi.benchmarks;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.ExternalApiService;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.AbstractClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A request through the WebClient to a connector that releases the encoded body instead of sending it
+ * and answers at once, isolating the cost of building and encoding the request. The connector hands out
+ * pooled Netty buffers, as Reactor Netty does. jackson2JsonEncoder is the default bodyValue encoding,
+ * kept as a baseline for the ExternalApiService request path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class WebClientEncodingBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    private int contentLength;
+
+    private WebClient webClient;
+    private ExternalApiService externalApiService;
+    private MessagePayload payload;
+    private MessagePayload rawPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        webClient = WebClient.builder()
+                .baseUrl("http://external-api")
+                .clientConnector(new DiscardingConnector())
+                .build();
+        ExternalApiProperties properties = new ExternalApiProperties();
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, new SimpleMeterRegistry());
+        externalApiService = new ExternalApiService(webClient, codec, properties, limiter, resilience,
+                new DeliveredMessageCache(properties), new MessageEventLogger(new MessageLoggingProperties()),
+                new SpillBuffer(properties, codec, limiter, resilience, new SimpleMeterRegistry()));
+
+        payload = Payloads.payload(contentLength);
+        rawPayload = codec.readRequiredFields(codec.write(payload));
+    }
+
+    @Benchmark
+    public String jackson2JsonEncoder() {
+        return webClient.post()
+                .uri("/api/messages")
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+    }
+
+    @Benchmark
+    public String sendMessage() {
+        return externalApiService.sendMessage(payload).block();
+    }
+
+    @Benchmark
+    public String sendMessagePassthrough() {
+        return externalApiService.sendMessage(rawPayload).block();
+    }
+
+    private static final class DiscardingConnector implements ClientHttpConnector {
+
+        private static final DataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+        @Override
+        public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+                                                Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+            return requestCallback.apply(new DiscardingRequest(method, uri))
+                    .then(Mono.fromSupplier(() -> {
+                        MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+                        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        response.setBody("{\"status\":\"success\"}");
+                        return response;
+                    }));
+        }
+
+        private static final class DiscardingRequest extends AbstractClientHttpRequest {
+
+            private final HttpMethod method;
+            private final URI uri;
+
+            private DiscardingRequest(HttpMethod method, URI uri) {
+                this.method = method;
+                this.uri = uri;
+            }
+
+            @Override
+            public HttpMethod getMethod() {
+                return method;
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            public DataBufferFactory bufferFactory() {
+                return BUFFER_FACTORY;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T getNativeRequest() {
+                return (T) this;
+            }
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return doCommit(() -> Flux.from(body).doOnNext(DataBufferUtils::release).then());
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return writeWith(Flux.from(body).concatMap(Flux::from));
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                return doCommit();
+            }
+
+            @Override
+            protected void applyHeaders() {
+            }
+
+            @Override
+            protected void applyCookies() {
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.asyncapi.codegen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Build step that generates the service's payload classes and consumer bindings from its AsyncAPI
+ * document; the service module runs it in generate-sources.
+ * <p>
+ * Arguments: the AsyncAPI document, the generated sources directory, the generated resources directory
+ * and the package of the payload classes. The bindings are written to asyncapi-bindings.yml.
+ */
+public final class AsyncApiCodegen {
+
+    static final String BINDINGS_FILE = "asyncapi-bindings.yml";
+
+    private AsyncApiCodegen() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException(
+                    "Usage: AsyncApiCodegen <asyncapi document> <sources directory> <resources directory> <package>");
+        }
+        generate(Path.of(args[0]), Path.of(args[1]), Path.of(args[2]), args[3]);
+    }
+
+    static void generate(Path document, Path sources, Path resources, String packageName) throws IOException {
+        AsyncApiDocument asyncApi = AsyncApiDocument.load(document);
+
+        Path packageDirectory = sources.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        PayloadClassGenerator classGenerator = new PayloadClassGenerator(packageName);
+        for (PayloadSchema schema : asyncApi.payloadSchemas()) {
+            Files.writeString(packageDirectory.resolve(schema.name() + ".java"), classGenerator.generate(schema));
+        }
+
+        Files.createDirectories(resources);
+        Files.writeString(resources.resolve(BINDINGS_FILE), new BindingConfigGenerator()
+                .generate(asyncApi.receiveOperations(), document.getFileName().toString()));
+    }
+}
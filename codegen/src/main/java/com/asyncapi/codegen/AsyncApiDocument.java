@@ -0,0 +1,195 @@
+package com.asyncapi.codegen;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import javax.lang.model.SourceVersion;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parts of an AsyncAPI 3 document the generators need: the object schemas that messages carry as
+ * payload, and the receive operations with their channels. Local $refs are followed; anything the
+ * generators cannot express fails with an {@link IllegalArgumentException} naming where it is.
+ */
+public final class AsyncApiDocument {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/json";
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+    private static final Pattern ADDRESS_PARAMETER = Pattern.compile("\\{([^}]+)}");
+
+    private final Map<String, Object> root;
+
+    private AsyncApiDocument(Map<String, Object> root) {
+        String version = String.valueOf(root.get("asyncapi"));
+        if (!version.startsWith("3.")) {
+            throw new IllegalArgumentException("Expected an AsyncAPI 3 document, found version " + version);
+        }
+        this.root = root;
+    }
+
+    public static AsyncApiDocument load(Path path) throws IOException {
+        return parse(Files.readString(path));
+    }
+
+    public static AsyncApiDocument parse(String yaml) {
+        Object root = new Yaml(new SafeConstructor(new LoaderOptions())).load(yaml);
+        if (!(root instanceof Map)) {
+            throw new IllegalArgumentException("Expected the document to be a mapping");
+        }
+        return new AsyncApiDocument(map(root, "document"));
+    }
+
+    /**
+     * The schemas referenced as payload by components/messages, each once, in the order they are first referenced
+     */
+    public List<PayloadSchema> payloadSchemas() {
+        Map<String, PayloadSchema> schemas = new LinkedHashMap<>();
+        map(path("components", "messages"), "components/messages").forEach((messageName, message) -> {
+            Object payload = map(message, "message " + messageName).get("payload");
+            Object ref = payload instanceof Map<?, ?> reference ? reference.get("$ref") : null;
+            if (!(ref instanceof String schemaRef) || !schemaRef.startsWith(SCHEMA_REF_PREFIX)) {
+                throw new IllegalArgumentException("The payload of message " + messageName
+                        + " must be a $ref to " + SCHEMA_REF_PREFIX + "...");
+            }
+            String schemaName = schemaRef.substring(SCHEMA_REF_PREFIX.length());
+            schemas.computeIfAbsent(schemaName, name -> payloadSchema(name, map(resolve(payload), schemaRef)));
+        });
+        return List.copyOf(schemas.values());
+    }
+
+    private static PayloadSchema payloadSchema(String name, Map<String, Object> schema) {
+        if (!SourceVersion.isName(name) || !"object".equals(schema.get("type"))) {
+            throw new IllegalArgumentException("Schema " + name + " must be an object schema named like a Java class");
+        }
+        List<?> required = schema.get("required") instanceof List<?> list ? list : List.of();
+        List<PayloadSchema.Property> properties = new ArrayList<>();
+        map(schema.get("properties"), "schema " + name + " properties").forEach((propertyName, value) -> {
+            Map<String, Object> property = map(value, "property " + name + "." + propertyName);
+            PayloadSchema.FieldType type = PayloadSchema.FieldType.of((String) property.get("type"),
+                                                                     (String) property.get("format"));
+            if (type == null || !SourceVersion.isName(propertyName)) {
+                throw new IllegalArgumentException("Property " + name + "." + propertyName
+                        + " must be a string, integer, number or boolean named like a Java field");
+            }
+            properties.add(new PayloadSchema.Property(propertyName, (String) property.get("description"), type,
+                                                      required.contains(propertyName)));
+        });
+        return new PayloadSchema(name, (String) schema.get("description"),
+                                 !Boolean.FALSE.equals(schema.get("x-java-final")), List.copyOf(properties));
+    }
+
+    /**
+     * The operations with action receive, in declaration order
+     */
+    public List<ReceiveOperation> receiveOperations() {
+        List<ReceiveOperation> operations = new ArrayList<>();
+        map(root.get("operations"), "operations").forEach((name, value) -> {
+            Map<String, Object> operation = map(value, "operation " + name);
+            if (!"receive".equals(operation.get("action"))) {
+                return;
+            }
+            Map<String, Object> channel = map(resolve(operation.get("channel")), "channel of operation " + name);
+            operations.add(new ReceiveOperation(name, addresses(channel, name), groupId(operation),
+                                                contentType(channel), Boolean.TRUE.equals(operation.get("x-batch-mode"))));
+        });
+        return operations;
+    }
+
+    /**
+     * The channel address with each {parameter} replaced by every value of its enum
+     */
+    private static List<String> addresses(Map<String, Object> channel, String operation) {
+        List<String> addresses = new ArrayList<>();
+        addresses.add((String) channel.get("address"));
+        if (addresses.get(0) == null) {
+            throw new IllegalArgumentException("The channel of operation " + operation + " has no address");
+        }
+        Matcher parameter = ADDRESS_PARAMETER.matcher(addresses.get(0));
+        while (parameter.find()) {
+            Object values = map(channel.getOrDefault("parameters", Map.of()), "channel parameters")
+                    .get(parameter.group(1));
+            if (!(values instanceof Map<?, ?> definition) || !(definition.get("enum") instanceof List<?> enumValues)) {
+                throw new IllegalArgumentException("Address parameter " + parameter.group(1) + " of operation "
+                        + operation + " needs an enum of its values");
+            }
+            List<String> expanded = new ArrayList<>();
+            for (String address : addresses) {
+                for (Object enumValue : enumValues) {
+                    expanded.add(address.replace(parameter.group(), String.valueOf(enumValue)));
+                }
+            }
+            addresses = expanded;
+        }
+        return List.copyOf(addresses);
+    }
+
+    private static String groupId(Map<String, Object> operation) {
+        Object bindings = operation.get("bindings");
+        Object kafka = bindings instanceof Map<?, ?> map ? map.get("kafka") : null;
+        Object groupId = kafka instanceof Map<?, ?> map ? map.get("groupId") : null;
+        if (!(groupId instanceof Map<?, ?> schema)) {
+            return null;
+        }
+        if (schema.get("const") != null) {
+            return String.valueOf(schema.get("const"));
+        }
+        return schema.get("enum") instanceof List<?> values && values.size() == 1 ? String.valueOf(values.get(0)) : null;
+    }
+
+    private String contentType(Map<String, Object> channel) {
+        Object messages = channel.get("messages");
+        if (messages instanceof Map<?, ?> map && !map.isEmpty()) {
+            Object contentType = map(resolve(map.values().iterator().next()), "channel message").get("contentType");
+            if (contentType != null) {
+                return contentType.toString();
+            }
+        }
+        Object contentType = root.get("defaultContentType");
+        return contentType != null ? contentType.toString() : DEFAULT_CONTENT_TYPE;
+    }
+
+    /**
+     * The node itself, or the node its local $ref points to
+     */
+    private Object resolve(Object node) {
+        if (!(node instanceof Map<?, ?> map) || !(map.get("$ref") instanceof String ref)) {
+            return node;
+        }
+        if (!ref.startsWith("#/")) {
+            throw new IllegalArgumentException("Only local $refs are supported: " + ref);
+        }
+        Object target = root;
+        for (String segment : ref.substring(2).split("/")) {
+            target = map(target, ref).get(segment.replace("~1", "/").replace("~0", "~"));
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("Unresolved $ref " + ref);
+        }
+        return resolve(target);
+    }
+
+    private Object path(String... keys) {
+        Object node = root;
+        for (String key : keys) {
+            node = map(node, String.join("/", keys)).get(key);
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object node, String where) {
+        if (!(node instanceof Map)) {
+            throw new IllegalArgumentException("Expected a mapping at " + where);
+        }
+        return (Map<String, Object>) node;
+    }
+}
@@ -0,0 +1,33 @@
+package com.asyncapi.codegen;
+
+import java.util.List;
+
+/**
+ * Writes the Spring Cloud Stream input bindings of the receive operations as a YAML config file:
+ * destination, group and content type, and batch mode where the operation asks for it. Binder-specific
+ * consumer settings stay in the application's own configuration.
+ */
+public final class BindingConfigGenerator {
+
+    public String generate(List<ReceiveOperation> operations, String documentName) {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("# Generated from ").append(documentName).append("; edit the AsyncAPI document instead\n");
+        yaml.append("spring:\n");
+        yaml.append("  cloud:\n");
+        yaml.append("    stream:\n");
+        yaml.append("      bindings:\n");
+        for (ReceiveOperation operation : operations) {
+            yaml.append("        ").append(operation.bindingName()).append(":\n");
+            yaml.append("          destination: ").append(String.join(",", operation.addresses())).append('\n');
+            if (operation.groupId() != null) {
+                yaml.append("          group: ").append(operation.groupId()).append('\n');
+            }
+            yaml.append("          content-type: ").append(operation.contentType()).append('\n');
+            if (operation.batchMode()) {
+                yaml.append("          consumer:\n");
+                yaml.append("            batch-mode: true\n");
+            }
+        }
+        return yaml.toString();
+    }
+}
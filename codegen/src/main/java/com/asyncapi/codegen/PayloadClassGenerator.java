@@ -0,0 +1,346 @@
+package com.asyncapi.codegen;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the Java source of an immutable payload class: final fields, an all-arguments constructor,
+ * getters, value equality and a builder, plus a Jackson serializer and deserializer nested in the class.
+ * The serializer writes each property with its pre-encoded name and the deserializer reads the token
+ * stream into locals, so neither reflects on the class nor boxes required numbers; both work with any
+ * Jackson format. Unknown properties and type coercions are left to Jackson's configured handling.
+ */
+public final class PayloadClassGenerator {
+
+    /**
+     * Names of the locals and parameters in the generated methods, which properties cannot share
+     */
+    private static final Set<String> RESERVED = Set.of("parser", "context", "token", "field", "payload",
+            "generator", "provider", "other", "that", "result");
+
+    private final String packageName;
+
+    public PayloadClassGenerator(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String generate(PayloadSchema schema) {
+        for (PayloadSchema.Property property : schema.properties()) {
+            if (RESERVED.contains(property.name())) {
+                throw new IllegalArgumentException("Property " + schema.name() + "." + property.name()
+                        + " has a name reserved by the generated code: " + RESERVED);
+            }
+        }
+        Source source = new Source();
+        source.line("package %s;", packageName);
+        source.line();
+        source.line("import com.fasterxml.jackson.core.JsonGenerator;");
+        source.line("import com.fasterxml.jackson.core.JsonParser;");
+        source.line("import com.fasterxml.jackson.core.JsonToken;");
+        source.line("import com.fasterxml.jackson.core.SerializableString;");
+        source.line("import com.fasterxml.jackson.core.io.SerializedString;");
+        source.line("import com.fasterxml.jackson.databind.DeserializationContext;");
+        source.line("import com.fasterxml.jackson.databind.SerializerProvider;");
+        source.line("import com.fasterxml.jackson.databind.annotation.JsonDeserialize;");
+        source.line("import com.fasterxml.jackson.databind.annotation.JsonSerialize;");
+        source.line("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;");
+        source.line("import com.fasterxml.jackson.databind.ser.std.StdSerializer;");
+        source.line();
+        source.line("import java.io.IOException;");
+        source.line("import java.util.Objects;");
+        source.line();
+        source.line("/**");
+        if (schema.description() != null) {
+            source.line(" * %s", schema.description().strip());
+            source.line(" * <p>");
+        }
+        source.line(" * Generated from schema %s of the AsyncAPI document; do not edit.", schema.name());
+        source.line(" */");
+        source.line("@JsonSerialize(using = %s.Serializer.class)", schema.name());
+        source.line("@JsonDeserialize(using = %s.Deserializer.class)", schema.name());
+        source.line("public %sclass %s {", schema.finalClass() ? "final " : "", schema.name());
+        fields(source, schema);
+        constructor(source, schema);
+        accessors(source, schema);
+        equalsHashCodeToString(source, schema);
+        builder(source, schema);
+        serializer(source, schema);
+        deserializer(source, schema);
+        source.line("}");
+        return source.toString();
+    }
+
+    private static void fields(Source source, PayloadSchema schema) {
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line();
+            if (property.description() != null) {
+                source.line("    /**");
+                source.line("     * %s", property.description().strip());
+                source.line("     */");
+            }
+            source.line("    private final %s %s;", property.javaType(), property.name());
+        }
+    }
+
+    private static void constructor(Source source, PayloadSchema schema) {
+        source.line();
+        source.line("    public %s(%s) {", schema.name(), parameters(schema.properties()));
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("        this.%1$s = %1$s;", property.name());
+        }
+        source.line("    }");
+        source.line();
+        source.line("    public static %1$sBuilder builder() {", schema.name());
+        source.line("        return new %sBuilder();", schema.name());
+        source.line("    }");
+    }
+
+    private static void accessors(Source source, PayloadSchema schema) {
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line();
+            source.line("    public %s %s%s() {", property.javaType(),
+                        "boolean".equals(property.javaType()) ? "is" : "get", capitalize(property.name()));
+            source.line("        return %s;", property.name());
+            source.line("    }");
+        }
+    }
+
+    private static void equalsHashCodeToString(Source source, PayloadSchema schema) {
+        List<PayloadSchema.Property> properties = schema.properties();
+        source.line();
+        source.line("    @Override");
+        source.line("    public boolean equals(Object other) {");
+        source.line("        if (this == other) return true;");
+        source.line("        if (other == null || getClass() != other.getClass()) return false;");
+        source.line("        %1$s that = (%1$s) other;", schema.name());
+        source.line("        return %s;", properties.isEmpty() ? "true" : properties.stream()
+                .map(PayloadClassGenerator::equality)
+                .collect(Collectors.joining(" &&\n                ")));
+        source.line("    }");
+        source.line();
+        source.line("    @Override");
+        source.line("    public int hashCode() {");
+        source.line("        int result = 0;");
+        for (PayloadSchema.Property property : properties) {
+            source.line("        result = 31 * result + %s.hashCode(%s);",
+                        property.isPrimitive() ? property.type().getBoxed() : "Objects", property.name());
+        }
+        source.line("        return result;");
+        source.line("    }");
+        source.line();
+        source.line("    @Override");
+        source.line("    public String toString() {");
+        source.line("        return \"%s{\" +", schema.name());
+        for (int i = 0; i < properties.size(); i++) {
+            PayloadSchema.Property property = properties.get(i);
+            boolean quoted = property.type() == PayloadSchema.FieldType.STRING;
+            source.line("                \"%s%s=%s\" + %s +%s", i == 0 ? "" : ", ", property.name(), quoted ? "'" : "",
+                        property.name(), quoted ? " '\\'' +" : "");
+        }
+        source.line("                '}';");
+        source.line("    }");
+    }
+
+    private static String equality(PayloadSchema.Property property) {
+        if (!property.isPrimitive()) {
+            return String.format("Objects.equals(%1$s, that.%1$s)", property.name());
+        }
+        return property.type() == PayloadSchema.FieldType.DOUBLE
+                ? String.format("Double.compare(%1$s, that.%1$s) == 0", property.name())
+                : String.format("%1$s == that.%1$s", property.name());
+    }
+
+    private static void builder(Source source, PayloadSchema schema) {
+        String builder = schema.name() + "Builder";
+        source.line();
+        source.line("    public static class %s {", builder);
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("        private %s %s;", property.javaType(), property.name());
+        }
+        source.line();
+        source.line("        %s() {", builder);
+        source.line("        }");
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line();
+            source.line("        public %1$s %2$s(%3$s %2$s) {", builder, property.name(), property.javaType());
+            source.line("            this.%1$s = %1$s;", property.name());
+            source.line("            return this;");
+            source.line("        }");
+        }
+        source.line();
+        source.line("        public %s build() {", schema.name());
+        source.line("            return new %s(%s);", schema.name(), arguments(schema.properties()));
+        source.line("        }");
+        source.line("    }");
+    }
+
+    private static void serializer(Source source, PayloadSchema schema) {
+        source.line();
+        source.line("    /**");
+        source.line("     * Writes the properties in schema order, nulls included, with their names encoded once");
+        source.line("     */");
+        source.line("    public static final class Serializer extends StdSerializer<%s> {", schema.name());
+        source.line();
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("        private static final SerializableString %s = new SerializedString(\"%s\");",
+                        constant(property.name()), property.name());
+        }
+        source.line();
+        source.line("        public Serializer() {");
+        source.line("            super(%s.class);", schema.name());
+        source.line("        }");
+        source.line();
+        source.line("        @Override");
+        source.line("        public void serialize(%s payload, JsonGenerator generator, SerializerProvider provider)",
+                    schema.name());
+        source.line("                throws IOException {");
+        source.line("            generator.writeStartObject(payload);");
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("            generator.writeFieldName(%s);", constant(property.name()));
+            String write = property.type() == PayloadSchema.FieldType.STRING ? "writeString"
+                    : property.type() == PayloadSchema.FieldType.BOOLEAN ? "writeBoolean" : "writeNumber";
+            if (property.isPrimitive()) {
+                source.line("            generator.%s(payload.%s);", write, property.name());
+            } else {
+                source.line("            if (payload.%s == null) {", property.name());
+                source.line("                generator.writeNull();");
+                source.line("            } else {");
+                source.line("                generator.%s(payload.%s);", write, property.name());
+                source.line("            }");
+            }
+        }
+        source.line("            generator.writeEndObject();");
+        source.line("        }");
+        source.line("    }");
+    }
+
+    private static void deserializer(Source source, PayloadSchema schema) {
+        String name = schema.name();
+        source.line();
+        source.line("    /**");
+        source.line("     * Reads the properties from the token stream in any order; a required property that is");
+        source.line("     * missing or null fails the read with a MismatchedInputException");
+        source.line("     */");
+        source.line("    public static final class Deserializer extends StdDeserializer<%s> {", name);
+        source.line();
+        source.line("        public Deserializer() {");
+        source.line("            super(%s.class);", name);
+        source.line("        }");
+        source.line();
+        source.line("        @Override");
+        source.line("        public %s deserialize(JsonParser parser, DeserializationContext context) throws IOException {",
+                    name);
+        source.line("            JsonToken token = parser.currentToken();");
+        source.line("            if (token == JsonToken.START_OBJECT) {");
+        source.line("                token = parser.nextToken();");
+        source.line("            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {");
+        source.line("                return (%s) context.handleUnexpectedToken(%1$s.class, parser);", name);
+        source.line("            }");
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("            %s %s = %s;", property.javaType(), property.name(),
+                        !property.isPrimitive() ? "null" : switch (property.type()) {
+                            case LONG -> "0L";
+                            case DOUBLE -> "0.0";
+                            case BOOLEAN -> "false";
+                            default -> "0";
+                        });
+            if (property.isPrimitive()) {
+                source.line("            boolean %sPresent = false;", property.name());
+            }
+        }
+        source.line("            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {");
+        source.line("                String field = parser.currentName();");
+        source.line("                token = parser.nextToken();");
+        source.line("                switch (field) {");
+        for (PayloadSchema.Property property : schema.properties()) {
+            source.line("                    case \"%s\" -> {", property.name());
+            source.line("                        if (%s) {", fastPathCondition(property.type()));
+            source.line("                            %s = parser.%s();", property.name(), fastPathRead(property.type()));
+            if (property.isPrimitive()) {
+                source.line("                            %sPresent = true;", property.name());
+            }
+            source.line("                        } else if (token != JsonToken.VALUE_NULL) {");
+            source.line("                            %s = context.readValue(parser, %s.class);", property.name(),
+                        property.javaType());
+            if (property.isPrimitive()) {
+                source.line("                            %sPresent = true;", property.name());
+            }
+            source.line("                        }");
+            source.line("                    }");
+        }
+        source.line("                    default -> context.handleUnknownProperty(parser, this, %s.class, field);", name);
+        source.line("                }");
+        source.line("            }");
+        source.line("            if (token != JsonToken.END_OBJECT) {");
+        source.line("                return (%s) context.handleUnexpectedToken(%1$s.class, parser);", name);
+        source.line("            }");
+        for (PayloadSchema.Property property : schema.properties()) {
+            if (property.required()) {
+                source.line("            if (%s) {", property.isPrimitive() ? "!" + property.name() + "Present"
+                        : property.name() + " == null");
+                source.line("                return context.reportInputMismatch(this, \"Missing required field '%s'\");",
+                            property.name());
+                source.line("            }");
+            }
+        }
+        source.line("            return new %s(%s);", name, arguments(schema.properties()));
+        source.line("        }");
+        source.line("    }");
+    }
+
+    private static String fastPathCondition(PayloadSchema.FieldType type) {
+        return switch (type) {
+            case STRING -> "token == JsonToken.VALUE_STRING";
+            case INT, LONG -> "token == JsonToken.VALUE_NUMBER_INT";
+            case DOUBLE -> "token != null && token.isNumeric()";
+            case BOOLEAN -> "token != null && token.isBoolean()";
+        };
+    }
+
+    private static String fastPathRead(PayloadSchema.FieldType type) {
+        return switch (type) {
+            case STRING -> "getText";
+            case INT -> "getIntValue";
+            case LONG -> "getLongValue";
+            case DOUBLE -> "getDoubleValue";
+            case BOOLEAN -> "getBooleanValue";
+        };
+    }
+
+    private static String parameters(List<PayloadSchema.Property> properties) {
+        return properties.stream()
+                .map(property -> property.javaType() + " " + property.name())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String arguments(List<PayloadSchema.Property> properties) {
+        return properties.stream().map(PayloadSchema.Property::name).collect(Collectors.joining(", "));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String constant(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private static final class Source {
+
+        private final StringBuilder text = new StringBuilder();
+
+        void line() {
+            text.append('\n');
+        }
+
+        void line(String format, Object... args) {
+            text.append(String.format(format, args)).append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.asyncapi.codegen;
+
+import java.util.List;
+
+/**
+ * An object schema that messages carry as their payload, generated as an immutable class
+ *
+ * @param name        the schema name in components/schemas, used as the class name
+ * @param description the schema description, or null
+ * @param finalClass  false when the schema sets x-java-final: false, so the class can be extended
+ * @param properties  the properties in declaration order
+ */
+public record PayloadSchema(String name, String description, boolean finalClass, List<Property> properties) {
+
+    /**
+     * @param required whether the schema lists the property as required: primitives are then unboxed,
+     *                 and reading a payload without it fails
+     */
+    public record Property(String name, String description, FieldType type, boolean required) {
+
+        public String javaType() {
+            return required ? type.getPrimitive() : type.getBoxed();
+        }
+
+        public boolean isPrimitive() {
+            return required && type.hasPrimitive();
+        }
+    }
+
+    /**
+     * The schema types a property can have, by type and format
+     */
+    public enum FieldType {
+        STRING("String", "String"),
+        INT("int", "Integer"),
+        LONG("long", "Long"),
+        DOUBLE("double", "Double"),
+        BOOLEAN("boolean", "Boolean");
+
+        private final String primitive;
+        private final String boxed;
+
+        FieldType(String primitive, String boxed) {
+            this.primitive = primitive;
+            this.boxed = boxed;
+        }
+
+        public String getPrimitive() {
+            return primitive;
+        }
+
+        public String getBoxed() {
+            return boxed;
+        }
+
+        public boolean hasPrimitive() {
+            return !primitive.equals(boxed);
+        }
+
+        static FieldType of(String type, String format) {
+            return switch (String.valueOf(type)) {
+                case "string" -> STRING;
+                case "integer" -> "int64".equals(format) ? LONG : INT;
+                case "number" -> DOUBLE;
+                case "boolean" -> BOOLEAN;
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.asyncapi.codegen;
+
+import java.util.List;
+
+/**
+ * A receive operation, bound to the input of the function of the same name
+ *
+ * @param name        the operation ID, which is the function name
+ * @param addresses   the topics of its channel, one per value of each address parameter
+ * @param groupId     the consumer group from the operation's Kafka binding, or null
+ * @param contentType the content type of the channel's messages
+ * @param batchMode   whether the operation sets x-batch-mode: true, so the function receives whole polls
+ */
+public record ReceiveOperation(String name, List<String> addresses, String groupId, String contentType,
+                               boolean batchMode) {
+
+    public String bindingName() {
+        return name + "-in-0";
+    }
+}
@@ -0,0 +1,75 @@
+package com.asyncapi.codegen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncApiCodegenTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void generate_ShouldWritePayloadClassesAndBindings() throws Exception {
+        // Given
+        Path document = directory.resolve("asyncapi.yaml");
+        Files.writeString(document, """
+                asyncapi: 3.0.0
+                channels:
+                  message:
+                    address: message-topic
+                    messages:
+                      message:
+                        $ref: '#/components/messages/Message'
+                operations:
+                  messageConsumer:
+                    action: receive
+                    channel:
+                      $ref: '#/channels/message'
+                    bindings:
+                      kafka:
+                        groupId:
+                          const: message-group
+                components:
+                  messages:
+                    Message:
+                      payload:
+                        $ref: '#/components/schemas/Message'
+                  schemas:
+                    Message:
+                      type: object
+                      x-java-final: false
+                      required: [timestamp]
+                      properties:
+                        timestamp:
+                          type: integer
+                          format: int64
+                """);
+
+        // When
+        AsyncApiCodegen.generate(document, directory.resolve("java"), directory.resolve("resources"), "com.example.model");
+
+        // Then
+        String source = Files.readString(directory.resolve("java/com/example/model/Message.java"));
+        assertThat(source).startsWith("package com.example.model;")
+                .contains("public class Message {")
+                .contains("private final long timestamp;")
+                .contains("return context.reportInputMismatch(this, \"Missing required field 'timestamp'\");");
+        assertThat(Files.readString(directory.resolve("resources").resolve(AsyncApiCodegen.BINDINGS_FILE)))
+                .isEqualTo("""
+                        # Generated from asyncapi.yaml; edit the AsyncAPI document instead
+                        spring:
+                          cloud:
+                            stream:
+                              bindings:
+                                messageConsumer-in-0:
+                                  destination: message-topic
+                                  group: message-group
+                                  content-type: application/json
+                        """);
+    }
+}
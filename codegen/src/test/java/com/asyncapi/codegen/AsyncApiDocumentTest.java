@@ -0,0 +1,109 @@
+package com.asyncapi.codegen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncApiDocumentTest {
+
+    private static final String DOCUMENT = """
+            asyncapi: 3.0.0
+            defaultContentType: application/json
+            channels:
+              order:
+                address: order-topic
+                messages:
+                  order:
+                    $ref: '#/components/messages/Order'
+              orderRetry:
+                address: order-{region}-retry-{delay}
+                parameters:
+                  region:
+                    enum: [eu, us]
+                  delay:
+                    enum: ['1s', '5m']
+            operations:
+              orderConsumer:
+                action: receive
+                channel:
+                  $ref: '#/channels/order'
+                x-batch-mode: true
+                bindings:
+                  kafka:
+                    groupId:
+                      type: string
+                      enum: [order-group]
+              retryOrderConsumer:
+                action: receive
+                channel:
+                  $ref: '#/channels/orderRetry'
+              orderPublisher:
+                action: send
+                channel:
+                  $ref: '#/channels/order'
+            components:
+              messages:
+                Order:
+                  contentType: application/cbor
+                  payload:
+                    $ref: '#/components/schemas/Order'
+              schemas:
+                Order:
+                  type: object
+                  description: An order
+                  required: [id, quantity]
+                  properties:
+                    id:
+                      type: string
+                    quantity:
+                      type: integer
+                      format: int64
+                    price:
+                      type: number
+                    gift:
+                      type: boolean
+            """;
+
+    @Test
+    void payloadSchemas_ShouldMapRequiredNumbersToPrimitives() {
+        // When
+        List<PayloadSchema> schemas = AsyncApiDocument.parse(DOCUMENT).payloadSchemas();
+
+        // Then
+        assertThat(schemas).hasSize(1);
+        PayloadSchema order = schemas.get(0);
+        assertThat(order.name()).isEqualTo("Order");
+        assertThat(order.finalClass()).isTrue();
+        assertThat(order.properties()).extracting(PayloadSchema.Property::name)
+                .containsExactly("id", "quantity", "price", "gift");
+        assertThat(order.properties()).extracting(PayloadSchema.Property::javaType)
+                .containsExactly("String", "long", "Double", "Boolean");
+    }
+
+    @Test
+    void receiveOperations_ShouldExpandAddressParameters_AndSkipSendOperations() {
+        // When
+        List<ReceiveOperation> operations = AsyncApiDocument.parse(DOCUMENT).receiveOperations();
+
+        // Then
+        assertThat(operations).containsExactly(
+                new ReceiveOperation("orderConsumer", List.of("order-topic"), "order-group", "application/cbor", true),
+                new ReceiveOperation("retryOrderConsumer",
+                        List.of("order-eu-retry-1s", "order-eu-retry-5m", "order-us-retry-1s", "order-us-retry-5m"),
+                        null, "application/json", false));
+    }
+
+    @Test
+    void payloadSchemas_ShouldFail_WhenAPropertyTypeIsNotSupported() {
+        // Given
+        String document = DOCUMENT.replace("type: boolean", "type: array");
+
+        // When / Then
+        assertThatThrownBy(() -> AsyncApiDocument.parse(document).payloadSchemas())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Order.gift");
+    }
+}
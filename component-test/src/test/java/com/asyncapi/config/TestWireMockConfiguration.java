@@ -1,5 +1,7 @@
 package com.asyncapi.config;
 
+import com.asyncapi.cucumber.performance.DeliveryRecorder;
+import com.asyncapi.cucumber.performance.RandomFaultTransformer;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -9,10 +11,13 @@ import org.springframework.context.annotation.Bean;
 public class TestWireMockConfiguration {
 
     private static final WireMockServer wireMockServer;
+    private static final DeliveryRecorder deliveryRecorder = new DeliveryRecorder();
 
     static {
-        // Start WireMock server
-        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        // Start WireMock server, with the fault injection and delivery recording used by the performance scenarios
+        wireMockServer = new WireMockServer(WireMockConfiguration.options()
+                .dynamicPort()
+                .extensions(new RandomFaultTransformer(), deliveryRecorder));
         wireMockServer.start();
     }
 
@@ -21,6 +26,11 @@ public class TestWireMockConfiguration {
         return wireMockServer;
     }
 
+    @Bean
+    public DeliveryRecorder deliveryRecorder() {
+        return deliveryRecorder;
+    }
+
     public static int getPort() {
         return wireMockServer.port();
     }
@@ -11,6 +11,7 @@ import static io.cucumber.core.options.Constants.*;
  * Integration Test runner for Cucumber BDD scenarios.
  * This test is executed by Maven Failsafe plugin during the 'verify' phase.
  * Naming convention: *IT.java for integration tests.
+ * Scenarios tagged @performance are left to {@link CucumberPerformanceIT}.
  */
 @Suite
 @IncludeEngines("cucumber")
@@ -18,6 +19,7 @@ import static io.cucumber.core.options.Constants.*;
 @ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports/cucumber.html, json:target/cucumber-reports/cucumber.json")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.asyncapi.cucumber")
 @ConfigurationParameter(key = FEATURES_PROPERTY_NAME, value = "src/test/resources/features")
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "not @performance")
 public class CucumberIT {
 }
 
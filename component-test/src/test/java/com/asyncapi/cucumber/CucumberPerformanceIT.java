@@ -0,0 +1,22 @@
+package com.asyncapi.cucumber;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+import static io.cucumber.core.options.Constants.*;
+
+/**
+ * Runner for the load and soak scenarios tagged @performance.
+ * Only runs with the Maven 'performance' profile: mvn verify -Pperformance
+ */
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty, html:target/cucumber-reports/performance.html, json:target/cucumber-reports/performance.json")
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.asyncapi.cucumber")
+@ConfigurationParameter(key = FEATURES_PROPERTY_NAME, value = "src/test/resources/features")
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@performance")
+public class CucumberPerformanceIT {
+}
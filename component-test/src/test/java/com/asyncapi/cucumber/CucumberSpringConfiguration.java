@@ -14,7 +14,7 @@ import org.springframework.test.context.DynamicPropertySource;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 @EmbeddedKafka(
-    partitions = 1,
+    partitions = 4,
     topics = {"message-topic"},
     brokerProperties = {
         "listeners=PLAINTEXT://localhost:0",
@@ -0,0 +1,89 @@
+package com.asyncapi.cucumber.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WireMock listener that records, for every message ID, how long after its publish time (the payload's
+ * timestamp) the external API first accepted it. Counting as requests complete keeps the load test from
+ * having to scan the request journal, which grows to one entry per request.
+ */
+public class DeliveryRecorder implements ServeEventListener {
+
+    public static final String NAME = "delivery-recorder";
+
+    private static final String MESSAGES_URL = "/api/messages";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong lastDeliveryMillis = new AtomicLong();
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        LoggedRequest request = serveEvent.getRequest();
+        if (!MESSAGES_URL.equals(request.getUrl())) {
+            return;
+        }
+        requests.incrementAndGet();
+        int status = serveEvent.getResponse().getStatus();
+        if (status < 200 || status >= 300) {
+            failedRequests.incrementAndGet();
+            return;
+        }
+        long receivedAt = request.getLoggedDate().getTime();
+        try {
+            JsonNode body = objectMapper.readTree(request.getBody());
+            latencies.putIfAbsent(body.path("id").asText(), receivedAt - body.path("timestamp").asLong(receivedAt));
+        } catch (IOException e) {
+            failedRequests.incrementAndGet();
+            return;
+        }
+        lastDeliveryMillis.accumulateAndGet(receivedAt, Math::max);
+    }
+
+    public void reset() {
+        latencies.clear();
+        requests.set(0);
+        failedRequests.set(0);
+        lastDeliveryMillis.set(0);
+    }
+
+    public int deliveredCount() {
+        return latencies.size();
+    }
+
+    /**
+     * Delivery latency in milliseconds of every message accepted so far, in no particular order
+     */
+    public long[] latencies() {
+        return latencies.values().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long failedRequests() {
+        return failedRequests.get();
+    }
+
+    public long lastDeliveryMillis() {
+        return lastDeliveryMillis.get();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
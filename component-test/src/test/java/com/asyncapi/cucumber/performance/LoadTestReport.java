@@ -0,0 +1,129 @@
+package com.asyncapi.cucumber.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one performance scenario, serialized as the machine-readable report. Thresholds are
+ * added as the scenario's steps check them, so a report written after a failed check still shows
+ * every threshold evaluated up to that point.
+ */
+public class LoadTestReport {
+
+    private final String scenario;
+    private final Map<String, Object> configuration = new LinkedHashMap<>();
+    private final List<Threshold> thresholds = new ArrayList<>();
+    private long published;
+    private long delivered;
+    private long apiRequests;
+    private long apiFailures;
+    private long durationMillis;
+    private double throughputPerSecond;
+    private final Map<String, Long> latencyMillis = new LinkedHashMap<>();
+    private String status;
+
+    public LoadTestReport(String scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Fills in the measurements from the messages delivered between the first publish and the last delivery
+     */
+    public void measure(long published, DeliveryRecorder recorder, long firstPublishMillis) {
+        this.published = published;
+        this.delivered = recorder.deliveredCount();
+        this.apiRequests = recorder.requests();
+        this.apiFailures = recorder.failedRequests();
+        this.durationMillis = Math.max(1, recorder.lastDeliveryMillis() - firstPublishMillis);
+        this.throughputPerSecond = delivered * 1000.0 / durationMillis;
+
+        long[] latencies = recorder.latencies();
+        Arrays.sort(latencies);
+        latencyMillis.clear();
+        latencyMillis.put("p50", percentile(latencies, 50));
+        latencyMillis.put("p90", percentile(latencies, 90));
+        latencyMillis.put("p99", percentile(latencies, 99));
+        latencyMillis.put("p99.9", percentile(latencies, 99.9));
+        latencyMillis.put("max", latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    public long latencyPercentile(String name) {
+        return latencyMillis.getOrDefault(name, 0L);
+    }
+
+    public Threshold check(String name, double actual, String comparison, double limit) {
+        boolean passed = ">=".equals(comparison) ? actual >= limit : actual <= limit;
+        Threshold threshold = new Threshold(name, actual, comparison, limit, passed);
+        thresholds.add(threshold);
+        return threshold;
+    }
+
+    public void configure(String key, Object value) {
+        configuration.put(key, value);
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Map<String, Object> getConfiguration() {
+        return configuration;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getApiRequests() {
+        return apiRequests;
+    }
+
+    public long getApiFailures() {
+        return apiFailures;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public Map<String, Long> getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public List<Threshold> getThresholds() {
+        return thresholds;
+    }
+
+    public record Threshold(String name, double actual, String comparison, double limit, boolean passed) {
+    }
+}
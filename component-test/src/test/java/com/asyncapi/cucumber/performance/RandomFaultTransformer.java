@@ -0,0 +1,45 @@
+package com.asyncapi.cucumber.performance;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WireMock transformer that turns a random share of the responses of a stub into failures.
+ * Stubs opt in with {@code withTransformers(RandomFaultTransformer.NAME)} and set the share through
+ * the {@code faultRate} transformer parameter (0.0 to 1.0). The stub's delay is kept, so a failed call
+ * takes as long as a successful one.
+ */
+public class RandomFaultTransformer implements ResponseDefinitionTransformerV2 {
+
+    public static final String NAME = "random-fault";
+    public static final String FAULT_RATE = "faultRate";
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        Parameters parameters = serveEvent.getTransformerParameters();
+        double faultRate = parameters.get(FAULT_RATE) instanceof Number rate ? rate.doubleValue() : 0.0;
+        ResponseDefinition response = serveEvent.getResponseDefinition();
+        if (ThreadLocalRandom.current().nextDouble() >= faultRate) {
+            return response;
+        }
+        return ResponseDefinitionBuilder.like(response).but()
+                .withStatus(503)
+                .withBody("{\"status\":\"unavailable\"}")
+                .build();
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
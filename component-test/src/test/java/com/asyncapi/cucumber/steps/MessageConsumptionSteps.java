@@ -1,8 +1,11 @@
 package com.asyncapi.cucumber.steps;
 
+import com.asyncapi.consumer.lag.ConsumerLagEndpoint;
+import com.asyncapi.consumer.lag.PartitionLag;
 import com.asyncapi.model.MessagePayload;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
@@ -13,8 +16,10 @@ import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -23,9 +28,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.messaging.MessageHeaders;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +51,9 @@ public class MessageConsumptionSteps {
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
+    @Autowired
+    private KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+
     @Autowired
     private EmbeddedKafkaBroker embeddedKafkaBroker;
 
@@ -52,8 +63,16 @@ public class MessageConsumptionSteps {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConsumerLagEndpoint consumerLagEndpoint;
+
     private static final String TOPIC_NAME = "message-topic";
+    private static final String DEAD_LETTER_TOPIC_NAME = "message-topic-dlt";
     private List<MessagePayload> sentMessages = new ArrayList<>();
+    private String malformedMessage;
     private Consumer<String, String> testConsumer;
 
     @Before
@@ -109,6 +128,31 @@ public class MessageConsumptionSteps {
         log.info("Message published successfully");
     }
 
+    @When("a CBOR message is published to the Kafka topic with the following data:")
+    public void aCborMessageIsPublishedToKafkaTopicWithData(DataTable dataTable) throws JsonProcessingException {
+        Map<String, String> data = dataTable.asMap(String.class, String.class);
+
+        MessagePayload payload = MessagePayload.builder()
+            .id(data.get("id"))
+            .content(data.get("content"))
+            .timestamp(Long.parseLong(data.get("timestamp")))
+            .source(data.get("source"))
+            .build();
+
+        sentMessages.add(payload);
+
+        byte[] cborPayload = new ObjectMapper(new CBORFactory()).writeValueAsBytes(payload);
+        log.info("Publishing CBOR message to Kafka topic '{}': {} bytes", TOPIC_NAME, cborPayload.length);
+
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC_NAME, payload.getId(), cborPayload);
+        // The header as a Spring producer's header mapper writes it: JSON-encoded, with its type declared
+        record.headers().add(MessageHeaders.CONTENT_TYPE, "\"application/cbor\"".getBytes(StandardCharsets.UTF_8));
+        record.headers().add("spring_json_header_types",
+            "{\"contentType\":\"java.lang.String\"}".getBytes(StandardCharsets.UTF_8));
+        binaryKafkaTemplate.send(record);
+        binaryKafkaTemplate.flush();
+    }
+
     @When("the following messages are published to the Kafka topic:")
     public void theFollowingMessagesArePublishedToKafkaTopic(DataTable dataTable) throws JsonProcessingException {
         List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
@@ -133,6 +177,15 @@ public class MessageConsumptionSteps {
         log.info("All {} messages published successfully", rows.size());
     }
 
+    @When("a malformed message {string} is published to the Kafka topic")
+    public void aMalformedMessageIsPublishedToKafkaTopic(String payload) {
+        malformedMessage = payload;
+        log.info("Publishing malformed message to Kafka topic '{}': {}", TOPIC_NAME, payload);
+
+        kafkaTemplate.send(new ProducerRecord<>(TOPIC_NAME, "poison", payload));
+        kafkaTemplate.flush();
+    }
+
     @Then("the message should be consumed from Kafka within {int} seconds")
     public void theMessageShouldBeConsumedFromKafkaWithinSeconds(int timeoutSeconds) {
         log.info("Waiting for message to be consumed from Kafka (timeout: {} seconds)", timeoutSeconds);
@@ -205,7 +258,7 @@ public class MessageConsumptionSteps {
             boolean found = sentMessages.stream()
                 .anyMatch(sent -> sent.getId().equals(receivedPayload.getId()) &&
                                 sent.getContent().equals(receivedPayload.getContent()) &&
-                                sent.getTimestamp().equals(receivedPayload.getTimestamp()) &&
+                                sent.getTimestamp() == receivedPayload.getTimestamp() &&
                                 sent.getSource().equals(receivedPayload.getSource()));
             
             assertThat(found)
@@ -247,6 +300,28 @@ public class MessageConsumptionSteps {
         log.info("Offset commit verification successful");
     }
 
+    @And("the pipeline metrics should have measured the delivered message")
+    public void thePipelineMetricsShouldHaveMeasuredTheDeliveredMessage() {
+        log.info("Verifying the consume-forward pipeline metrics");
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                assertThat(meterRegistry.find("consumer.record.poll.to.handle").tag("topic", TOPIC_NAME).timers())
+                    .anyMatch(timer -> timer.count() > 0);
+                assertThat(meterRegistry.find("consumer.record.parse").tags("topic", TOPIC_NAME, "outcome", "success").timers())
+                    .anyMatch(timer -> timer.count() > 0);
+                assertThat(meterRegistry.find("consumer.record.end.to.end").tags("topic", TOPIC_NAME, "result", "success").timers())
+                    .anyMatch(timer -> timer.count() > 0);
+                assertThat(meterRegistry.find("consumer.records").tags("topic", TOPIC_NAME, "result", "success").counters())
+                    .anyMatch(counter -> counter.count() > 0);
+                assertThat(meterRegistry.find("http.client.requests").tags("uri", "/api/messages", "status", "200").timers())
+                    .anyMatch(timer -> timer.count() > 0);
+            });
+
+        log.info("Pipeline metrics verification successful");
+    }
+
     @And("all message offsets should be committed successfully")
     public void allMessageOffsetsShouldBeCommittedSuccessfully() {
         log.info("Verifying all message offsets have been committed");
@@ -276,5 +351,67 @@ public class MessageConsumptionSteps {
         
         log.info("All offset commits verified successfully");
     }
-}
 
+    @And("the consumer lag of the Kafka topic should drop to 0 within {int} seconds")
+    public void theConsumerLagOfTheKafkaTopicShouldDropToZero(int timeoutSeconds) {
+        log.info("Waiting for the consumer lag of '{}' to drop to 0", TOPIC_NAME);
+
+        await()
+            .atMost(timeoutSeconds, TimeUnit.SECONDS)
+            .pollInterval(500, TimeUnit.MILLISECONDS)
+            .untilAsserted(() -> {
+                List<PartitionLag> partitions = consumerLagEndpoint.consumerLag().partitions().stream()
+                    .filter(partition -> partition.topic().equals(TOPIC_NAME))
+                    .toList();
+                assertThat(partitions)
+                    .withFailMessage("Expected the lag monitor to report the partitions of %s", TOPIC_NAME)
+                    .isNotEmpty();
+                assertThat(partitions)
+                    .allSatisfy(partition -> assertThat(partition.lag()).isZero());
+                assertThat(partitions.stream().mapToLong(PartitionLag::endOffset).sum())
+                    .isGreaterThanOrEqualTo(sentMessages.size());
+            });
+        assertThat(meterRegistry.find("consumer.lag").tag("topic", TOPIC_NAME).gauges()).isNotEmpty();
+
+        log.info("Consumer lag verification successful");
+    }
+
+    @And("the malformed message should be on the dead-letter topic within {int} seconds")
+    public void theMalformedMessageShouldBeOnTheDeadLetterTopic(int timeoutSeconds) {
+        log.info("Verifying malformed message was published to '{}'", DEAD_LETTER_TOPIC_NAME);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(
+            embeddedKafkaBroker.getBrokersAsString(),
+            "test-dead-letter-check-group",
+            "true"
+        );
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        testConsumer = new DefaultKafkaConsumerFactory<String, String>(consumerProps)
+            .createConsumer();
+        testConsumer.subscribe(List.of(DEAD_LETTER_TOPIC_NAME));
+
+        List<ConsumerRecord<String, String>> deadLettered = new ArrayList<>();
+        await()
+            .atMost(timeoutSeconds, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                testConsumer.poll(Duration.ofMillis(500)).forEach(deadLettered::add);
+                assertThat(deadLettered)
+                    .withFailMessage("Expected the malformed message on %s", DEAD_LETTER_TOPIC_NAME)
+                    .anyMatch(record -> record.value().equals(malformedMessage));
+            });
+
+        ConsumerRecord<String, String> record = deadLettered.stream()
+            .filter(candidate -> candidate.value().equals(malformedMessage))
+            .findFirst()
+            .orElseThrow();
+        assertThat(record.key()).isEqualTo("poison");
+        assertThat(new String(record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(), StandardCharsets.UTF_8))
+            .isEqualTo(TOPIC_NAME);
+        assertThat(record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN)).isNotNull();
+
+        log.info("Dead-letter verification successful");
+    }
+}
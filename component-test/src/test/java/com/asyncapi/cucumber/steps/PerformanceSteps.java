@@ -0,0 +1,218 @@
+package com.asyncapi.cucumber.steps;
+
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.cucumber.performance.DeliveryRecorder;
+import com.asyncapi.cucumber.performance.LoadTestReport;
+import com.asyncapi.cucumber.performance.RandomFaultTransformer;
+import com.asyncapi.model.MessagePayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Load and soak steps. They run against the same embedded Kafka, WireMock server and Spring context as
+ * {@link MessageConsumptionSteps}. The volumes, latency and fault rate in the feature file are defaults:
+ * each can be overridden with a system property, e.g. -Dperf.messages=100000, so that one configuration
+ * can be compared with another without editing the scenarios.
+ */
+public class PerformanceSteps {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceSteps.class);
+
+    private static final String TOPIC_NAME = "message-topic";
+    private static final Path REPORT_DIRECTORY = Path.of("target", "performance-reports");
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DeliveryRecorder deliveryRecorder;
+
+    @Autowired
+    private ConsumerProperties consumerProperties;
+
+    private LoadTestReport report;
+    private String runId;
+    private long published;
+    private long firstPublishMillis;
+
+    @Before("@performance")
+    public void setUpLoadTest(Scenario scenario) {
+        deliveryRecorder.reset();
+        report = new LoadTestReport(scenario.getName());
+        // Message IDs must be new to every run, or the delivered-message cache would skip them
+        runId = Long.toString(System.currentTimeMillis(), 36);
+        published = 0;
+        firstPublishMillis = 0;
+        report.configure("consumer.mode", consumerProperties.getMode());
+        report.configure("consumer.passthrough", consumerProperties.isPassthrough());
+        report.configure("consumer.max-in-flight-per-partition", consumerProperties.getMaxInFlightPerPartition());
+    }
+
+    @After("@performance")
+    public void writeReport(Scenario scenario) throws IOException {
+        report.setStatus(scenario.getStatus().name());
+        Files.createDirectories(REPORT_DIRECTORY);
+        Path file = REPORT_DIRECTORY.resolve(scenario.getName().toLowerCase().replaceAll("[^a-z0-9]+", "-") + ".json");
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.warn("📊 Load test report written to {} - Delivered: {}/{}, Throughput: {}/s, p99: {} ms",
+                 file, report.getDelivered(), report.getPublished(),
+                 String.format("%.1f", report.getThroughputPerSecond()), report.latencyPercentile("p99"));
+        // The request journal holds one entry per request; release it before the next scenario
+        wireMockServer.resetRequests();
+    }
+
+    @Given("the external REST API responds after {int} ms with {double}% of requests failing")
+    public void theExternalRestApiRespondsAfterWithFailures(int latencyMillis, double faultPercent) {
+        int latency = setting("perf.api-latency-ms", latencyMillis);
+        double faultRate = setting("perf.fault-percent", faultPercent) / 100.0;
+        report.configure("api.latency-ms", latency);
+        report.configure("api.fault-rate", faultRate);
+
+        wireMockServer.stubFor(
+            post(urlEqualTo("/api/messages"))
+                .willReturn(aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"status\":\"success\",\"message\":\"Message received\"}")
+                    .withFixedDelay(latency)
+                    .withTransformers(RandomFaultTransformer.NAME)
+                    .withTransformerParameter(RandomFaultTransformer.FAULT_RATE, faultRate))
+        );
+        log.warn("⚙️ External API stub - Latency: {} ms, Fault rate: {}", latency, faultRate);
+    }
+
+    @When("{int} messages of {int} bytes are published across the Kafka topic partitions")
+    public void messagesArePublishedAcrossPartitions(int messages, int messageBytes) throws JsonProcessingException {
+        int count = setting("perf.messages", messages);
+        int bytes = setting("perf.message-bytes", messageBytes);
+        report.configure("load.messages", count);
+        report.configure("load.message-bytes", bytes);
+
+        String content = "x".repeat(Math.max(0, bytes - 100));
+        for (int i = 0; i < count; i++) {
+            publish(content);
+        }
+        kafkaTemplate.flush();
+        log.warn("📤 Published {} messages in {} ms", count, System.currentTimeMillis() - firstPublishMillis);
+    }
+
+    @When("messages of {int} bytes are published at {int} per second for {int} seconds")
+    public void messagesArePublishedAtRate(int messageBytes, int perSecond, int seconds) throws Exception {
+        int bytes = setting("perf.message-bytes", messageBytes);
+        int rate = setting("perf.rate", perSecond);
+        int duration = setting("perf.duration-seconds", seconds);
+        report.configure("load.message-bytes", bytes);
+        report.configure("load.rate-per-second", rate);
+        report.configure("load.duration-seconds", duration);
+
+        String content = "x".repeat(Math.max(0, bytes - 100));
+        long start = System.nanoTime();
+        long target = (long) rate * duration;
+        while (published < target) {
+            // Catch up to where the schedule says we should be, then sleep until the next 10 ms tick
+            long due = Math.min(target, (System.nanoTime() - start) * rate / 1_000_000_000L + 1);
+            while (published < due) {
+                publish(content);
+            }
+            kafkaTemplate.flush();
+            Thread.sleep(10);
+        }
+        log.warn("📤 Published {} messages at {}/s", published, rate);
+    }
+
+    @Then("all published messages should be delivered within {int} seconds")
+    public void allPublishedMessagesShouldBeDeliveredWithin(int timeoutSeconds) {
+        try {
+            await()
+                .atMost(setting("perf.timeout-seconds", timeoutSeconds), TimeUnit.SECONDS)
+                .pollInterval(1, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(deliveryRecorder.deliveredCount())
+                    .withFailMessage("Delivered %d of %d messages", deliveryRecorder.deliveredCount(), published)
+                    .isGreaterThanOrEqualTo((int) published));
+        } finally {
+            report.measure(published, deliveryRecorder, firstPublishMillis);
+        }
+    }
+
+    @And("the delivery throughput should be at least {int} messages per second")
+    public void theDeliveryThroughputShouldBeAtLeast(int minimum) {
+        LoadTestReport.Threshold threshold = report.check("throughput-per-second",
+                report.getThroughputPerSecond(), ">=", setting("perf.min-throughput", minimum));
+        assertThat(threshold.passed())
+            .withFailMessage("Throughput %.1f/s is below %.0f/s", threshold.actual(), threshold.limit())
+            .isTrue();
+    }
+
+    @And("the {int}th percentile delivery latency should be at most {int} ms")
+    public void theDeliveryLatencyPercentileShouldBeAtMost(int percentile, int maximumMillis) {
+        String name = "p" + percentile;
+        LoadTestReport.Threshold threshold = report.check("latency-" + name + "-ms",
+                report.latencyPercentile(name), "<=", setting("perf.max-latency-" + name + "-ms", maximumMillis));
+        assertThat(threshold.passed())
+            .withFailMessage("%s delivery latency %.0f ms exceeds %.0f ms", name, threshold.actual(), threshold.limit())
+            .isTrue();
+    }
+
+    @And("at most {double}% of external API calls should have failed")
+    public void atMostOfExternalApiCallsShouldHaveFailed(double maximumPercent) {
+        double failedPercent = report.getApiRequests() == 0 ? 0 : report.getApiFailures() * 100.0 / report.getApiRequests();
+        LoadTestReport.Threshold threshold = report.check("api-failure-percent", failedPercent, "<=", maximumPercent);
+        assertThat(threshold.passed())
+            .withFailMessage("%.2f%% of external API calls failed, more than %.2f%%", threshold.actual(), threshold.limit())
+            .isTrue();
+    }
+
+    private void publish(String content) throws JsonProcessingException {
+        long now = System.currentTimeMillis();
+        if (firstPublishMillis == 0) {
+            firstPublishMillis = now;
+        }
+        String id = "perf-" + runId + "-" + published;
+        MessagePayload payload = MessagePayload.builder()
+            .id(id)
+            .content(content)
+            .timestamp(now)
+            .source("load-test")
+            .build();
+        kafkaTemplate.send(new ProducerRecord<>(TOPIC_NAME, id, objectMapper.writeValueAsString(payload)));
+        published++;
+    }
+
+    private static int setting(String property, int featureValue) {
+        return Integer.getInteger(property, featureValue);
+    }
+
+    private static double setting(String property, double featureValue) {
+        String value = System.getProperty(property);
+        return value == null ? featureValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,23 @@
+@performance
+Feature: Consumer throughput and latency under load
+  As an operator
+  I want repeatable load and soak runs against the consumer
+  So that I can tell whether a configuration change improves or regresses it
+
+  Every number below is a default that a system property overrides, e.g.
+  -Dperf.messages=100000 -Dperf.api-latency-ms=20 -Dconsumer.mode=async
+
+  Scenario: Burst of messages drained from a backlog
+    Given the external REST API responds after 2 ms with 0.5% of requests failing
+    When 5000 messages of 512 bytes are published across the Kafka topic partitions
+    Then all published messages should be delivered within 300 seconds
+    And the delivery throughput should be at least 20 messages per second
+    And at most 5.0% of external API calls should have failed
+
+  Scenario: Steady load held for a while
+    Given the external REST API responds after 5 ms with 0.5% of requests failing
+    When messages of 512 bytes are published at 50 per second for 60 seconds
+    Then all published messages should be delivered within 60 seconds
+    And the 50th percentile delivery latency should be at most 1000 ms
+    And the 99th percentile delivery latency should be at most 5000 ms
+    And at most 5.0% of external API calls should have failed
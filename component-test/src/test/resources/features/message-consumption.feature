@@ -14,6 +14,17 @@ Feature: Kafka Message Consumption and REST API Integration
     Then the message should be consumed from Kafka within 10 seconds
     And the REST API should receive the message with correct payload
     And the message offset should be committed successfully
+    And the pipeline metrics should have measured the delivered message
+
+  Scenario: CBOR message is read by its content type and forwarded as JSON
+    Given the external REST API is available
+    When a CBOR message is published to the Kafka topic with the following data:
+      | id        | test-message-cbor          |
+      | content   | Binary encoded on the wire |
+      | timestamp | 1698768004000              |
+      | source    | cucumber-test              |
+    Then the message should be consumed from Kafka within 10 seconds
+    And the REST API should receive the message with correct payload
 
   Scenario: Consume multiple messages and verify all are sent to REST API
     Given the external REST API is available
@@ -25,4 +36,15 @@ Feature: Kafka Message Consumption and REST API Integration
     Then all 3 messages should be consumed from Kafka within 15 seconds
     And the REST API should have received 3 messages
     And all message offsets should be committed successfully
+    And the consumer lag of the Kafka topic should drop to 0 within 15 seconds
 
+  Scenario: Malformed message is dead-lettered without blocking the partition
+    Given the external REST API is available
+    When a malformed message "this is not json" is published to the Kafka topic
+    And a message is published to the Kafka topic with the following data:
+      | id        | test-message-after-poison  |
+      | content   | Published after a bad one  |
+      | timestamp | 1698768003000              |
+      | source    | cucumber-test              |
+    Then the message should be consumed from Kafka within 10 seconds
+    And the malformed message should be on the dead-letter topic within 10 seconds
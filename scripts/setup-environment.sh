@@ -82,7 +82,7 @@ echo ""
 echo "Next steps:"
 echo "  1. Run application: mvn spring-boot:run"
 echo "  2. Send test message: ./scripts/send-test-message.sh"
-echo "  3. Check consumer lag: ./scripts/check-consumer-lag.sh"
+echo "  3. Check consumer lag: curl http://localhost:8080/actuator/consumerlag"
 echo "  4. View Kafka UI: open http://localhost:8090"
 echo ""
 echo "To stop services: docker-compose down"
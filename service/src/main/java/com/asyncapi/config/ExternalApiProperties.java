@@ -0,0 +1,1385 @@
+package com.asyncapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the external REST API, bound from the {@code external.api.*} keys
+ */
+@ConfigurationProperties(prefix = "external.api")
+public class ExternalApiProperties {
+
+    /**
+     * Base URL of the external API
+     */
+    private String baseUrl;
+
+    /**
+     * Time allowed to establish a TCP connection
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time allowed between sending a request and receiving the response
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * HTTP protocols to use: HTTP11, H2C (HTTP/2 over cleartext) or H2 (HTTP/2 over TLS)
+     */
+    private List<Protocol> protocols = new ArrayList<>(List.of(Protocol.HTTP11));
+
+    /**
+     * URI that single messages are posted to
+     */
+    private String uri = "/api/messages";
+
+    /**
+     * Content type of the message sent to the uri: application/json, application/cbor,
+     * application/x-jackson-smile or application/avro. Bulk requests are always JSON arrays.
+     */
+    private String contentType = "application/json";
+
+    /**
+     * Whether sending the same request twice is harmless for this endpoint, which hedging requires
+     */
+    private boolean idempotent = false;
+
+    /**
+     * Routing rules, tried in order; messages that match none go to this endpoint
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    private final Pool pool;
+
+    private final Tcp tcp;
+
+    private final Http2 http2;
+
+    private final Bulk bulk;
+
+    private final ConcurrencyLimit concurrencyLimit;
+
+    private final Retry retry;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Idempotency idempotency;
+
+    private final Spill spill;
+
+    private final Priority priority;
+
+    private final Deadline deadline;
+
+    private final Hedging hedging;
+
+    public ExternalApiProperties() {
+        this(new Pool(), new Tcp(), new Http2(), new Bulk(), new ConcurrencyLimit(), new Retry(), new CircuitBreaker(),
+             new Idempotency(), new Spill(), new Priority(), new Deadline(), new Hedging());
+    }
+
+    private ExternalApiProperties(Pool pool, Tcp tcp, Http2 http2, Bulk bulk, ConcurrencyLimit concurrencyLimit,
+                                  Retry retry, CircuitBreaker circuitBreaker, Idempotency idempotency, Spill spill,
+                                  Priority priority, Deadline deadline, Hedging hedging) {
+        this.pool = pool;
+        this.tcp = tcp;
+        this.http2 = http2;
+        this.bulk = bulk;
+        this.concurrencyLimit = concurrencyLimit;
+        this.retry = retry;
+        this.circuitBreaker = circuitBreaker;
+        this.idempotency = idempotency;
+        this.spill = spill;
+        this.priority = priority;
+        this.deadline = deadline;
+        this.hedging = hedging;
+    }
+
+    /**
+     * The settings of a route's endpoint: the route's own where it sets them and these otherwise. The
+     * spill journal stays with this endpoint, so it is disabled for the route.
+     */
+    public ExternalApiProperties forRoute(Route route) {
+        ExternalApiProperties properties = new ExternalApiProperties(
+                route.getPool() != null ? route.getPool() : pool, tcp, http2,
+                route.getBulk() != null ? route.getBulk() : bulk,
+                route.getConcurrencyLimit() != null ? route.getConcurrencyLimit() : concurrencyLimit,
+                retry, circuitBreaker, idempotency, new Spill(), priority, deadline, hedging);
+        properties.setBaseUrl(route.getBaseUrl() != null ? route.getBaseUrl() : baseUrl);
+        properties.setUri(route.getUri() != null ? route.getUri() : uri);
+        properties.setContentType(route.getContentType() != null ? route.getContentType() : contentType);
+        properties.setIdempotent(route.getIdempotent() != null ? route.getIdempotent() : idempotent);
+        properties.setConnectTimeout(connectTimeout);
+        properties.setResponseTimeout(responseTimeout);
+        properties.setProtocols(protocols);
+        return properties;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public List<Protocol> getProtocols() {
+        return protocols;
+    }
+
+    public void setProtocols(List<Protocol> protocols) {
+        this.protocols = protocols;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public void setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public Tcp getTcp() {
+        return tcp;
+    }
+
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Spill getSpill() {
+        return spill;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    /**
+     * Connection pool of the WebClient used for the external API
+     */
+    public static class Pool {
+
+        /**
+         * Maximum number of open connections
+         */
+        private int maxConnections = 500;
+
+        /**
+         * Maximum number of requests waiting for a connection, -1 for no limit
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * Time a request may wait for a connection before failing
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Idle time after which a connection is closed
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Total lifetime after which a connection is closed
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Interval of the background task that evicts idle and expired connections, zero to disable
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /**
+         * Whether pool gauges are published to Micrometer
+         */
+        private boolean metricsEnabled = true;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isMetricsEnabled() {
+            return metricsEnabled;
+        }
+
+        public void setMetricsEnabled(boolean metricsEnabled) {
+            this.metricsEnabled = metricsEnabled;
+        }
+    }
+
+    /**
+     * Socket options of external API connections
+     */
+    public static class Tcp {
+
+        /**
+         * Whether SO_KEEPALIVE is set
+         */
+        private boolean keepAlive = true;
+
+        /**
+         * Whether TCP_NODELAY is set, disabling Nagle's algorithm
+         */
+        private boolean noDelay = true;
+
+        public boolean isKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public boolean isNoDelay() {
+            return noDelay;
+        }
+
+        public void setNoDelay(boolean noDelay) {
+            this.noDelay = noDelay;
+        }
+    }
+
+    /**
+     * HTTP/2 multiplexing, used when H2C or H2 is among the protocols
+     */
+    public static class Http2 {
+
+        /**
+         * Maximum number of concurrent streams per connection
+         */
+        private long maxConcurrentStreams = 100;
+
+        public long getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        public void setMaxConcurrentStreams(long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+    }
+
+    /**
+     * Micro-batching of messages into requests against the bulk endpoint
+     */
+    public static class Bulk {
+
+        /**
+         * Whether messages are accumulated and sent to the bulk endpoint instead of one request each
+         */
+        private boolean enabled = false;
+
+        /**
+         * URI of the bulk endpoint, which accepts a JSON array of messages and must accept or reject it as a
+         * whole, since a success response marks every message in it as delivered
+         */
+        private String uri = "/api/messages/bulk";
+
+        /**
+         * Number of messages that triggers a flush
+         */
+        private int maxCount = 100;
+
+        /**
+         * Serialized size of the request body that triggers a flush
+         */
+        private DataSize maxBytes = DataSize.ofMegabytes(1);
+
+        /**
+         * Longest time a message waits for others before its batch is flushed
+         */
+        private Duration maxLinger = Duration.ofMillis(20);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public int getMaxCount() {
+            return maxCount;
+        }
+
+        public void setMaxCount(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        public DataSize getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(DataSize maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Duration getMaxLinger() {
+            return maxLinger;
+        }
+
+        public void setMaxLinger(Duration maxLinger) {
+            this.maxLinger = maxLinger;
+        }
+    }
+
+    /**
+     * Adaptive limit on the number of external API calls in flight
+     */
+    public static class ConcurrencyLimit {
+
+        public enum Algorithm {
+            /**
+             * Additive increase, multiplicative decrease on errors and slow responses
+             */
+            AIMD,
+            /**
+             * Scales the limit by the ratio of long-term to current latency
+             */
+            GRADIENT
+        }
+
+        /**
+         * Whether calls are limited; when disabled every call goes out immediately
+         */
+        private boolean enabled = false;
+
+        private Algorithm algorithm = Algorithm.GRADIENT;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 500;
+
+        /**
+         * AIMD: factor applied to the limit when a call fails or exceeds the latency threshold
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * AIMD: responses slower than this count as congestion
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        /**
+         * GRADIENT: how much slower than the long-term latency a response may be before the limit shrinks
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * GRADIENT: weight of each new estimate, between 0 and 1
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * GRADIENT: number of samples the long-term latency average spans
+         */
+        private int longWindow = 600;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getLongWindow() {
+            return longWindow;
+        }
+
+        public void setLongWindow(int longWindow) {
+            this.longWindow = longWindow;
+        }
+    }
+
+    /**
+     * Retries of failed external API calls, with a separate policy for each kind of failure
+     */
+    public static class Retry {
+
+        /**
+         * Whether failed calls are retried before the failure is reported to the consumer
+         */
+        private boolean enabled = true;
+
+        /**
+         * Factor by which the backoff grows with each attempt
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Upper bound for the backoff of any attempt
+         */
+        private Duration maxBackoff = Duration.ofSeconds(5);
+
+        /**
+         * Random spread applied to each backoff, as a fraction of it (0.5 means +/-50%)
+         */
+        private double jitter = 0.5;
+
+        /**
+         * 4xx responses other than 429
+         */
+        private final Policy clientError = new Policy(1, Duration.ZERO);
+
+        /**
+         * 429 responses
+         */
+        private final Policy tooManyRequests = new Policy(5, Duration.ofMillis(500));
+
+        /**
+         * 5xx responses
+         */
+        private final Policy serverError = new Policy(3, Duration.ofMillis(200));
+
+        /**
+         * Connection failures and timeouts, where no response was received
+         */
+        private final Policy io = new Policy(3, Duration.ofMillis(200));
+
+        private final Budget budget = new Budget();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public Policy getClientError() {
+            return clientError;
+        }
+
+        public Policy getTooManyRequests() {
+            return tooManyRequests;
+        }
+
+        public Policy getServerError() {
+            return serverError;
+        }
+
+        public Policy getIo() {
+            return io;
+        }
+
+        public Budget getBudget() {
+            return budget;
+        }
+
+        public static class Policy {
+
+            /**
+             * Total attempts including the first one; 1 disables retries for this kind of failure
+             */
+            private int maxAttempts;
+
+            /**
+             * Backoff before the first retry
+             */
+            private Duration initialBackoff;
+
+            public Policy() {
+                this(1, Duration.ZERO);
+            }
+
+            public Policy(int maxAttempts, Duration initialBackoff) {
+                this.maxAttempts = maxAttempts;
+                this.initialBackoff = initialBackoff;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+        }
+
+        /**
+         * Caps retries across all calls so that an outage cannot multiply the request rate
+         */
+        public static class Budget {
+
+            /**
+             * Retries allowed per original call, e.g. 0.2 lets retries add at most 20% to the request rate
+             */
+            private double ratio = 0.2;
+
+            /**
+             * Retries allowed per second regardless of traffic, so low-volume periods can still retry
+             */
+            private int minRetriesPerSecond = 10;
+
+            public double getRatio() {
+                return ratio;
+            }
+
+            public void setRatio(double ratio) {
+                this.ratio = ratio;
+            }
+
+            public int getMinRetriesPerSecond() {
+                return minRetriesPerSecond;
+            }
+
+            public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+                this.minRetriesPerSecond = minRetriesPerSecond;
+            }
+        }
+    }
+
+    /**
+     * Stops calling the external API while most recent calls fail, and pauses consumption meanwhile
+     */
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent calls the failure rate is computed over
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Calls needed in the window before the failure rate is evaluated
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Failure rate, between 0 and 1, at which the circuit opens
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * How long the circuit stays open before trial calls are let through
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Trial calls in the half-open state; all must succeed for the circuit to close
+         */
+        private int halfOpenCalls = 5;
+
+        /**
+         * Which failures count against the circuit; 4xx responses other than 429 do not by default
+         */
+        private boolean recordClientErrors = false;
+
+        private boolean recordTooManyRequests = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        public boolean isRecordClientErrors() {
+            return recordClientErrors;
+        }
+
+        public void setRecordClientErrors(boolean recordClientErrors) {
+            this.recordClientErrors = recordClientErrors;
+        }
+
+        public boolean isRecordTooManyRequests() {
+            return recordTooManyRequests;
+        }
+
+        public void setRecordTooManyRequests(boolean recordTooManyRequests) {
+            this.recordTooManyRequests = recordTooManyRequests;
+        }
+    }
+
+    /**
+     * Remembers the IDs of recently delivered messages so that redelivered records are not sent twice
+     */
+    public static class Idempotency {
+
+        private boolean enabled = true;
+
+        /**
+         * How long a delivered ID is remembered
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * Maximum number of IDs remembered; the oldest are forgotten first
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * File the remembered IDs are saved to and restored from at startup; not persisted when empty
+         */
+        private String persistenceFile;
+
+        /**
+         * How often the remembered IDs are written to the persistence file
+         */
+        private Duration flushInterval = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public String getPersistenceFile() {
+            return persistenceFile;
+        }
+
+        public void setPersistenceFile(String persistenceFile) {
+            this.persistenceFile = persistenceFile;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    /**
+     * Local journal that messages are written to instead of the external API while it is unavailable,
+     * and replayed from once it recovers
+     */
+    public static class Spill {
+
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the journal segments and the replay checkpoint
+         */
+        private String directory = "spill";
+
+        /**
+         * Size of each memory-mapped segment file; no single message may be larger
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Segments kept at most; once they are all full, consumption is paused until replay frees one
+         */
+        private int maxSegments = 16;
+
+        /**
+         * Messages replayed to the external API per second at most
+         */
+        private int drainRate = 100;
+
+        /**
+         * Replays in flight at most; the journal's read position only moves past replays that completed in order
+         */
+        private int drainConcurrency = 16;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public int getMaxSegments() {
+            return maxSegments;
+        }
+
+        public void setMaxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+
+        public int getDrainRate() {
+            return drainRate;
+        }
+
+        public void setDrainRate(int drainRate) {
+            this.drainRate = drainRate;
+        }
+
+        public int getDrainConcurrency() {
+            return drainConcurrency;
+        }
+
+        public void setDrainConcurrency(int drainConcurrency) {
+            this.drainConcurrency = drainConcurrency;
+        }
+    }
+
+    /**
+     * Priority lanes: while calls wait for a permit from the concurrency limiter, they are granted by
+     * weighted fair queuing across lanes instead of in arrival order, so each waiting lane gets a share of
+     * the permits in proportion to its weight. Messages are put in the first lane whose source and headers
+     * match, and in the default lane otherwise.
+     */
+    public static class Priority {
+
+        private boolean enabled = false;
+
+        /**
+         * Weight of the default lane
+         */
+        private int defaultWeight = 1;
+
+        /**
+         * Lanes, tried in order
+         */
+        private List<Lane> lanes = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getDefaultWeight() {
+            return defaultWeight;
+        }
+
+        public void setDefaultWeight(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        public List<Lane> getLanes() {
+            return lanes;
+        }
+
+        public void setLanes(List<Lane> lanes) {
+            this.lanes = lanes;
+        }
+
+        public static class Lane {
+
+            /**
+             * Name of the lane, used as the lane tag of its metrics
+             */
+            private String name;
+
+            /**
+             * Share of the permits the lane gets while other lanes are waiting too, relative to their weights
+             */
+            private int weight = 1;
+
+            /**
+             * Regular expression the whole source of the message must match; any source when unset
+             */
+            private String source;
+
+            /**
+             * Regular expressions the values of the named record headers must match in full
+             */
+            private Map<String, String> headers = new LinkedHashMap<>();
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public int getWeight() {
+                return weight;
+            }
+
+            public void setWeight(int weight) {
+                this.weight = weight;
+            }
+
+            public String getSource() {
+                return source;
+            }
+
+            public void setSource(String source) {
+                this.source = source;
+            }
+
+            public Map<String, String> getHeaders() {
+                return headers;
+            }
+
+            public void setHeaders(Map<String, String> headers) {
+                this.headers = headers;
+            }
+        }
+    }
+
+    /**
+     * Time limits on delivering a message: a hard timeout on every attempt, and optionally a deadline
+     * derived from the message's timestamp that retries may not run past
+     */
+    public static class Deadline {
+
+        /**
+         * Longest a single attempt may take, from waiting for a connection to reading the whole response;
+         * 0 for no limit
+         */
+        private Duration attemptTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Time a message has from its timestamp to be delivered. No retry is started that would begin after
+         * it and attempts are cut short at it; a message already past it still gets one attempt. 0 for no deadline
+         */
+        private Duration maxAge = Duration.ZERO;
+
+        /**
+         * Request header telling the API how many milliseconds are left until the deadline; not sent when unset
+         */
+        private String header;
+
+        public Duration getAttemptTimeout() {
+            return attemptTimeout;
+        }
+
+        public void setAttemptTimeout(Duration attemptTimeout) {
+            this.attemptTimeout = attemptTimeout;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+    }
+
+    /**
+     * Hedged requests, for idempotent endpoints only: once an attempt has taken longer than the chosen
+     * percentile of recent attempts, a second identical request is sent, the first response wins and the
+     * other request is cancelled. Hedges are drawn from a budget like retries are.
+     */
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        /**
+         * Percentile of the recent attempt latencies after which the hedge is sent, e.g. 0.95
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Shortest wait before a hedge is sent, whatever the percentile
+         */
+        private Duration minDelay = Duration.ofMillis(20);
+
+        /**
+         * Number of most recent successful calls whose first-attempt latency the percentile is computed
+         * over; no hedge is sent before a tenth of them have been seen
+         */
+        private int window = 1000;
+
+        /**
+         * Hedges allowed per call (ratio) and per second regardless of traffic
+         */
+        private final Retry.Budget budget = new Retry.Budget();
+
+        public Hedging() {
+            budget.setRatio(0.1);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        public void setWindow(int window) {
+            this.window = window;
+        }
+
+        public Retry.Budget getBudget() {
+            return budget;
+        }
+    }
+
+    /**
+     * A routing rule: messages consumed from its topic whose source and headers match are sent to its
+     * endpoint instead, over their own connection pool, concurrency limit, circuit breaker and bulk
+     * batching. Unset endpoint settings and sections take the external.api ones.
+     */
+    public static class Route {
+
+        /**
+         * Name of the route, used in logs, in metrics and as the name of its connection pool
+         */
+        private String name;
+
+        /**
+         * Topic whose messages the rule applies to, including those retried from its retry topics; any topic when unset
+         */
+        private String topic;
+
+        /**
+         * Regular expression the whole source of the message must match; any source when unset
+         */
+        private String source;
+
+        /**
+         * Regular expressions the values of the named record headers must match in full
+         */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        private String baseUrl;
+
+        private String uri;
+
+        private String contentType;
+
+        private Boolean idempotent;
+
+        private Pool pool;
+
+        private ConcurrencyLimit concurrencyLimit;
+
+        private Bulk bulk;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public Boolean getIdempotent() {
+            return idempotent;
+        }
+
+        public void setIdempotent(Boolean idempotent) {
+            this.idempotent = idempotent;
+        }
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        public void setPool(Pool pool) {
+            this.pool = pool;
+        }
+
+        public ConcurrencyLimit getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public void setConcurrencyLimit(ConcurrencyLimit concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        public Bulk getBulk() {
+            return bulk;
+        }
+
+        public void setBulk(Bulk bulk) {
+            this.bulk = bulk;
+        }
+    }
+
+    /**
+     * Mirror of Reactor Netty's HttpProtocol, so the binding metadata generated for AOT and native builds
+     * stays within classes compiled with -parameters
+     */
+    public enum Protocol {
+        HTTP11(HttpProtocol.HTTP11),
+        H2C(HttpProtocol.H2C),
+        H2(HttpProtocol.H2);
+
+        private final HttpProtocol httpProtocol;
+
+        Protocol(HttpProtocol httpProtocol) {
+            this.httpProtocol = httpProtocol;
+        }
+
+        public HttpProtocol toHttpProtocol() {
+            return httpProtocol;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.asyncapi.config;
+
+import com.asyncapi.consumer.lag.ConsumerLagEndpoint;
+import com.asyncapi.consumer.lag.PartitionLag;
+import com.asyncapi.consumer.metrics.PollTimestampInterceptor;
+import com.asyncapi.model.MessagePayload;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Hints for the AOT-processed and native builds, covering what the service only reaches by reflection:
+ * the generated (de)serializers of the message payload, which Jackson instantiates from its annotations,
+ * Jackson binding of the consumerlag endpoint's response, the consumer interceptor Kafka instantiates from
+ * its class name, the bundled Avro schema and the generated bindings file. Kafka's own clients, serializers and the binder are
+ * covered by the hints spring-kafka and Spring Cloud Stream ship.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(RuntimeHintsConfig.ServiceRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class ServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    ConsumerLagEndpoint.ConsumerLagReport.class, PartitionLag.class);
+            hints.reflection().registerType(MessagePayload.class)
+                    .registerType(MessagePayload.Serializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(MessagePayload.Deserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(PollTimestampInterceptor.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("avro/*.avsc").registerPattern("asyncapi-bindings.yml");
+        }
+    }
+}
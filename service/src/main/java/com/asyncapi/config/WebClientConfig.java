@@ -1,21 +1,120 @@
 package com.asyncapi.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.Assert;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
+@EnableConfigurationProperties(ExternalApiProperties.class)
 public class WebClientConfig {
 
-    @Value("${external.api.base-url}")
-    private String baseUrl;
+    private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
 
+    private final ExternalApiProperties externalApiProperties;
+
+    public WebClientConfig(ExternalApiProperties externalApiProperties) {
+        this.externalApiProperties = externalApiProperties;
+    }
+
+    /**
+     * Connection pool for the external API. With metrics enabled its gauges are published as
+     * reactor.netty.connection.provider.* tagged with name=external-api.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalApiConnectionProvider() {
+        return connectionProvider(externalApiProperties, "external-api");
+    }
+
+    /**
+     * Built from Boot's WebClient.Builder, so every call is timed as http.client.requests, tagged with
+     * the URI template, the method and the response status
+     */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder()
-                .baseUrl(baseUrl)
+    public WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider externalApiConnectionProvider) {
+        return webClient(webClientBuilder, externalApiConnectionProvider, externalApiProperties);
+    }
+
+    /**
+     * A connection pool with the given settings, for the external API or one of its routes; the caller disposes it
+     */
+    public static ConnectionProvider connectionProvider(ExternalApiProperties properties, String name) {
+        validate(properties);
+        ExternalApiProperties.Pool pool = properties.getPool();
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .metrics(pool.isMetricsEnabled());
+        if (!pool.getEvictionInterval().isZero()) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        if (usesHttp2(properties)) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(properties.getHttp2().getMaxConcurrentStreams())
+                    .build());
+        }
+
+        log.info("⚙️ External API connection pool {} - Max connections: {}, Pending acquire max: {}, Protocols: {}",
+                 name, pool.getMaxConnections(), pool.getPendingAcquireMaxCount(), properties.getProtocols());
+        return builder.build();
+    }
+
+    public static WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                      ExternalApiProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(properties.getProtocols().stream()
+                        .map(ExternalApiProperties.Protocol::toHttpProtocol)
+                        .toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.getTcp().isKeepAlive())
+                .option(ChannelOption.TCP_NODELAY, properties.getTcp().isNoDelay())
+                .responseTimeout(properties.getResponseTimeout());
+
+        return webClientBuilder
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
 
+    private static boolean usesHttp2(ExternalApiProperties properties) {
+        return properties.getProtocols().contains(ExternalApiProperties.Protocol.H2C)
+                || properties.getProtocols().contains(ExternalApiProperties.Protocol.H2);
+    }
+
+    /**
+     * Fails startup on settings that would otherwise only surface as errors under load
+     */
+    static void validate(ExternalApiProperties properties) {
+        ExternalApiProperties.Pool pool = properties.getPool();
+        Assert.hasText(properties.getBaseUrl(), "external.api.base-url must be set");
+        Assert.notEmpty(properties.getProtocols(), "external.api.protocols must not be empty");
+        Assert.isTrue(!properties.getProtocols().contains(ExternalApiProperties.Protocol.H2C) || properties.getBaseUrl().startsWith("http:"),
+                "external.api.protocols H2C requires an http:// base-url");
+        Assert.isTrue(!properties.getConnectTimeout().isNegative() && !properties.getConnectTimeout().isZero(),
+                "external.api.connect-timeout must be positive");
+        Assert.isTrue(!properties.getResponseTimeout().isNegative() && !properties.getResponseTimeout().isZero(),
+                "external.api.response-timeout must be positive");
+        Assert.isTrue(pool.getMaxConnections() > 0, "external.api.pool.max-connections must be positive");
+        Assert.isTrue(pool.getPendingAcquireMaxCount() == -1 || pool.getPendingAcquireMaxCount() > 0,
+                "external.api.pool.pending-acquire-max-count must be positive or -1");
+        Assert.isTrue(pool.getMaxIdleTime().compareTo(pool.getMaxLifeTime()) <= 0,
+                "external.api.pool.max-idle-time must not exceed external.api.pool.max-life-time");
+        Assert.isTrue(!pool.getEvictionInterval().isNegative(), "external.api.pool.eviction-interval must not be negative");
+        Assert.isTrue(properties.getHttp2().getMaxConcurrentStreams() > 0,
+                "external.api.http2.max-concurrent-streams must be positive");
+    }
+}
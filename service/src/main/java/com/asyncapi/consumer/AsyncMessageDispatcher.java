@@ -0,0 +1,52 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.model.MessagePayload;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+/**
+ * Non-blocking variant of the messageConsumer: the listener thread parses the record, starts the
+ * external API call and moves straight on to the next record. Completed records are handed to the
+ * partition's {@link PartitionOffsetTracker}, which commits only up to the highest contiguous
+ * completed offset, so a crash still redelivers everything that had not finished (at-least-once).
+ * With retry topics enabled a failed record is moved to the retry topics and committed; otherwise it
+ * is redelivered in process until it succeeds or the partition is revoked.
+ */
+@Component
+public class AsyncMessageDispatcher {
+
+    private final OffsetTracker offsetTracker;
+    private final ConsumerProperties consumerProperties;
+    private final ConsumerMetrics consumerMetrics;
+    private final InboundRecordHandler inboundRecordHandler;
+
+    public AsyncMessageDispatcher(OffsetTracker offsetTracker, ConsumerProperties consumerProperties,
+                                  ConsumerMetrics consumerMetrics, InboundRecordHandler inboundRecordHandler) {
+        this.offsetTracker = offsetTracker;
+        this.consumerProperties = consumerProperties;
+        this.consumerMetrics = consumerMetrics;
+        this.inboundRecordHandler = inboundRecordHandler;
+    }
+
+    /**
+     * Called on the listener thread for every record; returns as soon as the external API call has started
+     */
+    public void dispatch(Message<byte[]> message) {
+        InboundRecord record = InboundRecord.from(message);
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        long offset = record.offset();
+
+        PartitionOffsetTracker tracker = offsetTracker.forPartition(record.topicPartition());
+        tracker.awaitCapacity(consumerProperties.getMaxInFlightPerPartition());
+        tracker.track(offset, record.acknowledgment());
+
+        MessagePayload messagePayload = inboundRecordHandler.parse(message, recordMetrics, tracker, offset);
+        if (messagePayload != null) {
+            inboundRecordHandler.deliver(message, messagePayload, recordMetrics, tracker, offset).subscribe();
+        }
+    }
+}
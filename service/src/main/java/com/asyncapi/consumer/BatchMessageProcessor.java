@@ -0,0 +1,171 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.PollTimestampInterceptor;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Handles a whole poll result from the batchMessageConsumer binding as one unit: every record is
+ * parsed in a single pass, all external API calls run concurrently, and the batch is committed once.
+ * If a call fails, the records before the lowest failed index are committed and the rest of the
+ * batch is redelivered, starting from the failed record. With retry topics enabled, failed records are
+ * moved to the retry topics and unparseable ones to the dead-letter topic instead, and the batch is
+ * always committed whole.
+ */
+@Component
+public class BatchMessageProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMessageProcessor.class);
+
+    private final MessageRouter messageRouter;
+    private final InboundPayloadParser inboundPayloadParser;
+    private final ConsumerProperties consumerProperties;
+    private final FailedRecordPublisher failedRecordPublisher;
+    private final ConsumerMetrics consumerMetrics;
+
+    public BatchMessageProcessor(MessageRouter messageRouter, InboundPayloadParser inboundPayloadParser,
+                                 ConsumerProperties consumerProperties, FailedRecordPublisher failedRecordPublisher,
+                                 ConsumerMetrics consumerMetrics) {
+        this.messageRouter = messageRouter;
+        this.inboundPayloadParser = inboundPayloadParser;
+        this.consumerProperties = consumerProperties;
+        this.failedRecordPublisher = failedRecordPublisher;
+        this.consumerMetrics = consumerMetrics;
+    }
+
+    public void process(Message<List<byte[]>> message) {
+        List<byte[]> records = message.getPayload();
+        List<?> offsets = message.getHeaders().get(KafkaHeaders.OFFSET, List.class);
+        List<?> partitions = message.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION, List.class);
+        Acknowledgment acknowledgment = message.getHeaders().get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+
+        log.info("📦 BATCH RECEIVED from Kafka - Records: {}, Partitions: {}, First offset: {}",
+                 records.size(), partitions == null ? "?" : partitions.stream().distinct().toList(),
+                 offsets == null || offsets.isEmpty() ? "?" : offsets.get(0));
+
+        List<IndexedPayload> parsed = new ArrayList<>(records.size());
+        for (int index = 0; index < records.size(); index++) {
+            RecordMetrics recordMetrics = received(message, index);
+            Message<byte[]> record = record(message, index);
+            try {
+                parsed.add(new IndexedPayload(index, inboundPayloadParser.parse(records.get(index), message.getHeaders(), recordMetrics),
+                                              record, recordMetrics));
+            } catch (JsonProcessingException e) {
+                log.error("❌ Unparseable message - Batch index: {}, Offset: {}",
+                          index, offsets == null ? "?" : offsets.get(index), e);
+                if (failedRecordPublisher.isEnabled()) {
+                    failedRecordPublisher.deadLetter(record, e);
+                    recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+                } else {
+                    recordMetrics.completed(ConsumerMetrics.Result.SKIPPED);
+                }
+            }
+        }
+
+        Flux<FailedRecord> failures = Flux.fromIterable(parsed)
+                .flatMap(this::send, consumerProperties.getBatch().getConcurrency());
+
+        if (failedRecordPublisher.isEnabled()) {
+            List<FailedRecord> failed = failures.collectList().block();
+            failed.forEach(failure -> failedRecordPublisher.retryLater(failure.record(), failure.error()));
+            if (acknowledgment != null) {
+                acknowledgment.acknowledge();
+            }
+            log.info("✅ Batch processing completed - Records: {}, Sent: {}, Moved to retry: {}",
+                     records.size(), parsed.size() - failed.size(), failed.size());
+            return;
+        }
+
+        Optional<FailedRecord> lowestFailure = failures
+                .reduce((first, second) -> first.index() <= second.index() ? first : second)
+                .blockOptional();
+
+        if (lowestFailure.isPresent()) {
+            FailedRecord failure = lowestFailure.get();
+            log.error("❌ Batch partially failed - committing {} records, redelivering from batch index {}",
+                      failure.index(), failure.index());
+            throw new BatchListenerFailedException("Failed to send message to external API", failure.error(), failure.index());
+        }
+
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+        log.info("✅ Batch processing completed successfully - Records: {}, Sent: {}", records.size(), parsed.size());
+    }
+
+    /**
+     * Starts the metrics of one batch entry from the per-record values of the batch headers
+     */
+    private RecordMetrics received(Message<List<byte[]>> batch, int index) {
+        MessageHeaders headers = batch.getHeaders();
+        Object polledAt = entry(headers, KafkaHeaders.BATCH_CONVERTED_HEADERS, index) instanceof Map<?, ?> converted
+                          ? converted.get(PollTimestampInterceptor.POLLED_AT_HEADER) : null;
+        return consumerMetrics.received((String) entry(headers, KafkaHeaders.RECEIVED_TOPIC, index),
+                                        (Integer) entry(headers, KafkaHeaders.RECEIVED_PARTITION, index),
+                                        (Long) entry(headers, KafkaHeaders.RECEIVED_TIMESTAMP, index), polledAt);
+    }
+
+    private static Object entry(MessageHeaders headers, String header, int index) {
+        List<?> values = headers.get(header, List.class);
+        return values != null && index < values.size() ? values.get(index) : null;
+    }
+
+    /**
+     * Single-record view of one batch entry, carrying the Kafka headers the failed record publisher reads
+     * and the record's own headers, which routing rules may match on
+     */
+    private static Message<byte[]> record(Message<List<byte[]>> batch, int index) {
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(batch.getPayload().get(index));
+        for (String header : List.of(KafkaHeaders.RECEIVED_TOPIC, KafkaHeaders.RECEIVED_PARTITION,
+                                     KafkaHeaders.OFFSET, KafkaHeaders.RECEIVED_KEY)) {
+            List<?> values = batch.getHeaders().get(header, List.class);
+            if (values != null) {
+                builder.setHeader(header, values.get(index));
+            }
+        }
+        if (entry(batch.getHeaders(), KafkaHeaders.BATCH_CONVERTED_HEADERS, index) instanceof Map<?, ?> converted) {
+            converted.forEach((name, value) -> builder.setHeaderIfAbsent((String) name, value));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sends one record and emits a {@link FailedRecord} only if the call failed
+     */
+    private Mono<FailedRecord> send(IndexedPayload indexed) {
+        return messageRouter.deliver(indexed.payload(), indexed.record().getHeaders())
+                .doOnSuccess(response -> indexed.metrics().delivered(response))
+                .then(Mono.<FailedRecord>empty())
+                .onErrorResume(error -> {
+                    log.error("❌ External API call failed - Message ID: {}", indexed.payload().getId(), error);
+                    indexed.metrics().completed(ConsumerMetrics.Result.FAILURE);
+                    return Mono.just(new FailedRecord(indexed.index(), indexed.record(), error));
+                });
+    }
+
+    private record IndexedPayload(int index, MessagePayload payload, Message<byte[]> record, RecordMetrics metrics) {
+    }
+
+    private record FailedRecord(int index, Message<byte[]> record, Throwable error) {
+    }
+}
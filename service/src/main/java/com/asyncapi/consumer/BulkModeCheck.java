@@ -0,0 +1,39 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.config.ExternalApiProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Fails startup when bulk requests are enabled while the messageConsumer handles records in SYNC mode. That
+ * consumer waits for each record's delivery before taking the next one, so every bulk request would carry a
+ * single message, sent only after external.api.bulk.max-linger. The batch and retry consumers are not affected.
+ */
+@Component
+public class BulkModeCheck {
+
+    static final String FUNCTION_DEFINITION = "spring.cloud.function.definition";
+
+    public BulkModeCheck(ConsumerProperties consumerProperties, ExternalApiProperties externalApiProperties,
+                         Environment environment) {
+        if (consumerProperties.getMode() != ConsumerProperties.ProcessingMode.SYNC
+                || !bindsMessageConsumer(environment)) {
+            return;
+        }
+        Assert.isTrue(!externalApiProperties.getBulk().isEnabled(), "external.api.bulk.enabled needs consumer.mode "
+                + "ASYNC, KEY_ORDERED or VIRTUAL, since in SYNC mode every bulk request carries one message");
+        for (ExternalApiProperties.Route route : externalApiProperties.getRoutes()) {
+            Assert.isTrue(route.getBulk() == null || !route.getBulk().isEnabled(), () -> "Bulk requests of route '"
+                    + route.getName() + "' need consumer.mode ASYNC, KEY_ORDERED or VIRTUAL, since in SYNC mode "
+                    + "every bulk request carries one message");
+        }
+    }
+
+    private static boolean bindsMessageConsumer(Environment environment) {
+        String definition = environment.getProperty(FUNCTION_DEFINITION, "messageConsumer");
+        return Arrays.stream(definition.split("[;,|]")).map(String::trim).anyMatch("messageConsumer"::equals);
+    }
+}
@@ -0,0 +1,44 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.config.ListenerContainerCustomizer;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adjusts the Kafka listener containers created by the binder to match the configured processing mode
+ */
+@Component
+public class ConsumerContainerCustomizer implements ListenerContainerCustomizer<AbstractMessageListenerContainer<?, ?>> {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerContainerCustomizer.class);
+
+    private final ConsumerProperties consumerProperties;
+    private final ConsumerPauseController pauseController;
+    private final FailedRecordPublisher failedRecordPublisher;
+
+    public ConsumerContainerCustomizer(ConsumerProperties consumerProperties, ConsumerPauseController pauseController,
+                                       FailedRecordPublisher failedRecordPublisher) {
+        this.consumerProperties = consumerProperties;
+        this.pauseController = pauseController;
+        this.failedRecordPublisher = failedRecordPublisher;
+    }
+
+    @Override
+    public void configure(AbstractMessageListenerContainer<?, ?> container, String destinationName, String group) {
+        if (failedRecordPublisher.isRetryTopic(destinationName)) {
+            // Retry topic records are held until due and committed as they complete, whatever the mode
+            container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            log.info("⚙️ Listener container for retry topic '{}' switched to manual acknowledgment", destinationName);
+        } else if (consumerProperties.getMode() != ConsumerProperties.ProcessingMode.SYNC) {
+            // Offsets are acknowledged by the offset tracker once records complete, never by the container
+            container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            log.info("⚙️ Listener container for '{}' switched to manual acknowledgment for {} mode",
+                     destinationName, consumerProperties.getMode());
+        }
+        pauseController.register(container);
+    }
+}
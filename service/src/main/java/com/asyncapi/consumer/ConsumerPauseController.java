@@ -0,0 +1,148 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.CircuitBreaker;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pauses and resumes the binder's listener containers on behalf of any number of independent reasons.
+ * The containers stay paused while at least one reason is active. A paused container keeps polling, so
+ * the consumer stays in its group, but it fetches no records until it is resumed.
+ * <p>
+ * Single partitions are paused independently, again for any number of reasons: when their backlog of
+ * uncommitted records passes the high watermark, until it is back at the low watermark, or while the
+ * head of a retry topic partition is not yet due.
+ * <p>
+ * With the spill journal enabled, an open circuit or a saturated limiter does not pause consumption,
+ * since those records go to the journal; consumption is paused only while the journal is full.
+ */
+@Component
+public class ConsumerPauseController implements BacklogListener {
+
+    static final String CONCURRENCY_LIMIT = "concurrency-limit";
+    static final String CIRCUIT_OPEN = "circuit-open";
+    static final String SPILL_FULL = "spill-full";
+    static final String BACKLOG_HIGH = "backlog above high watermark";
+    public static final String RETRY_NOT_DUE = "retry not yet due";
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerPauseController.class);
+
+    private final List<MessageListenerContainer> containers = new CopyOnWriteArrayList<>();
+    private final Set<String> reasons = new HashSet<>();
+    private final Map<TopicPartition, Set<String>> partitionReasons = new HashMap<>();
+
+    public ConsumerPauseController(AdaptiveConcurrencyLimiter concurrencyLimiter, ExternalApiResilience resilience,
+                                   SpillBuffer spillBuffer) {
+        if (spillBuffer.isEnabled()) {
+            spillBuffer.addListener(full -> {
+                if (full) {
+                    pause(SPILL_FULL);
+                } else {
+                    resume(SPILL_FULL);
+                }
+            });
+            return;
+        }
+        concurrencyLimiter.addListener(saturated -> {
+            if (saturated) {
+                pause(CONCURRENCY_LIMIT);
+            } else {
+                resume(CONCURRENCY_LIMIT);
+            }
+        });
+        // Resumed already at half-open, since the trial calls have to come from consumed records
+        resilience.getCircuitBreaker().addListener(state -> {
+            if (state == CircuitBreaker.State.OPEN) {
+                pause(CIRCUIT_OPEN);
+            } else {
+                resume(CIRCUIT_OPEN);
+            }
+        });
+    }
+
+    synchronized void register(MessageListenerContainer container) {
+        containers.add(container);
+        if (!reasons.isEmpty()) {
+            container.pause();
+        }
+    }
+
+    public synchronized void pause(String reason) {
+        if (reasons.add(reason) && reasons.size() == 1) {
+            containers.forEach(MessageListenerContainer::pause);
+            log.info("⏸️ Consumption paused - Reason: {}", reason);
+        }
+    }
+
+    public synchronized void resume(String reason) {
+        if (reasons.remove(reason) && reasons.isEmpty()) {
+            containers.forEach(MessageListenerContainer::resume);
+            log.info("▶️ Consumption resumed - Reason cleared: {}", reason);
+        }
+    }
+
+    @Override
+    public void backlogHigh(TopicPartition topicPartition) {
+        pausePartition(topicPartition, BACKLOG_HIGH);
+    }
+
+    @Override
+    public void backlogLow(TopicPartition topicPartition) {
+        resumePartition(topicPartition, BACKLOG_HIGH);
+    }
+
+    /**
+     * Pauses the partition in whichever container owns it, unless another reason already holds it paused
+     */
+    public synchronized void pausePartition(TopicPartition topicPartition, String reason) {
+        Set<String> active = partitionReasons.computeIfAbsent(topicPartition, partition -> new HashSet<>());
+        if (active.add(reason) && active.size() == 1) {
+            for (MessageListenerContainer container : containers) {
+                if (owns(container, topicPartition)) {
+                    container.pausePartition(topicPartition);
+                    log.info("⏸️ Partition paused - Partition: {}, Reason: {}", topicPartition, reason);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resumes the partition once the last reason it was paused for has cleared
+     */
+    public synchronized void resumePartition(TopicPartition topicPartition, String reason) {
+        Set<String> active = partitionReasons.get(topicPartition);
+        if (active != null && active.remove(reason) && active.isEmpty()) {
+            partitionReasons.remove(topicPartition);
+            for (MessageListenerContainer container : containers) {
+                if (owns(container, topicPartition)) {
+                    container.resumePartition(topicPartition);
+                    log.info("▶️ Partition resumed - Partition: {}, Reason cleared: {}", topicPartition, reason);
+                }
+            }
+        }
+    }
+
+    private static boolean owns(MessageListenerContainer container, TopicPartition topicPartition) {
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        return assigned != null && assigned.contains(topicPartition);
+    }
+
+    public synchronized boolean isPaused() {
+        return !reasons.isEmpty();
+    }
+}
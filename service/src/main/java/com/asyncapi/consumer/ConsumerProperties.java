@@ -0,0 +1,320 @@
+package com.asyncapi.consumer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processing settings for the messageConsumer binding, bound from the {@code consumer.*} keys
+ */
+@ConfigurationProperties(prefix = "consumer")
+public class ConsumerProperties {
+
+    /**
+     * How records are handed to the external API
+     */
+    private ProcessingMode mode = ProcessingMode.SYNC;
+
+    /**
+     * Hard ceiling on uncommitted records per partition, at which the listener thread waits.
+     * Normally the partition is paused at the backpressure high watermark well before this.
+     */
+    private int maxInFlightPerPartition = 256;
+
+    /**
+     * Delay before a failed external API call is attempted again in async, key-ordered and virtual mode
+     */
+    private Duration redeliveryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Forward each record value to the external API exactly as consumed, after checking only its
+     * required fields (id, timestamp), instead of binding it to a MessagePayload and serializing it again
+     */
+    private boolean passthrough = false;
+
+    private final Batch batch = new Batch();
+
+    private final Lanes lanes = new Lanes();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
+    private final Backpressure backpressure = new Backpressure();
+
+    private final RetryTopics retryTopics = new RetryTopics();
+
+    private final LagMonitor lagMonitor = new LagMonitor();
+
+    public ProcessingMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ProcessingMode mode) {
+        this.mode = mode;
+    }
+
+    public int getMaxInFlightPerPartition() {
+        return maxInFlightPerPartition;
+    }
+
+    public void setMaxInFlightPerPartition(int maxInFlightPerPartition) {
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+    }
+
+    public Duration getRedeliveryBackoff() {
+        return redeliveryBackoff;
+    }
+
+    public void setRedeliveryBackoff(Duration redeliveryBackoff) {
+        this.redeliveryBackoff = redeliveryBackoff;
+    }
+
+    public boolean isPassthrough() {
+        return passthrough;
+    }
+
+    public void setPassthrough(boolean passthrough) {
+        this.passthrough = passthrough;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Lanes getLanes() {
+        return lanes;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    public RetryTopics getRetryTopics() {
+        return retryTopics;
+    }
+
+    public LagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    /**
+     * Settings for the batchMessageConsumer binding
+     */
+    public static class Batch {
+
+        /**
+         * Maximum number of external API calls in flight for one poll result
+         */
+        private int concurrency = 64;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    /**
+     * Settings for KEY_ORDERED mode
+     */
+    public static class Lanes {
+
+        /**
+         * Number of lanes records are spread across by key hash
+         */
+        private int count = 8;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Settings for VIRTUAL mode
+     */
+    public static class VirtualThreads {
+
+        /**
+         * Records handled at once across all partitions, each on its own virtual thread; the listener
+         * thread waits for one to finish once this many are running
+         */
+        private int maxConcurrency = 1024;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    public enum ProcessingMode {
+        /**
+         * One record at a time, blocking the listener thread until the external API answers
+         */
+        SYNC,
+        /**
+         * Many records per partition in flight at once, offsets committed in order as they complete
+         */
+        ASYNC,
+        /**
+         * Records spread over lanes by key hash, keeping per-key order while different keys run in parallel
+         */
+        KEY_ORDERED,
+        /**
+         * Each record handled by blocking code on its own virtual thread, offsets committed in order as they
+         * complete; needs Java 21
+         */
+        VIRTUAL
+    }
+
+    /**
+     * Per-partition pause and resume based on the number of uncommitted records, in the concurrent modes
+     */
+    public static class Backpressure {
+
+        /**
+         * Uncommitted records at which the partition is paused; it is still polled, so the consumer keeps heartbeating
+         */
+        private int highWatermark = 192;
+
+        /**
+         * Uncommitted records at or below which a paused partition is resumed
+         */
+        private int lowWatermark = 64;
+
+        public int getHighWatermark() {
+            return highWatermark;
+        }
+
+        public void setHighWatermark(int highWatermark) {
+            this.highWatermark = highWatermark;
+        }
+
+        public int getLowWatermark() {
+            return lowWatermark;
+        }
+
+        public void setLowWatermark(int lowWatermark) {
+            this.lowWatermark = lowWatermark;
+        }
+    }
+
+    /**
+     * Records that fail are moved to delayed retry topics and finally to a dead-letter topic,
+     * so they never hold up the rest of their partition
+     */
+    public static class RetryTopics {
+
+        /**
+         * Whether failed records are published to the retry and dead-letter topics, which must exist, and
+         * committed; when disabled (the default) a failed record is not committed and stays in Kafka
+         */
+        private boolean enabled = false;
+
+        /**
+         * One retry topic per delay, named {topic}-retry-{delay}, e.g. message-topic-retry-30s
+         */
+        private List<Duration> delays = new ArrayList<>(List.of(Duration.ofSeconds(1), Duration.ofSeconds(30),
+                                                                Duration.ofMinutes(5)));
+
+        /**
+         * Suffix of the dead-letter topic that takes records which failed every retry or cannot be parsed
+         */
+        private String deadLetterSuffix = "-dlt";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Duration> getDelays() {
+            return delays;
+        }
+
+        public void setDelays(List<Duration> delays) {
+            this.delays = delays;
+        }
+
+        public String getDeadLetterSuffix() {
+            return deadLetterSuffix;
+        }
+
+        public void setDeadLetterSuffix(String deadLetterSuffix) {
+            this.deadLetterSuffix = deadLetterSuffix;
+        }
+    }
+
+    /**
+     * Periodic comparison of the committed offsets of the assigned partitions with their end offsets
+     */
+    public static class LagMonitor {
+
+        /**
+         * Whether lag and consume rate are sampled and published
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time between samples; also the timeout of each sample's admin requests
+         */
+        private Duration interval = Duration.ofSeconds(15);
+
+        /**
+         * Weight of the newest sample in the smoothed consume and produce rates, between 0 and 1
+         */
+        private double smoothing = 0.3;
+
+        /**
+         * Brokers the admin client connects to; defaults to spring.kafka.bootstrap-servers
+         */
+        private List<String> bootstrapServers = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public List<String> getBootstrapServers() {
+            return bootstrapServers;
+        }
+
+        public void setBootstrapServers(List<String> bootstrapServers) {
+            this.bootstrapServers = bootstrapServers;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.PayloadFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a record value into the payload handed to the external API: fully bound to a
+ * {@link MessagePayload}, or with consumer.passthrough only checked for its required fields and
+ * forwarded as the original bytes. The record is read in the {@link PayloadFormat} of its content type,
+ * and as JSON when it has none of them. Either way a record that fails the check is reported with a
+ * {@link JsonProcessingException}, so it is dead-lettered like any other unparseable record.
+ */
+@Component
+public class InboundPayloadParser {
+
+    private final MessagePayloadCodec messagePayloadCodec;
+    private final boolean passthrough;
+
+    public InboundPayloadParser(MessagePayloadCodec messagePayloadCodec, ConsumerProperties consumerProperties) {
+        this.messagePayloadCodec = messagePayloadCodec;
+        this.passthrough = consumerProperties.isPassthrough();
+    }
+
+    public MessagePayload parse(byte[] value, PayloadFormat format) throws JsonProcessingException {
+        return passthrough ? messagePayloadCodec.readRequiredFields(value, format) : messagePayloadCodec.read(value, format);
+    }
+
+    /**
+     * Parses the record value in the format given by the message's content type, and records the time it
+     * took against the record's partition
+     */
+    public MessagePayload parse(byte[] value, MessageHeaders headers, RecordMetrics recordMetrics)
+            throws JsonProcessingException {
+        long start = System.nanoTime();
+        try {
+            MessagePayload payload = parse(value, PayloadFormat.of(headers));
+            recordMetrics.parsed(start, true);
+            return payload;
+        } catch (JsonProcessingException e) {
+            recordMetrics.parsed(start, false);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.asyncapi.consumer;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Kafka metadata of a record delivered to the messageConsumer, read once from the message headers
+ */
+record InboundRecord(String topic, int partition, long offset, Object key,
+                     Acknowledgment acknowledgment, byte[] payload) {
+
+    static InboundRecord from(Message<byte[]> message) {
+        MessageHeaders headers = message.getHeaders();
+        String topic = headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+        Integer partition = headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+        Long offset = headers.get(KafkaHeaders.OFFSET, Long.class);
+        Acknowledgment acknowledgment = headers.get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+
+        if (acknowledgment == null) {
+            throw new IllegalStateException("Concurrent processing requires manual acknowledgment, but the record from "
+                    + topic + "-" + partition + " has no " + KafkaHeaders.ACKNOWLEDGMENT + " header");
+        }
+        return new InboundRecord(topic, partition, offset, headers.get(KafkaHeaders.RECEIVED_KEY),
+                                 acknowledgment, message.getPayload());
+    }
+
+    TopicPartition topicPartition() {
+        return new TopicPartition(topic, partition);
+    }
+}
@@ -0,0 +1,136 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Parses and delivers a record tracked by a {@link PartitionOffsetTracker}, and routes it when that fails,
+ * the same way for every per-record dispatcher. A record that does not parse is dead-lettered, or skipped
+ * when retry topics are disabled. A record whose delivery fails is moved to the retry topics, or redelivered
+ * in process every consumer.redelivery-backoff until it succeeds or the partition is revoked.
+ */
+@Component
+public class InboundRecordHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(InboundRecordHandler.class);
+
+    private final MessageRouter messageRouter;
+    private final InboundPayloadParser inboundPayloadParser;
+    private final FailedRecordPublisher failedRecordPublisher;
+    private final ConsumerProperties consumerProperties;
+    private final MessageEventLogger messageEventLogger;
+
+    public InboundRecordHandler(MessageRouter messageRouter, InboundPayloadParser inboundPayloadParser,
+                                FailedRecordPublisher failedRecordPublisher, ConsumerProperties consumerProperties,
+                                MessageEventLogger messageEventLogger) {
+        this.messageRouter = messageRouter;
+        this.inboundPayloadParser = inboundPayloadParser;
+        this.failedRecordPublisher = failedRecordPublisher;
+        this.consumerProperties = consumerProperties;
+        this.messageEventLogger = messageEventLogger;
+    }
+
+    /**
+     * Parses the record; returns null if it does not parse, in which case it has already been dead-lettered or skipped
+     */
+    public MessagePayload parse(Message<byte[]> message, RecordMetrics recordMetrics,
+                                PartitionOffsetTracker tracker, long offset) {
+        TopicPartition topicPartition = tracker.getTopicPartition();
+        MessagePayload messagePayload;
+        try {
+            messagePayload = inboundPayloadParser.parse(message.getPayload(), message.getHeaders(), recordMetrics);
+        } catch (JsonProcessingException e) {
+            // Retrying cannot fix a record that does not parse, so it is dead-lettered or skipped rather than blocking the partition
+            log.error("❌ Unparseable message - Topic: {}, Partition: {}, Offset: {}",
+                      topicPartition.topic(), topicPartition.partition(), offset, e);
+            if (failedRecordPublisher.isEnabled()) {
+                failedRecordPublisher.publishAndComplete(message, e, true, tracker, offset);
+                recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+            } else {
+                tracker.complete(offset);
+                recordMetrics.completed(ConsumerMetrics.Result.SKIPPED);
+            }
+            return null;
+        }
+        messageEventLogger.received(messagePayload.getId(), topicPartition.topic(), topicPartition.partition(), offset);
+        return messagePayload;
+    }
+
+    /**
+     * Sends the parsed record once subscribed to. The returned Mono completes, and never fails, once the record
+     * is settled: delivered, moved to the retry topics or abandoned after its partition was revoked.
+     */
+    public Mono<Void> deliver(Message<byte[]> message, MessagePayload messagePayload, RecordMetrics recordMetrics,
+                              PartitionOffsetTracker tracker, long offset) {
+        TopicPartition topicPartition = tracker.getTopicPartition();
+        Mono<String> delivery = messageRouter.deliver(messagePayload, message.getHeaders());
+        if (!failedRecordPublisher.isEnabled()) {
+            delivery = delivery.retryWhen(Retry.fixedDelay(Long.MAX_VALUE, consumerProperties.getRedeliveryBackoff())
+                    .filter(error -> !tracker.isRevoked())
+                    .doBeforeRetry(signal -> log.warn("🔁 Retrying external API call - Message ID: {}, Attempt: {}",
+                                                      messagePayload.getId(), signal.totalRetries() + 1)));
+        }
+        return delivery
+                .doOnSuccess(response -> {
+                    tracker.complete(offset);
+                    recordMetrics.delivered(response);
+                    messageEventLogger.completed(messagePayload.getId(), topicPartition.topic(),
+                                                 topicPartition.partition(), offset);
+                })
+                .onErrorResume(error -> {
+                    if (failedRecordPublisher.isEnabled()) {
+                        failedRecordPublisher.publishAndComplete(message, error, false, tracker, offset);
+                    } else {
+                        log.warn("⚠️ Abandoned in-flight message after partition revocation - Message ID: {}, Offset: {}",
+                                 messagePayload.getId(), offset, error);
+                    }
+                    recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * For dispatchers that give each record a thread of its own: sends it and waits until it is settled.
+     * An interrupt cancels the delivery, including any pending redelivery, and is passed on. The record is then
+     * moved to the retry topics, which completes its offset, or with retry topics disabled left uncommitted
+     * for Kafka to redeliver.
+     */
+    public void deliverAndWait(Message<byte[]> message, MessagePayload messagePayload, RecordMetrics recordMetrics,
+                               PartitionOffsetTracker tracker, long offset) throws InterruptedException {
+        CompletableFuture<Void> settled = deliver(message, messagePayload, recordMetrics, tracker, offset).toFuture();
+        try {
+            settled.get();
+        } catch (InterruptedException e) {
+            settled.cancel(true);
+            if (failedRecordPublisher.isEnabled()) {
+                log.warn("⚠️ Interrupted while delivering, moving message to the retry topics - Message ID: {}, Offset: {}",
+                         messagePayload.getId(), offset);
+                failedRecordPublisher.publishAndComplete(message, e, false, tracker, offset);
+            } else {
+                log.warn("⚠️ Abandoned in-flight message on shutdown - Message ID: {}, Offset: {}",
+                         messagePayload.getId(), offset);
+            }
+            recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Record delivery failed unexpectedly", e.getCause());
+        }
+    }
+}
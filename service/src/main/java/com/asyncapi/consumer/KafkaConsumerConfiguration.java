@@ -1,75 +1,148 @@
 package com.asyncapi.consumer;
 
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.consumer.retry.RetryTopicDispatcher;
+import com.asyncapi.logging.MessageEventLogger;
 import com.asyncapi.model.MessagePayload;
-import com.asyncapi.service.ExternalApiService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 @Configuration
+@EnableConfigurationProperties(ConsumerProperties.class)
 public class KafkaConsumerConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(KafkaConsumerConfiguration.class);
     
-    private final ExternalApiService externalApiService;
-    private final ObjectMapper objectMapper;
+    private final MessageRouter messageRouter;
+    private final InboundPayloadParser inboundPayloadParser;
+    private final ConsumerProperties consumerProperties;
+    private final AsyncMessageDispatcher asyncMessageDispatcher;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
+    private final BatchMessageProcessor batchMessageProcessor;
+    private final RetryTopicDispatcher retryTopicDispatcher;
+    private final FailedRecordPublisher failedRecordPublisher;
+    private final ConsumerMetrics consumerMetrics;
+    private final MessageEventLogger messageEventLogger;
     
-    public KafkaConsumerConfiguration(ExternalApiService externalApiService, ObjectMapper objectMapper) {
-        this.externalApiService = externalApiService;
-        this.objectMapper = objectMapper;
+    public KafkaConsumerConfiguration(MessageRouter messageRouter, InboundPayloadParser inboundPayloadParser,
+                                      ConsumerProperties consumerProperties,
+                                      AsyncMessageDispatcher asyncMessageDispatcher,
+                                      KeyOrderedDispatcher keyOrderedDispatcher,
+                                      VirtualThreadDispatcher virtualThreadDispatcher,
+                                      BatchMessageProcessor batchMessageProcessor,
+                                      RetryTopicDispatcher retryTopicDispatcher,
+                                      FailedRecordPublisher failedRecordPublisher,
+                                      ConsumerMetrics consumerMetrics,
+                                      MessageEventLogger messageEventLogger) {
+        this.messageRouter = messageRouter;
+        this.inboundPayloadParser = inboundPayloadParser;
+        this.consumerProperties = consumerProperties;
+        this.asyncMessageDispatcher = asyncMessageDispatcher;
+        this.keyOrderedDispatcher = keyOrderedDispatcher;
+        this.virtualThreadDispatcher = virtualThreadDispatcher;
+        this.batchMessageProcessor = batchMessageProcessor;
+        this.retryTopicDispatcher = retryTopicDispatcher;
+        this.failedRecordPublisher = failedRecordPublisher;
+        this.consumerMetrics = consumerMetrics;
+        this.messageEventLogger = messageEventLogger;
+    }
+
+    /**
+     * Consumes the retry topics that failed records are moved to. Add it to the function definition,
+     * e.g. 'messageConsumer;retryMessageConsumer', whenever consumer.retry-topics.enabled is true.
+     */
+    @Bean
+    public Consumer<Message<byte[]>> retryMessageConsumer() {
+        return retryTopicDispatcher::dispatch;
+    }
+
+    /**
+     * Batch variant of the messageConsumer that receives a whole poll result per invocation.
+     * Enable it with 'spring.cloud.function.definition: batchMessageConsumer', plus ';retryMessageConsumer' with
+     * retry topics; its binding must have 'batch-mode: true'.
+     */
+    @Bean
+    public Consumer<Message<List<byte[]>>> batchMessageConsumer() {
+        return batchMessageProcessor::process;
     }
 
     /**
      * Kafka consumer using Spring Cloud Stream functional programming model
-     * This bean name 'messageConsumer' will be bound to the input channel
+     * This bean name 'messageConsumer' will be bound to the input channel.
+     * In ASYNC, KEY_ORDERED and VIRTUAL modes records are handed to a dispatcher instead of being processed inline.
      */
     @Bean
-    public Consumer<Message<String>> messageConsumer() {
+    public Consumer<Message<byte[]>> messageConsumer() {
+        switch (consumerProperties.getMode()) {
+            case ASYNC -> {
+                log.info("⚡ messageConsumer running in ASYNC mode - up to {} records in flight per partition",
+                         consumerProperties.getMaxInFlightPerPartition());
+                return asyncMessageDispatcher::dispatch;
+            }
+            case KEY_ORDERED -> {
+                log.info("⚡ messageConsumer running in KEY_ORDERED mode - {} lanes, up to {} records in flight per partition",
+                         consumerProperties.getLanes().getCount(), consumerProperties.getMaxInFlightPerPartition());
+                return keyOrderedDispatcher::dispatch;
+            }
+            case VIRTUAL -> {
+                log.info("⚡ messageConsumer running in VIRTUAL mode - up to {} records at once, {} in flight per partition",
+                         consumerProperties.getVirtualThreads().getMaxConcurrency(),
+                         consumerProperties.getMaxInFlightPerPartition());
+                return virtualThreadDispatcher::dispatch;
+            }
+            default -> log.info("messageConsumer running in SYNC mode");
+        }
         return message -> {
             // Extract Kafka message metadata
-            Object offset = message.getHeaders().get("kafka_offset");
-            Object partition = message.getHeaders().get("kafka_receivedPartitionId");
-            Object topic = message.getHeaders().get("kafka_receivedTopic");
+            String topic = message.getHeaders().get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+            Integer partition = message.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+            Long offset = message.getHeaders().get(KafkaHeaders.OFFSET, Long.class);
+            RecordMetrics recordMetrics = consumerMetrics.received(message);
             
             try {
-                String payload = message.getPayload();
-                
-                // Log message reception with Kafka metadata
-                log.info("📩 MESSAGE RECEIVED from Kafka - Topic: {}, Partition: {}, Offset: {}", 
-                         topic, partition, offset);
-                log.info("Message content: {}", payload);
-
-                // Parse the message payload
-                MessagePayload messagePayload = objectMapper.readValue(payload, MessagePayload.class);
-                log.info("✅ Message parsed successfully - ID: {}, Content: {}", 
-                         messagePayload.getId(), messagePayload.getContent());
+                // Parse the message payload straight from the record bytes
+                MessagePayload messagePayload = inboundPayloadParser.parse(message.getPayload(), message.getHeaders(), recordMetrics);
+                messageEventLogger.received(messagePayload.getId(), topic, partition, offset);
 
                 // Send to external API
-                log.info("📤 Sending message to external API - Message ID: {}", messagePayload.getId());
-                externalApiService.sendMessage(messagePayload)
-                        .doOnSuccess(response -> {
-                            log.info("✅ External API call successful - Message ID: {}, Response: {}", 
-                                     messagePayload.getId(), response);
-                        })
+                String apiResponse = messageRouter.deliver(messagePayload, message.getHeaders())
                         .doOnError(error -> {
                             log.error("❌ External API call failed - Message ID: {}", 
                                       messagePayload.getId(), error);
                             throw new RuntimeException("Failed to send message to external API", error);
                         })
                         .block(); // Block to ensure synchronous processing for proper offset commit
+                recordMetrics.delivered(apiResponse);
+                messageEventLogger.completed(messagePayload.getId(), topic, partition, offset);
 
-                // Log successful processing before commit
-                log.info("✅ Message processing completed successfully - Message ID: {}", 
-                         messagePayload.getId());
-                log.info("💾 Message ready for commit - Topic: {}, Partition: {}, Offset: {}", 
-                         topic, partition, offset);
-
+            } catch (JsonProcessingException e) {
+                recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+                if (!failedRecordPublisher.isEnabled()) {
+                    log.error("❌ CRITICAL ERROR parsing message - Topic: {}, Partition: {}, Offset: {}. Message will NOT be committed.",
+                              topic, partition, offset, e);
+                    throw new RuntimeException("Failed to process Kafka message", e);
+                }
+                // Parsing will never succeed, so the record goes straight to the dead-letter topic
+                failedRecordPublisher.deadLetter(message, e);
             } catch (Exception e) {
+                recordMetrics.completed(ConsumerMetrics.Result.FAILURE);
+                if (failedRecordPublisher.isEnabled()) {
+                    failedRecordPublisher.retryLater(message, e);
+                    return;
+                }
                 log.error("❌ CRITICAL ERROR processing message - Topic: {}, Partition: {}, Offset: {}. Message will NOT be committed.", 
                           topic, partition, offset, e);
                 throw new RuntimeException("Failed to process Kafka message", e);
@@ -0,0 +1,137 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Fans the records of each partition out to a fixed set of lanes by hashing the record key.
+ * A lane handles its records one after another, so records with the same key keep their order,
+ * while different keys proceed in parallel on different lanes. Offsets are committed through the
+ * partition's {@link PartitionOffsetTracker}, exactly as in ASYNC mode. With retry topics enabled a
+ * record that fails is moved to the retry topics, so later records with its key no longer wait for it.
+ */
+@Component
+public class KeyOrderedDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedDispatcher.class);
+
+    private final OffsetTracker offsetTracker;
+    private final ConsumerProperties consumerProperties;
+    private final ConsumerMetrics consumerMetrics;
+    private final InboundRecordHandler inboundRecordHandler;
+    private volatile Lane[] lanes;
+
+    public KeyOrderedDispatcher(OffsetTracker offsetTracker, ConsumerProperties consumerProperties,
+                                ConsumerMetrics consumerMetrics, InboundRecordHandler inboundRecordHandler) {
+        this.offsetTracker = offsetTracker;
+        this.consumerProperties = consumerProperties;
+        this.consumerMetrics = consumerMetrics;
+        this.inboundRecordHandler = inboundRecordHandler;
+    }
+
+    /**
+     * Called on the listener thread for every record; never waits for a lane, whose queue is bounded by the
+     * partitions' in-flight limits rather than a capacity of its own
+     */
+    public void dispatch(Message<byte[]> message) {
+        InboundRecord record = InboundRecord.from(message);
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        long offset = record.offset();
+
+        PartitionOffsetTracker tracker = offsetTracker.forPartition(record.topicPartition());
+        tracker.awaitCapacity(consumerProperties.getMaxInFlightPerPartition());
+        tracker.track(offset, record.acknowledgment());
+
+        MessagePayload messagePayload = inboundRecordHandler.parse(message, recordMetrics, tracker, offset);
+        if (messagePayload == null) {
+            return;
+        }
+
+        Lane lane = laneFor(record.key() != null ? record.key() : messagePayload.getId());
+        lane.queue.add(new LaneTask(message, messagePayload, recordMetrics, tracker, offset));
+    }
+
+    private Lane laneFor(Object key) {
+        Lane[] current = lanes();
+        int hash = key instanceof byte[] bytes ? Arrays.hashCode(bytes) : key.hashCode();
+        return current[Math.floorMod(hash, current.length)];
+    }
+
+    private Lane[] lanes() {
+        Lane[] current = lanes;
+        if (current == null) {
+            synchronized (this) {
+                current = lanes;
+                if (current == null) {
+                    current = new Lane[consumerProperties.getLanes().getCount()];
+                    for (int i = 0; i < current.length; i++) {
+                        current[i] = new Lane(i);
+                        current[i].start();
+                    }
+                    lanes = current;
+                    log.info("🛣️ Started {} processing lanes", current.length);
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public void destroy() {
+        Lane[] current = lanes;
+        if (current != null) {
+            for (Lane lane : current) {
+                lane.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Sends the message and waits until it is settled, so later records with the same key cannot overtake it
+     * while it is redelivered; with retry topics enabled a failed message is moved there after one attempt
+     */
+    private void deliver(LaneTask task) throws InterruptedException {
+        inboundRecordHandler.deliverAndWait(task.message(), task.payload(), task.metrics(), task.tracker(),
+                                            task.offset());
+    }
+
+    private record LaneTask(Message<byte[]> message, MessagePayload payload, RecordMetrics metrics,
+                            PartitionOffsetTracker tracker, long offset) {
+    }
+
+    private final class Lane extends Thread {
+
+        private final int index;
+        private final BlockingQueue<LaneTask> queue;
+
+        private Lane(int index) {
+            super("processing-lane-" + index);
+            this.index = index;
+            this.queue = new LinkedBlockingQueue<>();
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isInterrupted()) {
+                    deliver(queue.take());
+                }
+            } catch (InterruptedException e) {
+                log.debug("Processing lane {} stopped", index);
+            }
+        }
+    }
+}
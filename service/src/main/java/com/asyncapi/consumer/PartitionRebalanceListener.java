@@ -0,0 +1,48 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.lag.ConsumerLagMonitor;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Keeps per-partition consumer state in step with the partitions the binder currently owns
+ */
+@Component
+public class PartitionRebalanceListener implements KafkaBindingRebalanceListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRebalanceListener.class);
+
+    private final OffsetTracker offsetTracker;
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final BindingServiceProperties bindingServiceProperties;
+
+    public PartitionRebalanceListener(OffsetTracker offsetTracker, ConsumerLagMonitor consumerLagMonitor,
+                                      BindingServiceProperties bindingServiceProperties) {
+        this.offsetTracker = offsetTracker;
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.bindingServiceProperties = bindingServiceProperties;
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(String bindingName, Consumer<?, ?> consumer,
+                                                Collection<TopicPartition> partitions) {
+        log.info("🔄 Partitions revoked - Binding: {}, Partitions: {}", bindingName, partitions);
+        offsetTracker.revoke(partitions);
+        consumerLagMonitor.revoked(bindingServiceProperties.getGroup(bindingName), partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(String bindingName, Consumer<?, ?> consumer,
+                                     Collection<TopicPartition> partitions, boolean initial) {
+        log.info("🔄 Partitions assigned - Binding: {}, Partitions: {}, Initial: {}", bindingName, partitions, initial);
+        consumerLagMonitor.assigned(bindingServiceProperties.getGroup(bindingName), partitions);
+    }
+}
@@ -0,0 +1,61 @@
+package com.asyncapi.consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Fails startup when a single poll could hand a dispatcher more records of one partition than it can take
+ * without blocking the listener thread. A partition is paused at the backpressure high watermark, but the pause
+ * only takes effect at the next poll, so the rest of the current poll still arrives: with the partition one
+ * record short of the high watermark, a whole poll must fit under consumer.max-in-flight-per-partition.
+ * <p>
+ * The poll size is looked up where the Kafka binder takes it from, most specific first: the binding's
+ * configuration, the binder's consumer-properties and configuration, then spring.kafka.consumer.
+ */
+@Component
+public class PollSizeCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(PollSizeCheck.class);
+
+    static final String MAX_POLL_RECORDS = "max.poll.records";
+    static final int KAFKA_DEFAULT_MAX_POLL_RECORDS = 500;
+
+    public PollSizeCheck(ConsumerProperties consumerProperties, Environment environment) {
+        int budget = consumerProperties.getMaxInFlightPerPartition()
+                - consumerProperties.getBackpressure().getHighWatermark() + 1;
+        if (consumerProperties.getMode() != ConsumerProperties.ProcessingMode.SYNC) {
+            check("messageConsumer-in-0", budget, environment);
+        }
+        if (consumerProperties.getRetryTopics().isEnabled()) {
+            check("retryMessageConsumer-in-0", budget, environment);
+        }
+    }
+
+    private static void check(String binding, int budget, Environment environment) {
+        int maxPollRecords = maxPollRecords(binding, environment);
+        Assert.isTrue(maxPollRecords <= budget, () -> MAX_POLL_RECORDS + " of binding " + binding + " is "
+                + maxPollRecords + ", but one poll must not exceed consumer.max-in-flight-per-partition minus "
+                + "consumer.backpressure.high-watermark plus one (" + budget + "), or the listener thread blocks "
+                + "before the partition pause takes effect");
+        log.debug("Binding {} polls at most {} records, within the {} a partition can take", binding, maxPollRecords, budget);
+    }
+
+    static int maxPollRecords(String binding, Environment environment) {
+        return Stream.of("spring.cloud.stream.kafka.bindings." + binding + ".consumer.configuration." + MAX_POLL_RECORDS,
+                         "spring.cloud.stream.kafka.binder.consumer-properties." + MAX_POLL_RECORDS,
+                         "spring.cloud.stream.kafka.binder.configuration." + MAX_POLL_RECORDS,
+                         "spring.kafka.consumer.max-poll-records",
+                         "spring.kafka.consumer.properties." + MAX_POLL_RECORDS)
+                .map(environment::getProperty)
+                .filter(Objects::nonNull)
+                .map(value -> Integer.parseInt(value.trim()))
+                .findFirst()
+                .orElse(KAFKA_DEFAULT_MAX_POLL_RECORDS);
+    }
+}
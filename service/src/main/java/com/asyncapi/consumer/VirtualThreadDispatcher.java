@@ -0,0 +1,132 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Hands every record to its own virtual thread, where it is parsed and sent with plain blocking calls,
+ * retrying in place like a KEY_ORDERED lane. The listener thread only tracks the offset and starts the
+ * thread, waiting once consumer.virtual-threads.max-concurrency records are being handled. Offsets are
+ * committed through the partition's {@link PartitionOffsetTracker}, exactly as in ASYNC mode.
+ * <p>
+ * Virtual threads exist from Java 21 on, while the service is built for Java 17, so the executor is looked
+ * up at runtime, when the bean is created in VIRTUAL mode; on an older JVM startup fails with a clear error.
+ * <p>
+ * An interrupted record, which only happens when the executor is shut down, is settled by the
+ * {@link InboundRecordHandler}: moved to the retry topics, or left uncommitted when they are disabled.
+ */
+@Component
+public class VirtualThreadDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDispatcher.class);
+
+    private final OffsetTracker offsetTracker;
+    private final ConsumerProperties consumerProperties;
+    private final ConsumerMetrics consumerMetrics;
+    private final InboundRecordHandler inboundRecordHandler;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    @Autowired
+    public VirtualThreadDispatcher(OffsetTracker offsetTracker, ConsumerProperties consumerProperties,
+                                   ConsumerMetrics consumerMetrics, InboundRecordHandler inboundRecordHandler) {
+        this(offsetTracker, consumerProperties, consumerMetrics, inboundRecordHandler,
+             VirtualThreadDispatcher::newVirtualThreadPerTaskExecutor);
+    }
+
+    VirtualThreadDispatcher(OffsetTracker offsetTracker, ConsumerProperties consumerProperties,
+                            ConsumerMetrics consumerMetrics, InboundRecordHandler inboundRecordHandler,
+                            Supplier<ExecutorService> executorFactory) {
+        Assert.isTrue(consumerProperties.getVirtualThreads().getMaxConcurrency() > 0,
+                "consumer.virtual-threads.max-concurrency must be positive");
+        this.offsetTracker = offsetTracker;
+        this.consumerProperties = consumerProperties;
+        this.consumerMetrics = consumerMetrics;
+        this.inboundRecordHandler = inboundRecordHandler;
+        this.permits = new Semaphore(consumerProperties.getVirtualThreads().getMaxConcurrency());
+        if (consumerProperties.getMode() == ConsumerProperties.ProcessingMode.VIRTUAL) {
+            this.executor = executorFactory.get();
+            log.info("🧵 Started virtual thread executor - up to {} records handled at once",
+                     consumerProperties.getVirtualThreads().getMaxConcurrency());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Called on the listener thread for every record; blocks only while max-concurrency records are being handled
+     */
+    public void dispatch(Message<byte[]> message) {
+        InboundRecord record = InboundRecord.from(message);
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+
+        PartitionOffsetTracker tracker = offsetTracker.forPartition(record.topicPartition());
+        Assert.state(executor != null, "VirtualThreadDispatcher is only used in consumer.mode VIRTUAL");
+        tracker.awaitCapacity(consumerProperties.getMaxInFlightPerPartition());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free virtual thread", e);
+        }
+        tracker.track(record.offset(), record.acknowledgment());
+        executor.execute(() -> {
+            try {
+                handle(message, record, recordMetrics, tracker);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Runs on the record's virtual thread, where blocking is cheap
+     */
+    private void handle(Message<byte[]> message, InboundRecord record, RecordMetrics recordMetrics,
+                        PartitionOffsetTracker tracker) {
+        long offset = record.offset();
+        MessagePayload messagePayload = inboundRecordHandler.parse(message, recordMetrics, tracker, offset);
+        if (messagePayload == null) {
+            return;
+        }
+        try {
+            inboundRecordHandler.deliverAndWait(message, messagePayload, recordMetrics, tracker, offset);
+        } catch (InterruptedException e) {
+            // The handler has already settled the record; the thread is ending anyway
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("consumer.mode VIRTUAL needs Java 21 or later, but this is Java "
+                    + Runtime.version().feature());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.asyncapi.consumer.lag;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Serves the latest lag sample at /actuator/consumerlag
+ */
+@Component
+@Endpoint(id = "consumerlag")
+public class ConsumerLagEndpoint {
+
+    private final ConsumerLagMonitor consumerLagMonitor;
+
+    public ConsumerLagEndpoint(ConsumerLagMonitor consumerLagMonitor) {
+        this.consumerLagMonitor = consumerLagMonitor;
+    }
+
+    @ReadOperation
+    public ConsumerLagReport consumerLag() {
+        return new ConsumerLagReport(consumerLagMonitor.getTotalLag(), consumerLagMonitor.getPartitionLags());
+    }
+
+    public record ConsumerLagReport(long totalLag, List<PartitionLag> partitions) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.asyncapi.consumer.lag;
+
+import com.asyncapi.consumer.ConsumerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the lag of every partition assigned to this instance from inside the service: at each interval
+ * the group's committed offsets and the partitions' end offsets are read with an admin client, and their
+ * difference is the number of records still to be consumed. Successive samples give the consume and
+ * produce rates, and from those an estimate of how long the group needs to catch up.
+ * <p>
+ * Metrics, tagged with group, topic and partition: consumer.lag (records), consumer.lag.consume.rate and
+ * consumer.lag.produce.rate (records per second) and consumer.lag.catch.up.time (seconds, NaN while the lag
+ * is not shrinking). The same figures are served by the consumerlag actuator endpoint.
+ */
+@Component
+public class ConsumerLagMonitor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+
+    private static final List<String> GAUGES = List.of("consumer.lag", "consumer.lag.consume.rate",
+                                                       "consumer.lag.produce.rate", "consumer.lag.catch.up.time");
+
+    private final ConsumerProperties.LagMonitor settings;
+    private final KafkaProperties kafkaProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<TopicPartition>> assignments = new ConcurrentHashMap<>();
+    private final Map<GroupPartition, PartitionLagStats> partitions = new ConcurrentHashMap<>();
+    private final Disposable sampleTask;
+    private Admin admin;
+
+    public ConsumerLagMonitor(ConsumerProperties consumerProperties, KafkaProperties kafkaProperties,
+                              MeterRegistry meterRegistry) {
+        this.settings = consumerProperties.getLagMonitor();
+        this.kafkaProperties = kafkaProperties;
+        this.meterRegistry = meterRegistry;
+        Assert.isTrue(settings.getSmoothing() > 0 && settings.getSmoothing() <= 1,
+                "consumer.lag-monitor.smoothing must be greater than 0 and at most 1");
+        if (settings.isEnabled()) {
+            Assert.isTrue(settings.getInterval().toMillis() > 0, "consumer.lag-monitor.interval must be positive");
+            long interval = settings.getInterval().toMillis();
+            sampleTask = Schedulers.boundedElastic().schedulePeriodically(this::sampleQuietly, interval, interval,
+                                                                          TimeUnit.MILLISECONDS);
+            log.info("⚙️ Consumer lag monitor enabled - Interval: {}", settings.getInterval());
+        } else {
+            sampleTask = null;
+        }
+    }
+
+    /**
+     * Starts watching partitions the group's consumer in this instance was given
+     */
+    public void assigned(String group, Collection<TopicPartition> topicPartitions) {
+        if (group != null) {
+            assignments.computeIfAbsent(group, key -> ConcurrentHashMap.newKeySet()).addAll(topicPartitions);
+        }
+    }
+
+    /**
+     * Stops watching partitions taken away from this instance, and drops their meters
+     */
+    public void revoked(String group, Collection<TopicPartition> topicPartitions) {
+        if (group == null) {
+            return;
+        }
+        Set<TopicPartition> assigned = assignments.get(group);
+        if (assigned != null) {
+            assigned.removeAll(topicPartitions);
+        }
+        for (TopicPartition topicPartition : topicPartitions) {
+            GroupPartition key = new GroupPartition(group, topicPartition);
+            if (partitions.remove(key) != null) {
+                for (String name : GAUGES) {
+                    meterRegistry.find(name).tags(key.tags()).meters().forEach(meterRegistry::remove);
+                }
+            }
+        }
+    }
+
+    /**
+     * Latest lag of every watched partition, ordered by group, topic and partition
+     */
+    public List<PartitionLag> getPartitionLags() {
+        return partitions.values().stream()
+                .map(PartitionLagStats::snapshot)
+                .sorted(Comparator.comparing(PartitionLag::group).thenComparing(PartitionLag::topic)
+                        .thenComparingInt(PartitionLag::partition))
+                .toList();
+    }
+
+    public long getTotalLag() {
+        return partitions.values().stream().mapToLong(PartitionLagStats::lag).sum();
+    }
+
+    /**
+     * Reads the committed and end offsets of every watched partition and updates its lag and rates
+     */
+    public void sample() throws ExecutionException, InterruptedException, TimeoutException {
+        long timeout = settings.getInterval().toMillis();
+        for (Map.Entry<String, Set<TopicPartition>> assignment : assignments.entrySet()) {
+            String group = assignment.getKey();
+            List<TopicPartition> topicPartitions = List.copyOf(assignment.getValue());
+            if (topicPartitions.isEmpty()) {
+                continue;
+            }
+            Admin client = admin();
+            Map<TopicPartition, OffsetAndMetadata> committed = client
+                    .listConsumerGroupOffsets(Map.of(group, new ListConsumerGroupOffsetsSpec().topicPartitions(topicPartitions)))
+                    .partitionsToOffsetAndMetadata(group)
+                    .get(timeout, TimeUnit.MILLISECONDS);
+            Map<TopicPartition, Long> endOffsets = offsets(client, topicPartitions, OffsetSpec.latest(), timeout);
+            List<TopicPartition> uncommitted = topicPartitions.stream()
+                    .filter(topicPartition -> committed.get(topicPartition) == null)
+                    .toList();
+            Map<TopicPartition, Long> startOffsets = uncommitted.isEmpty()
+                    ? Map.of() : offsets(client, uncommitted, OffsetSpec.earliest(), timeout);
+
+            long now = System.currentTimeMillis();
+            long total = 0;
+            for (TopicPartition topicPartition : topicPartitions) {
+                Long endOffset = endOffsets.get(topicPartition);
+                if (endOffset == null || !assignment.getValue().contains(topicPartition)) {
+                    continue;
+                }
+                OffsetAndMetadata offset = committed.get(topicPartition);
+                long committedOffset = offset != null ? offset.offset() : startOffsets.getOrDefault(topicPartition, 0L);
+                PartitionLagStats stats = partitions.computeIfAbsent(new GroupPartition(group, topicPartition), this::register);
+                stats.sample(now, committedOffset, endOffset);
+                total += stats.lag();
+            }
+            log.debug("📊 Consumer lag - Group: {}, Partitions: {}, Total lag: {}", group, topicPartitions.size(), total);
+        }
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("⚠️ Could not sample consumer lag", e);
+        }
+    }
+
+    private static Map<TopicPartition, Long> offsets(Admin client, List<TopicPartition> topicPartitions, OffsetSpec spec,
+                                                     long timeout)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetSpec> request = topicPartitions.stream()
+                .collect(Collectors.toMap(Function.identity(), topicPartition -> spec));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> result = client.listOffsets(request)
+                .all()
+                .get(timeout, TimeUnit.MILLISECONDS);
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        result.forEach((topicPartition, info) -> offsets.put(topicPartition, info.offset()));
+        return offsets;
+    }
+
+    private PartitionLagStats register(GroupPartition key) {
+        PartitionLagStats stats = new PartitionLagStats(key.group(), key.topicPartition(), settings.getSmoothing());
+        gauge("consumer.lag", "Records produced to the partition and not yet committed by the group", "records",
+              key, stats, PartitionLagStats::lag);
+        gauge("consumer.lag.consume.rate", "Records committed by the group per second, smoothed", "records",
+              key, stats, PartitionLagStats::consumeRate);
+        gauge("consumer.lag.produce.rate", "Records produced to the partition per second, smoothed", "records",
+              key, stats, PartitionLagStats::produceRate);
+        gauge("consumer.lag.catch.up.time", "Estimated time until the lag reaches zero, NaN while it is not shrinking",
+              "seconds", key, stats, PartitionLagStats::secondsToCatchUp);
+        return stats;
+    }
+
+    private void gauge(String name, String description, String baseUnit, GroupPartition key, PartitionLagStats stats,
+                       ToDoubleFunction<PartitionLagStats> value) {
+        Gauge.builder(name, stats, value)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tags(key.tags())
+                .register(meterRegistry);
+    }
+
+    private synchronized Admin admin() {
+        if (admin == null) {
+            Map<String, Object> config = new HashMap<>(kafkaProperties.buildAdminProperties(null));
+            if (!settings.getBootstrapServers().isEmpty()) {
+                config.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, settings.getBootstrapServers());
+            }
+            config.put(CommonClientConfigs.CLIENT_ID_CONFIG, "consumer-lag-monitor");
+            admin = Admin.create(config);
+        }
+        return admin;
+    }
+
+    @Override
+    public void destroy() {
+        if (sampleTask != null) {
+            sampleTask.dispose();
+        }
+        synchronized (this) {
+            if (admin != null) {
+                admin.close(Duration.ofSeconds(5));
+            }
+        }
+    }
+
+    private record GroupPartition(String group, TopicPartition topicPartition) {
+
+        Tags tags() {
+            return Tags.of("group", group, "topic", topicPartition.topic(),
+                           "partition", Integer.toString(topicPartition.partition()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.asyncapi.consumer.lag;
+
+/**
+ * Lag of one partition for one consumer group as of the latest sample
+ *
+ * @param committedOffset     Offset the group has committed, or the log start offset if it has committed none
+ * @param endOffset           Offset the next produced record will get
+ * @param consumeRate         Smoothed records committed per second, NaN until two samples were taken
+ * @param produceRate         Smoothed records produced per second, NaN until two samples were taken
+ * @param secondsToCatchUp    Estimated seconds until the lag reaches zero at the current rates, or null when
+ *                            the group is not catching up
+ */
+public record PartitionLag(String group, String topic, int partition, long committedOffset, long endOffset,
+                           long lag, double consumeRate, double produceRate, Double secondsToCatchUp) {
+}
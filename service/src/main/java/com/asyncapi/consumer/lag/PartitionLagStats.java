@@ -0,0 +1,71 @@
+package com.asyncapi.consumer.lag;
+
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Offsets of one partition from consecutive samples, and the consume and produce rates derived from them.
+ * Rates are smoothed exponentially, so one slow or bursty interval does not swing the estimate.
+ */
+class PartitionLagStats {
+
+    private final String group;
+    private final TopicPartition topicPartition;
+    private final double smoothing;
+    private long sampledAtMillis = -1;
+    private long committedOffset;
+    private long endOffset;
+    private double consumeRate = Double.NaN;
+    private double produceRate = Double.NaN;
+
+    PartitionLagStats(String group, TopicPartition topicPartition, double smoothing) {
+        this.group = group;
+        this.topicPartition = topicPartition;
+        this.smoothing = smoothing;
+    }
+
+    synchronized void sample(long nowMillis, long committedOffset, long endOffset) {
+        if (sampledAtMillis >= 0 && nowMillis > sampledAtMillis) {
+            double seconds = (nowMillis - sampledAtMillis) / 1000.0;
+            // Offsets move backwards only if the group's offsets were reset; that interval says nothing about the rate
+            consumeRate = smooth(consumeRate, Math.max(0, committedOffset - this.committedOffset) / seconds);
+            produceRate = smooth(produceRate, Math.max(0, endOffset - this.endOffset) / seconds);
+        }
+        this.sampledAtMillis = nowMillis;
+        this.committedOffset = committedOffset;
+        this.endOffset = endOffset;
+    }
+
+    private double smooth(double previous, double current) {
+        return Double.isNaN(previous) ? current : previous + smoothing * (current - previous);
+    }
+
+    synchronized long lag() {
+        return Math.max(0, endOffset - committedOffset);
+    }
+
+    synchronized double consumeRate() {
+        return consumeRate;
+    }
+
+    synchronized double produceRate() {
+        return produceRate;
+    }
+
+    /**
+     * Lag divided by the rate at which it shrinks; NaN when it is not shrinking
+     */
+    synchronized double secondsToCatchUp() {
+        long lag = lag();
+        if (lag == 0) {
+            return 0;
+        }
+        double netRate = consumeRate - produceRate;
+        return netRate > 0 ? lag / netRate : Double.NaN;
+    }
+
+    synchronized PartitionLag snapshot() {
+        double secondsToCatchUp = secondsToCatchUp();
+        return new PartitionLag(group, topicPartition.topic(), topicPartition.partition(), committedOffset, endOffset,
+                                lag(), consumeRate, produceRate, Double.isNaN(secondsToCatchUp) ? null : secondsToCatchUp);
+    }
+}
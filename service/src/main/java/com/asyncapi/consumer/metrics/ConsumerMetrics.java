@@ -0,0 +1,130 @@
+package com.asyncapi.consumer.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Meters for each stage a record goes through between the poll and its commit, all tagged with the
+ * record's topic and partition:
+ * <ul>
+ *   <li>consumer.record.poll.to.handle - from the poll returning to a handler picking the record up</li>
+ *   <li>consumer.record.parse - turning the record value into a payload, tagged with the outcome</li>
+ *   <li>consumer.record.end.to.end - from the record timestamp to the record being done and committable,
+ *       tagged with the result</li>
+ *   <li>consumer.records - records done, tagged with the result: success, failure (delivery failed or the
+ *       record was moved to a retry or dead-letter topic), skipped (already delivered, or unparseable and
+ *       dropped) or spilled (written to the spill journal, to be delivered later)</li>
+ * </ul>
+ * The external API call itself is timed by the WebClient as http.client.requests, tagged with the status.
+ * Once the first record arrives, application.first.message.time holds the time from the JVM starting to that
+ * record reaching a handler, next to Spring Boot's application.started.time and application.ready.time.
+ */
+@Component
+public class ConsumerMetrics {
+
+    public enum Result {
+        SUCCESS, FAILURE, SKIPPED, SPILLED
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumerMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TopicPartition, PartitionMeters> partitions = new ConcurrentHashMap<>();
+    private final AtomicBoolean firstRecordReceived = new AtomicBoolean();
+
+    public ConsumerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts measuring a record handed to the consumer, recording how long it waited since the poll
+     */
+    public RecordMetrics received(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        return received(headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class),
+                        headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class),
+                        headers.get(KafkaHeaders.RECEIVED_TIMESTAMP, Long.class),
+                        headers.get(PollTimestampInterceptor.POLLED_AT_HEADER));
+    }
+
+    /**
+     * @param polledAt Value of the {@link PollTimestampInterceptor#POLLED_AT_HEADER} header, if present
+     */
+    public RecordMetrics received(String topic, Integer partition, Long recordTimestamp, Object polledAt) {
+        if (!firstRecordReceived.get() && firstRecordReceived.compareAndSet(false, true)) {
+            firstRecord();
+        }
+        TopicPartition topicPartition = new TopicPartition(topic != null ? topic : "unknown", partition != null ? partition : -1);
+        PartitionMeters meters = partitions.computeIfAbsent(topicPartition, this::register);
+        if (polledAt instanceof byte[] bytes && bytes.length == Long.BYTES) {
+            meters.pollToHandle.record(Math.max(0, System.nanoTime() - ByteBuffer.wrap(bytes).getLong()),
+                                       TimeUnit.NANOSECONDS);
+        }
+        return new RecordMetrics(meters, recordTimestamp);
+    }
+
+    private void firstRecord() {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        TimeGauge.builder("application.first.message.time", () -> uptimeMillis, TimeUnit.MILLISECONDS)
+                .description("Time from the JVM starting to the first record reaching a handler")
+                .register(meterRegistry);
+        log.info("🚀 First record received {} ms after JVM start", uptimeMillis);
+    }
+
+    private PartitionMeters register(TopicPartition topicPartition) {
+        Tags tags = Tags.of("topic", topicPartition.topic(), "partition", Integer.toString(topicPartition.partition()));
+        Timer pollToHandle = Timer.builder("consumer.record.poll.to.handle")
+                .description("Time from the poll returning a record to a handler picking it up")
+                .tags(tags)
+                .register(meterRegistry);
+        Timer parsed = parseTimer(tags, "success");
+        Timer unparseable = parseTimer(tags, "failure");
+        Map<Result, Counter> records = new EnumMap<>(Result.class);
+        Map<Result, Timer> endToEnd = new EnumMap<>(Result.class);
+        for (Result result : Result.values()) {
+            String name = result.name().toLowerCase(Locale.ROOT);
+            records.put(result, Counter.builder("consumer.records")
+                    .description("Records done, by result")
+                    .tags(tags)
+                    .tag("result", name)
+                    .register(meterRegistry));
+            endToEnd.put(result, Timer.builder("consumer.record.end.to.end")
+                    .description("Time from the record timestamp to the record being done and committable")
+                    .tags(tags)
+                    .tag("result", name)
+                    .register(meterRegistry));
+        }
+        return new PartitionMeters(pollToHandle, parsed, unparseable, records, endToEnd);
+    }
+
+    private Timer parseTimer(Tags tags, String outcome) {
+        return Timer.builder("consumer.record.parse")
+                .description("Time spent turning a record value into a payload")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record PartitionMeters(Timer pollToHandle, Timer parsed, Timer unparseable,
+                           Map<Result, Counter> records, Map<Result, Timer> endToEnd) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.asyncapi.consumer.metrics;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.cloud.stream.binder.kafka.support.ConsumerConfigCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds the {@link PollTimestampInterceptor} to every consumer the binder creates, after any
+ * interceptors that were already configured
+ */
+@Component
+public class PollTimestampConfigCustomizer implements ConsumerConfigCustomizer {
+
+    @Override
+    public void configure(Map<String, Object> consumerProperties, String bindingName, String destination) {
+        Object configured = consumerProperties.get(ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG);
+        List<Object> interceptors = new ArrayList<>();
+        if (configured instanceof Collection<?> classes) {
+            interceptors.addAll(classes);
+        } else if (configured instanceof String classes) {
+            Arrays.stream(classes.split(",")).map(String::trim).filter(name -> !name.isEmpty()).forEach(interceptors::add);
+        } else if (configured != null) {
+            interceptors.add(configured);
+        }
+        if (!interceptors.contains(PollTimestampInterceptor.class)
+                && !interceptors.contains(PollTimestampInterceptor.class.getName())) {
+            interceptors.add(PollTimestampInterceptor.class);
+            consumerProperties.put(ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, interceptors);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.asyncapi.consumer.metrics;
+
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Stamps every record returned by a poll with the {@link System#nanoTime()} at which the poll returned,
+ * so that {@link ConsumerMetrics} can measure how long the record waited before a handler picked it up.
+ * Kafka creates the interceptor itself; {@link PollTimestampConfigCustomizer} registers it with the binder.
+ */
+public class PollTimestampInterceptor implements ConsumerInterceptor<Object, Object> {
+
+    /**
+     * Header carrying the poll time as an 8-byte big-endian long. It is only meaningful inside this JVM.
+     */
+    public static final String POLLED_AT_HEADER = "asyncapi_polledAtNanos";
+
+    @Override
+    public ConsumerRecords<Object, Object> onConsume(ConsumerRecords<Object, Object> records) {
+        byte[] polledAt = ByteBuffer.allocate(Long.BYTES).putLong(System.nanoTime()).array();
+        for (ConsumerRecord<Object, Object> record : records) {
+            Headers headers = record.headers();
+            headers.remove(POLLED_AT_HEADER);
+            headers.add(POLLED_AT_HEADER, polledAt);
+        }
+        return records;
+    }
+
+    @Override
+    public void onCommit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
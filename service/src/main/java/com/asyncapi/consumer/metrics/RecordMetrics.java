@@ -0,0 +1,48 @@
+package com.asyncapi.consumer.metrics;
+
+import com.asyncapi.service.ExternalApiService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurements for one record, created by {@link ConsumerMetrics#received} and carried along with the
+ * record until it is done
+ */
+public class RecordMetrics {
+
+    private final ConsumerMetrics.PartitionMeters meters;
+    private final Long recordTimestamp;
+
+    RecordMetrics(ConsumerMetrics.PartitionMeters meters, Long recordTimestamp) {
+        this.meters = meters;
+        this.recordTimestamp = recordTimestamp;
+    }
+
+    public void parsed(long startNanos, boolean success) {
+        (success ? meters.parsed() : meters.unparseable()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a successful delivery, a skipped one when the message had already been delivered, or a
+     * spilled one when it was written to the spill journal instead
+     *
+     * @param response The response returned by {@link ExternalApiService#deliverMessage}
+     */
+    public void delivered(String response) {
+        if (ExternalApiService.DUPLICATE_RESPONSE.equals(response)) {
+            completed(ConsumerMetrics.Result.SKIPPED);
+        } else if (ExternalApiService.SPILLED_RESPONSE.equals(response)) {
+            completed(ConsumerMetrics.Result.SPILLED);
+        } else {
+            completed(ConsumerMetrics.Result.SUCCESS);
+        }
+    }
+
+    public void completed(ConsumerMetrics.Result result) {
+        meters.records().get(result).increment();
+        if (recordTimestamp != null && recordTimestamp > 0) {
+            meters.endToEnd().get(result).record(Math.max(0, System.currentTimeMillis() - recordTimestamp),
+                                                 TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.asyncapi.consumer.offset;
+
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Notified when a partition's backlog of uncommitted records crosses its watermarks. Called while the
+ * partition's tracker is locked, so implementations must only record the request and return.
+ */
+public interface BacklogListener {
+
+    BacklogListener NONE = new BacklogListener() {
+        @Override
+        public void backlogHigh(TopicPartition topicPartition) {
+        }
+
+        @Override
+        public void backlogLow(TopicPartition topicPartition) {
+        }
+    };
+
+    void backlogHigh(TopicPartition topicPartition);
+
+    void backlogLow(TopicPartition topicPartition);
+}
@@ -0,0 +1,81 @@
+package com.asyncapi.consumer.offset;
+
+import com.asyncapi.consumer.ConsumerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link PartitionOffsetTracker} per assigned partition, and publishes the number of records each
+ * one has in flight as the consumer.records.in.flight gauge, tagged with topic and partition
+ */
+@Component
+public class OffsetTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(OffsetTracker.class);
+
+    private static final String IN_FLIGHT_GAUGE = "consumer.records.in.flight";
+
+    private final Map<TopicPartition, PartitionOffsetTracker> partitions = new ConcurrentHashMap<>();
+    private final ConsumerProperties.Backpressure backpressure;
+    private final BacklogListener backlogListener;
+    private final MeterRegistry meterRegistry;
+
+    public OffsetTracker(ConsumerProperties consumerProperties, BacklogListener backlogListener,
+                         MeterRegistry meterRegistry) {
+        this.backpressure = consumerProperties.getBackpressure();
+        this.backlogListener = backlogListener;
+        this.meterRegistry = meterRegistry;
+        Assert.isTrue(backpressure.getLowWatermark() >= 0
+                      && backpressure.getLowWatermark() < backpressure.getHighWatermark(),
+                "consumer.backpressure.low-watermark must be between 0 and the high-watermark");
+        Assert.isTrue(backpressure.getHighWatermark() <= consumerProperties.getMaxInFlightPerPartition(),
+                "consumer.backpressure.high-watermark must not exceed consumer.max-in-flight-per-partition");
+    }
+
+    public PartitionOffsetTracker forPartition(TopicPartition topicPartition) {
+        return partitions.computeIfAbsent(topicPartition, partition -> {
+            PartitionOffsetTracker tracker = new PartitionOffsetTracker(partition,
+                    backpressure.getHighWatermark(), backpressure.getLowWatermark(), backlogListener);
+            Gauge.builder(IN_FLIGHT_GAUGE, tracker, PartitionOffsetTracker::inFlight)
+                    .description("Records consumed from the partition and not yet committed")
+                    .tags(tags(partition))
+                    .register(meterRegistry);
+            return tracker;
+        });
+    }
+
+    /**
+     * Forgets the given partitions after a rebalance took them away from this consumer
+     */
+    public void revoke(Collection<TopicPartition> topicPartitions) {
+        for (TopicPartition topicPartition : topicPartitions) {
+            PartitionOffsetTracker tracker = partitions.remove(topicPartition);
+            if (tracker != null) {
+                // A gauge for the same partition must not keep reading the revoked tracker after a reassignment
+                Gauge gauge = meterRegistry.find(IN_FLIGHT_GAUGE).tags(tags(topicPartition)).gauge();
+                if (gauge != null) {
+                    meterRegistry.remove(gauge);
+                }
+                int abandoned = tracker.revoke();
+                if (abandoned > 0) {
+                    log.warn("⚠️ Partition {} revoked with {} records in flight - they will be redelivered",
+                             topicPartition, abandoned);
+                }
+            }
+        }
+    }
+
+    private static Tags tags(TopicPartition topicPartition) {
+        return Tags.of("topic", topicPartition.topic(), "partition", Integer.toString(topicPartition.partition()));
+    }
+}
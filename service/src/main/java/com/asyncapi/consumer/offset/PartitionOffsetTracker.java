@@ -0,0 +1,149 @@
+package com.asyncapi.consumer.offset;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tracks the records of one partition that are in flight and acknowledges them in offset order.
+ * Records may complete in any order, but an offset is only acknowledged once every record
+ * received before it has completed too, so the committed position never skips unfinished work.
+ * Ordering follows the offsets that were tracked, so gaps left by compaction or transaction
+ * markers do not hold the commit back.
+ * <p>
+ * When the number of uncommitted records reaches the high watermark the {@link BacklogListener} is
+ * asked to pause the partition, and once it falls back to the low watermark to resume it.
+ */
+public class PartitionOffsetTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionOffsetTracker.class);
+
+    private final TopicPartition topicPartition;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final BacklogListener backlogListener;
+    private final NavigableMap<Long, PendingRecord> pending = new TreeMap<>();
+    private long lastAcknowledgedOffset = -1;
+    private boolean revoked;
+    private boolean backlogHigh;
+
+    public PartitionOffsetTracker(TopicPartition topicPartition) {
+        this(topicPartition, Integer.MAX_VALUE, 0, BacklogListener.NONE);
+    }
+
+    public PartitionOffsetTracker(TopicPartition topicPartition, int highWatermark, int lowWatermark,
+                                  BacklogListener backlogListener) {
+        this.topicPartition = topicPartition;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.backlogListener = backlogListener;
+    }
+
+    /**
+     * Registers a record as in flight. Must be called in offset order, as the listener thread does.
+     */
+    public synchronized void track(long offset, Acknowledgment acknowledgment) {
+        if (revoked) {
+            return;
+        }
+        pending.put(offset, new PendingRecord(acknowledgment));
+        if (!backlogHigh && pending.size() >= highWatermark) {
+            backlogHigh = true;
+            backlogListener.backlogHigh(topicPartition);
+        }
+    }
+
+    /**
+     * Marks a record as done and acknowledges the highest contiguous completed offset, if it moved.
+     */
+    public synchronized void complete(long offset) {
+        if (revoked) {
+            return;
+        }
+        PendingRecord record = pending.get(offset);
+        if (record == null) {
+            return;
+        }
+        record.completed = true;
+
+        Acknowledgment highestContiguous = null;
+        while (!pending.isEmpty() && pending.firstEntry().getValue().completed) {
+            Map.Entry<Long, PendingRecord> first = pending.pollFirstEntry();
+            highestContiguous = first.getValue().acknowledgment;
+            lastAcknowledgedOffset = first.getKey();
+        }
+        if (highestContiguous != null) {
+            highestContiguous.acknowledge();
+            log.debug("💾 Offset acknowledged - Partition: {}, Offset: {}, Still in flight: {}",
+                      topicPartition, lastAcknowledgedOffset, pending.size());
+        }
+        if (backlogHigh && pending.size() <= lowWatermark) {
+            backlogHigh = false;
+            backlogListener.backlogLow(topicPartition);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Blocks the caller until fewer than {@code limit} records are in flight or the partition is revoked
+     */
+    public synchronized void awaitCapacity(int limit) {
+        while (!revoked && pending.size() >= limit) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops all in-flight state. Completions arriving afterwards are ignored, so the records
+     * are redelivered to whichever consumer owns the partition next. A partition paused for its
+     * backlog is released, so it is not still paused if it is assigned to this consumer again.
+     *
+     * @return number of records that were still in flight
+     */
+    public synchronized int revoke() {
+        revoked = true;
+        int abandoned = pending.size();
+        pending.clear();
+        if (backlogHigh) {
+            backlogHigh = false;
+            backlogListener.backlogLow(topicPartition);
+        }
+        notifyAll();
+        return abandoned;
+    }
+
+    public synchronized boolean isRevoked() {
+        return revoked;
+    }
+
+    public synchronized int inFlight() {
+        return pending.size();
+    }
+
+    public synchronized long getLastAcknowledgedOffset() {
+        return lastAcknowledgedOffset;
+    }
+
+    public TopicPartition getTopicPartition() {
+        return topicPartition;
+    }
+
+    private static final class PendingRecord {
+        private final Acknowledgment acknowledgment;
+        private boolean completed;
+
+        private PendingRecord(Acknowledgment acknowledgment) {
+            this.acknowledgment = acknowledgment;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.asyncapi.consumer.retry;
+
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.consumer.metrics.PollTimestampInterceptor;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.model.PayloadFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Moves a failed record out of its partition: to the next retry topic, or to the dead-letter topic once
+ * the retry topics are used up or when the record cannot be parsed at all. Each published record carries
+ * the failure (exception class, message and stack trace), the attempt count, the time it becomes due and
+ * the topic, partition and offset it was originally consumed from, under the same header names that
+ * Spring Kafka's own retry topics and dead-letter publishing use. The record's own headers are carried
+ * over, so routing rules that match on them still apply to its retries.
+ * <p>
+ * Publishing is synchronous, so the caller may commit the original record as soon as this returns.
+ */
+@Component
+public class FailedRecordPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(FailedRecordPublisher.class);
+
+    private final StreamBridge streamBridge;
+    private final ConsumerProperties.RetryTopics settings;
+    private final Duration redeliveryBackoff;
+
+    public FailedRecordPublisher(StreamBridge streamBridge, ConsumerProperties consumerProperties) {
+        this.streamBridge = streamBridge;
+        this.settings = consumerProperties.getRetryTopics();
+        this.redeliveryBackoff = consumerProperties.getRedeliveryBackoff();
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Publishes the record to the retry topic for its next attempt, or to the dead-letter topic if none is left
+     */
+    public void retryLater(Message<byte[]> message, Throwable error) {
+        int attempts = attempts(message.getHeaders());
+        List<Duration> delays = settings.getDelays();
+        if (attempts > delays.size()) {
+            deadLetter(message, error);
+            return;
+        }
+        Duration delay = delays.get(attempts - 1);
+        String destination = retryTopic(originalTopic(message.getHeaders()), delay);
+        publish(destination, message, error, attempts + 1, System.currentTimeMillis() + delay.toMillis());
+        log.warn("🔁 Message moved to retry topic - Destination: {}, Attempt: {}, Due in: {}",
+                 destination, attempts + 1, delay);
+    }
+
+    /**
+     * Publishes the record to the dead-letter topic, where it stays until someone looks at it
+     */
+    public void deadLetter(Message<byte[]> message, Throwable error) {
+        String destination = originalTopic(message.getHeaders()) + settings.getDeadLetterSuffix();
+        publish(destination, message, error, attempts(message.getHeaders()), System.currentTimeMillis());
+        log.error("☠️ Message moved to dead-letter topic - Destination: {}, Original: {}-{}@{}",
+                  destination, originalTopic(message.getHeaders()), originalPartition(message.getHeaders()),
+                  originalOffset(message.getHeaders()));
+    }
+
+    /**
+     * For records tracked by a {@link PartitionOffsetTracker}: publishes off the calling thread, which may
+     * be an event loop, and completes the record once published. A failed publish is repeated until it
+     * succeeds or the partition is revoked.
+     */
+    public void publishAndComplete(Message<byte[]> message, Throwable error, boolean deadLetter,
+                                   PartitionOffsetTracker tracker, long offset) {
+        Mono.fromRunnable(() -> {
+                    if (deadLetter) {
+                        deadLetter(message, error);
+                    } else {
+                        retryLater(message, error);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, redeliveryBackoff)
+                        .filter(publishError -> !tracker.isRevoked()))
+                .subscribe(done -> { },
+                        publishError -> log.warn("⚠️ Abandoned failed message after partition revocation - Offset: {}",
+                                                 offset, publishError),
+                        () -> tracker.complete(offset));
+    }
+
+    /**
+     * Epoch millis at which a record read from a retry topic may be attempted again
+     */
+    public long dueAt(Message<?> message) {
+        byte[] dueAt = message.getHeaders().get(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP, byte[].class);
+        return dueAt == null ? 0 : new BigInteger(dueAt).longValue();
+    }
+
+    /**
+     * Whether the destination is one of the configured retry topics, of whichever main topic
+     */
+    public boolean isRetryTopic(String destination) {
+        return settings.getDelays().stream().anyMatch(delay -> destination.endsWith(retrySuffix(delay)));
+    }
+
+    static String retryTopic(String topic, Duration delay) {
+        return topic + retrySuffix(delay);
+    }
+
+    private static String retrySuffix(Duration delay) {
+        long millis = delay.toMillis();
+        String suffix;
+        if (millis % 3_600_000 == 0) {
+            suffix = millis / 3_600_000 + "h";
+        } else if (millis % 60_000 == 0) {
+            suffix = millis / 60_000 + "m";
+        } else if (millis % 1_000 == 0) {
+            suffix = millis / 1_000 + "s";
+        } else {
+            suffix = millis + "ms";
+        }
+        return "-retry-" + suffix;
+    }
+
+    private void publish(String destination, Message<byte[]> message, Throwable error, int attempts, long dueAt) {
+        MessageHeaders headers = message.getHeaders();
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(error);
+        Object key = headers.get(KafkaHeaders.RECEIVED_KEY);
+
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(message.getPayload());
+        headers.forEach((name, value) -> {
+            if (value instanceof byte[] && !name.startsWith(KafkaHeaders.PREFIX)
+                    && !name.equals(PollTimestampInterceptor.POLLED_AT_HEADER)) {
+                builder.setHeader(name, value);
+            }
+        });
+        Message<byte[]> failed = builder
+                .setHeader(MessageHeaders.CONTENT_TYPE, PayloadFormat.of(headers).getMimeType().toString())
+                .setHeader(KafkaHeaders.KEY, key instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : key)
+                .setHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC, originalTopic(headers).getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(originalPartition(headers)).array())
+                .setHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(originalOffset(headers)).array())
+                .setHeader(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, stackTrace(error).getBytes(StandardCharsets.UTF_8))
+                .setHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, ByteBuffer.allocate(Integer.BYTES).putInt(attempts).array())
+                .setHeader(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP, BigInteger.valueOf(dueAt).toByteArray())
+                .build();
+
+        if (!streamBridge.send(destination, failed)) {
+            throw new IllegalStateException("Failed to publish record to " + destination);
+        }
+    }
+
+    /**
+     * Attempt that just failed, starting at 1 for a record consumed from the main topic
+     */
+    private static int attempts(MessageHeaders headers) {
+        byte[] attempts = headers.get(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, byte[].class);
+        return attempts == null ? 1 : ByteBuffer.wrap(attempts).getInt();
+    }
+
+    private static String originalTopic(MessageHeaders headers) {
+        byte[] original = headers.get(KafkaHeaders.DLT_ORIGINAL_TOPIC, byte[].class);
+        return original != null ? new String(original, StandardCharsets.UTF_8) : headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+    }
+
+    private static int originalPartition(MessageHeaders headers) {
+        byte[] original = headers.get(KafkaHeaders.DLT_ORIGINAL_PARTITION, byte[].class);
+        return original != null ? ByteBuffer.wrap(original).getInt() : headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+    }
+
+    private static long originalOffset(MessageHeaders headers) {
+        byte[] original = headers.get(KafkaHeaders.DLT_ORIGINAL_OFFSET, byte[].class);
+        return original != null ? ByteBuffer.wrap(original).getLong() : headers.get(KafkaHeaders.OFFSET, Long.class);
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter writer = new StringWriter();
+        error.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.asyncapi.consumer.retry;
+
+import com.asyncapi.consumer.ConsumerPauseController;
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.consumer.InboundRecordHandler;
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.model.MessagePayload;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes the retry topics. A record is sent to the external API again once the time stamped on it by the
+ * {@link FailedRecordPublisher} has come; if it fails once more it moves on to the next retry topic or the
+ * dead-letter topic. Offsets are committed in order through the partition's {@link PartitionOffsetTracker}.
+ * <p>
+ * Records are not held in memory until they are due. Each retry topic has a single delay, so records arrive
+ * in due order: when the first record of a partition is not due yet, the consumer is sought back to it and the
+ * partition is paused until then, and the records after it in the same poll are left for the next fetch. The
+ * consumer keeps polling in the meantime, so a long delay never approaches max.poll.interval.ms.
+ */
+@Component
+public class RetryTopicDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryTopicDispatcher.class);
+
+    private final OffsetTracker offsetTracker;
+    private final FailedRecordPublisher failedRecordPublisher;
+    private final ConsumerProperties consumerProperties;
+    private final ConsumerPauseController pauseController;
+    private final ConsumerMetrics consumerMetrics;
+    private final InboundRecordHandler inboundRecordHandler;
+    private final Map<TopicPartition, Parked> parked = new ConcurrentHashMap<>();
+
+    public RetryTopicDispatcher(OffsetTracker offsetTracker, FailedRecordPublisher failedRecordPublisher,
+                                ConsumerProperties consumerProperties, ConsumerPauseController pauseController,
+                                ConsumerMetrics consumerMetrics, InboundRecordHandler inboundRecordHandler) {
+        this.offsetTracker = offsetTracker;
+        this.failedRecordPublisher = failedRecordPublisher;
+        this.consumerProperties = consumerProperties;
+        this.pauseController = pauseController;
+        this.consumerMetrics = consumerMetrics;
+        this.inboundRecordHandler = inboundRecordHandler;
+    }
+
+    /**
+     * Called on the listener thread for every record; returns as soon as the external API call has started,
+     * or straight away if the record is not due yet
+     */
+    public void dispatch(Message<byte[]> message) {
+        MessageHeaders headers = message.getHeaders();
+        String topic = headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+        int partition = headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+        long offset = headers.get(KafkaHeaders.OFFSET, Long.class);
+        Acknowledgment acknowledgment = headers.get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+        if (acknowledgment == null) {
+            throw new IllegalStateException("Retry topic " + topic + " must be consumed with manual acknowledgment");
+        }
+
+        TopicPartition topicPartition = new TopicPartition(topic, partition);
+        PartitionOffsetTracker tracker = offsetTracker.forPartition(topicPartition);
+        if (!unparked(topicPartition, tracker, offset)) {
+            return;
+        }
+        long dueAt = failedRecordPublisher.dueAt(message);
+        if (dueAt > System.currentTimeMillis()) {
+            park(message, topicPartition, tracker, offset, dueAt);
+            return;
+        }
+
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        tracker.awaitCapacity(consumerProperties.getMaxInFlightPerPartition());
+        tracker.track(offset, acknowledgment);
+
+        MessagePayload messagePayload = inboundRecordHandler.parse(message, recordMetrics, tracker, offset);
+        if (messagePayload != null) {
+            inboundRecordHandler.deliver(message, messagePayload, recordMetrics, tracker, offset).subscribe();
+        }
+    }
+
+    /**
+     * Whether the record may be handled: a parked partition ignores the rest of the poll it was parked in,
+     * up to the record it was sought back to. After a rebalance the parking no longer applies.
+     */
+    private boolean unparked(TopicPartition topicPartition, PartitionOffsetTracker tracker, long offset) {
+        Parked current = parked.get(topicPartition);
+        if (current == null) {
+            return true;
+        }
+        if (current.tracker() == tracker && offset != current.offset()) {
+            return false;
+        }
+        parked.remove(topicPartition, current);
+        return true;
+    }
+
+    private void park(Message<byte[]> message, TopicPartition topicPartition, PartitionOffsetTracker tracker,
+                      long offset, long dueAt) {
+        Consumer<?, ?> consumer = message.getHeaders().get(KafkaHeaders.CONSUMER, Consumer.class);
+        if (consumer == null) {
+            throw new IllegalStateException("Retry topic " + topicPartition.topic() + " records must carry the "
+                    + KafkaHeaders.CONSUMER + " header");
+        }
+        // Called on the listener thread, which owns the consumer
+        consumer.seek(topicPartition, offset);
+        parked.put(topicPartition, new Parked(tracker, offset));
+        pauseController.pausePartition(topicPartition, ConsumerPauseController.RETRY_NOT_DUE);
+
+        Duration delay = Duration.ofMillis(dueAt - System.currentTimeMillis());
+        log.debug("⏳ Retry partition parked until its next record is due - Partition: {}, Offset: {}, Due in: {}",
+                  topicPartition, offset, delay);
+        Mono.delay(delay)
+                .subscribe(done -> pauseController.resumePartition(topicPartition, ConsumerPauseController.RETRY_NOT_DUE));
+    }
+
+    private record Parked(PartitionOffsetTracker tracker, long offset) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.asyncapi.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs the events in the life of each message as key=value lines on the com.asyncapi.messages logger,
+ * e.g. {@code event=message.received id=msg-001 topic=message-topic partition=0 offset=42}.
+ * <p>
+ * Off by default. Whether an event is logged is decided before anything is formatted or boxed, so a
+ * message that is not sampled costs a hash lookup and no allocation. In SAMPLED mode messages are picked
+ * by a hash of their ID, so a picked message has all of its events logged, also on redelivery. Failures are
+ * not logged here; they are logged in full where they happen, whatever the mode.
+ */
+@Component
+@EnableConfigurationProperties(MessageLoggingProperties.class)
+public class MessageEventLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("com.asyncapi.messages");
+
+    private final MessageLoggingProperties.Mode mode;
+    private final int sampleRate;
+    private final int maxEventsPerSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger eventsThisSecond = new AtomicInteger();
+
+    public MessageEventLogger(MessageLoggingProperties properties) {
+        Assert.isTrue(properties.getSampleRate() > 0, "message-logging.sample-rate must be positive");
+        Assert.isTrue(properties.getMaxEventsPerSecond() >= 0, "message-logging.max-events-per-second must not be negative");
+        this.mode = properties.getMode();
+        this.sampleRate = properties.getSampleRate();
+        this.maxEventsPerSecond = properties.getMaxEventsPerSecond();
+    }
+
+    public void received(String id, String topic, int partition, long offset) {
+        if (isLogged(id)) {
+            log.info("event=message.received id={} topic={} partition={} offset={}", id, topic, partition, offset);
+        }
+    }
+
+    public void completed(String id, String topic, int partition, long offset) {
+        if (isLogged(id)) {
+            log.info("event=message.completed id={} topic={} partition={} offset={}", id, topic, partition, offset);
+        }
+    }
+
+    /**
+     * The external API accepted the message
+     */
+    public void accepted(String id) {
+        if (isLogged(id)) {
+            log.info("event=api.accepted id={}", id);
+        }
+    }
+
+    /**
+     * The message was not sent because it had already been delivered
+     */
+    public void duplicate(String id) {
+        if (isLogged(id)) {
+            log.info("event=message.duplicate id={}", id);
+        }
+    }
+
+    /**
+     * The message was written to the spill journal, to be sent when the external API is available again
+     */
+    public void spilled(String id) {
+        if (isLogged(id)) {
+            log.info("event=message.spilled id={}", id);
+        }
+    }
+
+    /**
+     * Whether events of the message with this ID are logged right now
+     */
+    boolean isLogged(String id) {
+        return switch (mode) {
+            case OFF -> false;
+            case SAMPLED -> id != null && Math.floorMod(id.hashCode(), sampleRate) == 0 && log.isInfoEnabled() && withinRate();
+            case ALL -> log.isInfoEnabled() && withinRate();
+        };
+    }
+
+    private boolean withinRate() {
+        if (maxEventsPerSecond == 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = currentSecond.get();
+        if (current != second && currentSecond.compareAndSet(current, second)) {
+            eventsThisSecond.set(0);
+        }
+        return eventsThisSecond.incrementAndGet() <= maxEventsPerSecond;
+    }
+}
@@ -0,0 +1,65 @@
+package com.asyncapi.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-message event logging, bound from the {@code message-logging.*} keys
+ */
+@ConfigurationProperties(prefix = "message-logging")
+public class MessageLoggingProperties {
+
+    /**
+     * Which messages get their events logged; failures are always logged in full
+     */
+    private Mode mode = Mode.OFF;
+
+    /**
+     * In SAMPLED mode, the events of one message in this many are logged. Messages are picked by ID,
+     * so every event of a picked message is logged, on every attempt.
+     */
+    private int sampleRate = 100;
+
+    /**
+     * Upper bound on events logged per second, whatever the mode; 0 for no bound
+     */
+    private int maxEventsPerSecond = 100;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxEventsPerSecond() {
+        return maxEventsPerSecond;
+    }
+
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    public enum Mode {
+        /**
+         * No per-message events
+         */
+        OFF,
+        /**
+         * Events of one message in sample-rate
+         */
+        SAMPLED,
+        /**
+         * Events of every message, still bounded by max-events-per-second
+         */
+        ALL
+    }
+}
@@ -0,0 +1,198 @@
+package com.asyncapi.model;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.avro.AvroFactory;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reads and writes {@link MessagePayload} in each {@link PayloadFormat} with readers and writers built once
+ * from the shared ObjectMapper, so no type lookup happens per record; the binary formats share its
+ * configuration. Records are parsed straight from their bytes, without decoding them to a String first.
+ * In passthrough mode a record is only scanned for its required fields and its bytes are written out
+ * again as they came in, or transcoded token by token when another format is asked for.
+ */
+@Component
+@EnableConfigurationProperties(PayloadFormatProperties.class)
+public class MessagePayloadCodec {
+
+    static final String DEFAULT_AVRO_SCHEMA = "classpath:avro/message-payload.avsc";
+
+    private final Map<PayloadFormat, ObjectReader> readers = new EnumMap<>(PayloadFormat.class);
+    private final Map<PayloadFormat, ObjectWriter> writers = new EnumMap<>(PayloadFormat.class);
+
+    public MessagePayloadCodec(ObjectMapper objectMapper) {
+        this(objectMapper, new PayloadFormatProperties());
+    }
+
+    @Autowired
+    public MessagePayloadCodec(ObjectMapper objectMapper, PayloadFormatProperties payloadFormatProperties) {
+        register(PayloadFormat.JSON, objectMapper, null);
+        register(PayloadFormat.CBOR, objectMapper.copyWith(new CBORFactory()), null);
+        register(PayloadFormat.SMILE, objectMapper.copyWith(new SmileFactory()), null);
+        register(PayloadFormat.AVRO, objectMapper.copyWith(new AvroFactory()),
+                 avroSchema(payloadFormatProperties.getAvroSchema()));
+    }
+
+    private void register(PayloadFormat format, ObjectMapper mapper, FormatSchema schema) {
+        ObjectReader reader = mapper.readerFor(MessagePayload.class);
+        ObjectWriter writer = mapper.writerFor(MessagePayload.class);
+        if (schema != null) {
+            reader = reader.with(schema);
+            // Fields the schema does not declare are left out, like the unread fields of a passthrough record
+            writer = writer.with(schema).with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+        }
+        readers.put(format, reader);
+        writers.put(format, writer);
+    }
+
+    private static AvroSchema avroSchema(String location) {
+        try (InputStream in = new DefaultResourceLoader().getResource(location).getInputStream()) {
+            return new AvroSchema(new Schema.Parser().parse(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the Avro schema " + location, e);
+        }
+    }
+
+    public MessagePayload read(byte[] json) throws JsonProcessingException {
+        return read(json, PayloadFormat.JSON);
+    }
+
+    public MessagePayload read(byte[] value, PayloadFormat format) throws JsonProcessingException {
+        try {
+            return readers.get(format).readValue(value);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            // Reading from a byte array performs no I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public RawMessagePayload readRequiredFields(byte[] json) throws JsonProcessingException {
+        return readRequiredFields(json, PayloadFormat.JSON);
+    }
+
+    /**
+     * Checks the record in one streaming pass over its tokens, without binding it to objects: it must
+     * be a well-formed object with a non-empty string {@code id} and an integer {@code timestamp}.
+     * A string {@code source} is read too, for the routing rules and priority lanes that match on it.
+     * Other values are skipped without being decoded.
+     *
+     * @return a payload carrying the id, the timestamp, the source and the original bytes
+     */
+    public RawMessagePayload readRequiredFields(byte[] value, PayloadFormat format) throws JsonProcessingException {
+        try (JsonParser parser = readers.get(format).createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, MessagePayload.class, "Expected an object");
+            }
+            String id = null;
+            Long timestamp = null;
+            String source = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("id".equals(field) && valueToken == JsonToken.VALUE_STRING) {
+                    id = parser.getText();
+                } else if ("timestamp".equals(field) && valueToken == JsonToken.VALUE_NUMBER_INT) {
+                    timestamp = parser.getLongValue();
+                } else if ("source".equals(field) && valueToken == JsonToken.VALUE_STRING) {
+                    source = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                throw MismatchedInputException.from(parser, MessagePayload.class, "Expected a single object");
+            }
+            if (id == null || id.isEmpty()) {
+                throw MismatchedInputException.from(parser, MessagePayload.class, "Missing required string field 'id'");
+            }
+            if (timestamp == null) {
+                throw MismatchedInputException.from(parser, MessagePayload.class, "Missing required integer field 'timestamp'");
+            }
+            return new RawMessagePayload(id, timestamp, source, value, format);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            // Reading from a byte array performs no I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] write(MessagePayload payload) throws JsonProcessingException {
+        return write(payload, PayloadFormat.JSON);
+    }
+
+    public byte[] write(MessagePayload payload, PayloadFormat format) throws JsonProcessingException {
+        if (payload instanceof RawMessagePayload raw) {
+            if (raw.getFormat() == format) {
+                return raw.getBytes();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.getBytes().length);
+            try {
+                transcode(raw, format, out);
+            } catch (JsonProcessingException e) {
+                throw e;
+            } catch (IOException e) {
+                // Writing to a byte array performs no I/O
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+        return writers.get(format).writeValueAsBytes(payload);
+    }
+
+    /**
+     * Writes the payload into a caller-supplied stream, such as one backed by a pooled network buffer
+     */
+    public void write(MessagePayload payload, OutputStream out) throws IOException {
+        write(payload, PayloadFormat.JSON, out);
+    }
+
+    public void write(MessagePayload payload, PayloadFormat format, OutputStream out) throws IOException {
+        if (payload instanceof RawMessagePayload raw) {
+            if (raw.getFormat() == format) {
+                out.write(raw.getBytes());
+            } else {
+                transcode(raw, format, out);
+            }
+            return;
+        }
+        writers.get(format).writeValue(out, payload);
+    }
+
+    /**
+     * Copies a passthrough record into another format token by token, still without binding it to objects
+     */
+    private void transcode(RawMessagePayload raw, PayloadFormat format, OutputStream out) throws IOException {
+        try (JsonParser parser = readers.get(raw.getFormat()).createParser(raw.getBytes());
+             JsonGenerator generator = writers.get(format).createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+}
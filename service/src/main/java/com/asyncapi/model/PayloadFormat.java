@@ -0,0 +1,66 @@
+package com.asyncapi.model;
+
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Wire formats a {@link MessagePayload} can be read from and written in, each identified by its content type
+ */
+public enum PayloadFormat {
+
+    JSON(MimeTypeUtils.APPLICATION_JSON),
+    CBOR(new MimeType("application", "cbor")),
+    SMILE(new MimeType("application", "x-jackson-smile")),
+    /**
+     * Avro binary encoding of a single record, without the container file header, written and read
+     * with the schema from payload-format.avro-schema
+     */
+    AVRO(new MimeType("application", "avro"));
+
+    private final MimeType mimeType;
+
+    PayloadFormat(MimeType mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * The format of a content type, ignoring its parameters; +json types such as
+     * application/vnd.example+json count as JSON
+     *
+     * @param contentType A {@link MimeType} or its string form
+     * @return the format, or null when the content type is missing or names none of them
+     */
+    public static PayloadFormat of(Object contentType) {
+        MimeType mimeType;
+        try {
+            mimeType = contentType instanceof MimeType type ? type
+                    : contentType != null ? MimeTypeUtils.parseMimeType(contentType.toString()) : null;
+        } catch (InvalidMimeTypeException e) {
+            return null;
+        }
+        if (mimeType == null) {
+            return null;
+        }
+        for (PayloadFormat format : values()) {
+            if (format.mimeType.equalsTypeAndSubtype(mimeType)) {
+                return format;
+            }
+        }
+        return "json".equals(mimeType.getSubtypeSuffix()) ? JSON : null;
+    }
+
+    /**
+     * The format of a message, from its contentType header: the binding's content-type, unless the
+     * producer set the header on the record. Messages of any other content type are read as JSON.
+     */
+    public static PayloadFormat of(MessageHeaders headers) {
+        PayloadFormat format = of(headers.get(MessageHeaders.CONTENT_TYPE));
+        return format != null ? format : JSON;
+    }
+}
@@ -0,0 +1,23 @@
+package com.asyncapi.model;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the binary payload formats, bound from the {@code payload-format.*} keys
+ */
+@ConfigurationProperties(prefix = "payload-format")
+public class PayloadFormatProperties {
+
+    /**
+     * Location of the Avro schema that application/avro messages are written with and read with
+     */
+    private String avroSchema = MessagePayloadCodec.DEFAULT_AVRO_SCHEMA;
+
+    public String getAvroSchema() {
+        return avroSchema;
+    }
+
+    public void setAvroSchema(String avroSchema) {
+        this.avroSchema = avroSchema;
+    }
+}
@@ -0,0 +1,80 @@
+package com.asyncapi.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A message forwarded in passthrough mode: only the fields needed for routing and deduplication
+ * ({@code id}, {@code timestamp} and {@code source}) are read, and the original record value is kept, in its {@link PayloadFormat}, as the body to send.
+ * Serializing it to JSON writes JSON bytes back unchanged, so the fields that were not read are never
+ * lost; {@link MessagePayloadCodec} transcodes the other formats.
+ */
+@JsonSerialize(using = RawMessagePayload.RawJsonSerializer.class)
+public class RawMessagePayload extends MessagePayload {
+
+    private final byte[] bytes;
+    private final PayloadFormat format;
+
+    public RawMessagePayload(String id, long timestamp, byte[] json) {
+        this(id, timestamp, null, json, PayloadFormat.JSON);
+    }
+
+    public RawMessagePayload(String id, long timestamp, String source, byte[] bytes, PayloadFormat format) {
+        super(id, null, timestamp, source);
+        this.bytes = bytes;
+        this.format = format;
+    }
+
+    /**
+     * The record value exactly as consumed; callers must not modify it
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public PayloadFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && Arrays.equals(bytes, ((RawMessagePayload) o).bytes)
+                && format == ((RawMessagePayload) o).format;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * super.hashCode() + Arrays.hashCode(bytes)) + format.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RawMessagePayload{" +
+                "id='" + getId() + '\'' +
+                ", timestamp=" + getTimestamp() +
+                ", source='" + getSource() + '\'' +
+                ", bytes=" + bytes.length +
+                ", format=" + format +
+                '}';
+    }
+
+    static class RawJsonSerializer extends JsonSerializer<RawMessagePayload> {
+
+        @Override
+        public void serialize(RawMessagePayload value, JsonGenerator generator, SerializerProvider serializers)
+                throws IOException {
+            if (value.format != PayloadFormat.JSON) {
+                throw JsonMappingException.from(generator, "A " + value.format
+                        + " passthrough payload has to be transcoded by MessagePayloadCodec");
+            }
+            generator.writeRawValue(new String(value.bytes, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.asyncapi.service;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects individually submitted messages into bulk requests. A batch is flushed when it reaches
+ * the configured message count or body size, or when its oldest message has waited for the maximum
+ * linger time. Every submitter gets its own result, mirroring the outcome of the bulk request that
+ * carried its message, so callers keep per-message commit semantics. A bulk request is sent with the
+ * earliest deadline of the messages it carries.
+ * <p>
+ * The response is not inspected per message, so the bulk endpoint must accept or reject a batch as a
+ * whole: a success response commits every message in the batch, including any the endpoint dropped.
+ */
+class BulkMessageAccumulator {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkMessageAccumulator.class);
+
+    private final ExternalApiProperties.Bulk settings;
+    private final MessagePayloadCodec messagePayloadCodec;
+    private final BulkSender bulkSender;
+
+    private List<PendingMessage> buffer = new ArrayList<>();
+    private long bufferedBytes;
+    private Disposable lingerTask;
+
+    BulkMessageAccumulator(ExternalApiProperties.Bulk settings, MessagePayloadCodec messagePayloadCodec,
+                           BulkSender bulkSender) {
+        this.settings = settings;
+        this.messagePayloadCodec = messagePayloadCodec;
+        this.bulkSender = bulkSender;
+    }
+
+    /**
+     * Queues the message for the next bulk request. Each subscription queues it again, so retrying
+     * the returned Mono resends the message in a later batch.
+     *
+     * @param deadlineMillis Epoch millis the message must be delivered by, or ExternalApiResilience.NO_DEADLINE
+     */
+    Mono<String> submit(MessagePayload payload, long deadlineMillis) {
+        return Mono.defer(() -> {
+            byte[] json;
+            try {
+                json = messagePayloadCodec.write(payload);
+            } catch (JsonProcessingException e) {
+                return Mono.error(e);
+            }
+            Sinks.One<String> result = Sinks.one();
+            add(new PendingMessage(json, deadlineMillis, result));
+            return result.asMono();
+        });
+    }
+
+    private void add(PendingMessage message) {
+        List<PendingMessage> full = null;
+        List<PendingMessage> overflow = null;
+        synchronized (this) {
+            // A message that would push the body past the byte limit starts the next batch
+            if (!buffer.isEmpty() && bufferedBytes + message.json().length + 1 > settings.getMaxBytes().toBytes()) {
+                overflow = drain();
+            }
+            buffer.add(message);
+            bufferedBytes += message.json().length + 1;
+            if (buffer.size() >= settings.getMaxCount() || bufferedBytes >= settings.getMaxBytes().toBytes()) {
+                full = drain();
+            } else if (buffer.size() == 1) {
+                lingerTask = Schedulers.parallel().schedule(this::flush,
+                        settings.getMaxLinger().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        send(overflow);
+        send(full);
+    }
+
+    /**
+     * Sends whatever is buffered right away
+     */
+    void flush() {
+        List<PendingMessage> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        send(batch);
+    }
+
+    private List<PendingMessage> drain() {
+        if (lingerTask != null) {
+            lingerTask.dispose();
+            lingerTask = null;
+        }
+        if (buffer.isEmpty()) {
+            return null;
+        }
+        List<PendingMessage> batch = buffer;
+        buffer = new ArrayList<>();
+        bufferedBytes = 0;
+        return batch;
+    }
+
+    private void send(List<PendingMessage> batch) {
+        if (batch == null) {
+            return;
+        }
+        log.debug("📦 Flushing bulk request - Messages: {}", batch.size());
+        long deadlineMillis = Long.MAX_VALUE;
+        for (PendingMessage message : batch) {
+            deadlineMillis = Math.min(deadlineMillis, message.deadlineMillis());
+        }
+        bulkSender.send(toJsonArray(batch), deadlineMillis).subscribe(
+                response -> batch.forEach(message -> message.result().tryEmitValue(response)),
+                error -> batch.forEach(message -> message.result().tryEmitError(error)),
+                () -> batch.forEach(message -> message.result().tryEmitEmpty()));
+    }
+
+    private static byte[] toJsonArray(List<PendingMessage> batch) {
+        int size = 1;
+        for (PendingMessage message : batch) {
+            size += message.json().length + 1;
+        }
+        byte[] body = new byte[size];
+        int position = 0;
+        body[position++] = '[';
+        for (PendingMessage message : batch) {
+            if (position > 1) {
+                body[position++] = ',';
+            }
+            System.arraycopy(message.json(), 0, body, position, message.json().length);
+            position += message.json().length;
+        }
+        body[position] = ']';
+        return body;
+    }
+
+    /**
+     * Sends one bulk request body, a JSON array of the batched messages
+     */
+    @FunctionalInterface
+    interface BulkSender {
+
+        Mono<String> send(byte[] jsonArray, long deadlineMillis);
+    }
+
+    private record PendingMessage(byte[] json, long deadlineMillis, Sinks.One<String> result) {
+    }
+}
@@ -1,39 +1,256 @@
 package com.asyncapi.service;
 
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.logging.MessageEventLogger;
 import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.PayloadFormat;
+import com.asyncapi.model.RawMessagePayload;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 
 @Service
 public class ExternalApiService {
 
     private static final Logger log = LoggerFactory.getLogger(ExternalApiService.class);
+
+    /**
+     * Returned by deliverMessage in place of an API response when the message had already been delivered
+     */
+    public static final String DUPLICATE_RESPONSE = "{\"status\":\"duplicate\"}";
+
+    /**
+     * Returned by deliverMessage in place of an API response when the message was written to the spill journal
+     */
+    public static final String SPILLED_RESPONSE = "{\"status\":\"spilled\"}";
     
     private final WebClient webClient;
+    private final MessagePayloadCodec messagePayloadCodec;
+    private final ExternalApiProperties externalApiProperties;
+    private final BulkMessageAccumulator bulkMessageAccumulator;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ExternalApiResilience resilience;
+    private final DeliveredMessageCache deliveredMessageCache;
+    private final MessageEventLogger messageEventLogger;
+    private final SpillBuffer spillBuffer;
+    private final PayloadFormat messageFormat;
     
-    public ExternalApiService(WebClient webClient) {
+    @Autowired
+    public ExternalApiService(WebClient webClient, MessagePayloadCodec messagePayloadCodec,
+                              ExternalApiProperties externalApiProperties,
+                              AdaptiveConcurrencyLimiter concurrencyLimiter, ExternalApiResilience resilience,
+                              DeliveredMessageCache deliveredMessageCache, MessageEventLogger messageEventLogger,
+                              SpillBuffer spillBuffer) {
         this.webClient = webClient;
+        this.messagePayloadCodec = messagePayloadCodec;
+        this.externalApiProperties = externalApiProperties;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.resilience = resilience;
+        this.deliveredMessageCache = deliveredMessageCache;
+        this.messageEventLogger = messageEventLogger;
+        this.spillBuffer = spillBuffer;
+        this.messageFormat = PayloadFormat.of(externalApiProperties.getContentType());
+        Assert.notNull(messageFormat, "Unsupported external.api.content-type: " + externalApiProperties.getContentType());
+        this.bulkMessageAccumulator = new BulkMessageAccumulator(externalApiProperties.getBulk(), messagePayloadCodec,
+                (jsonArray, deadlineMillis) -> resilience.execute(
+                        () -> concurrencyLimiter.execute(() -> sendSerializedMessages(jsonArray, deadlineMillis)),
+                        deadlineMillis));
     }
 
     /**
-     * Sends the message payload to an external API endpoint
+     * Sends the message payload to an external API endpoint, failing with a TimeoutException if the
+     * response has not arrived within external.api.deadline.attempt-timeout
      * 
      * @param payload The message payload to send
      * @return Mono<String> Response from the external API
      */
     public Mono<String> sendMessage(MessagePayload payload) {
-        log.info("Sending message to external API: {}", payload);
-        
-        return webClient.post()
-                .uri("/api/messages")
-                .bodyValue(payload)
-                .retrieve()
-                .bodyToMono(String.class)
-                .doOnSuccess(response -> log.info("Successfully sent message. Response: {}", response))
-                .doOnError(error -> log.error("Error sending message to external API", error));
+        return sendMessage(payload, ExternalApiResilience.NO_DEADLINE);
+    }
+
+    /**
+     * @param deadlineMillis Epoch millis the attempt is cut short at, unless it is already past
+     */
+    private Mono<String> sendMessage(MessagePayload payload, long deadlineMillis) {
+        return Mono.defer(() -> {
+            long remainingMillis = remainingMillis(deadlineMillis);
+            Mono<String> response = webClient.post()
+                    .uri(externalApiProperties.getUri())
+                    .contentType(new MediaType(messageFormat.getMimeType()))
+                    .headers(headers -> setDeadlineHeader(headers, remainingMillis))
+                    .body(messageBody(payload))
+                    .retrieve()
+                    .bodyToMono(String.class);
+            return withTimeout(response, remainingMillis)
+                    .doOnSuccess(result -> messageEventLogger.accepted(payload.getId()))
+                    .doOnError(error -> log.error("Error sending message to external API", error));
+        });
+    }
+
+    /**
+     * Delivers one message, through the bulk accumulator when bulk sending is enabled and as a
+     * single request otherwise. Either way the returned Mono reflects this message's outcome only,
+     * and the request waits for a permit from the adaptive concurrency limiter before it is sent.
+     * Failed attempts are retried with backoff unless the retry budget or the circuit breaker forbid it.
+     * A message whose ID was delivered recently is not sent again; {@link #DUPLICATE_RESPONSE} is returned instead.
+     * While the spill journal is enabled and the external API is unavailable or saturated, the message is
+     * written to the journal instead and {@link #SPILLED_RESPONSE} is returned.
+     *
+     * @param payload The message payload to deliver
+     * @return Mono<String> Response from the external API
+     */
+    public Mono<String> deliverMessage(MessagePayload payload) {
+        return deliver(payload, spillBuffer.isEnabled());
     }
-}
 
+    /**
+     * Delivers a message read back from the spill journal, the same way as {@link #deliverMessage} but
+     * without spilling it again
+     */
+    public Mono<String> replay(MessagePayload payload) {
+        return deliver(payload, false);
+    }
+
+    private Mono<String> deliver(MessagePayload payload, boolean spill) {
+        if (!deliveredMessageCache.isEnabled() && !spill) {
+            return send(payload);
+        }
+        return Mono.defer(() -> {
+            if (deliveredMessageCache.isEnabled() && deliveredMessageCache.wasDelivered(payload.getId())) {
+                messageEventLogger.duplicate(payload.getId());
+                return Mono.just(DUPLICATE_RESPONSE);
+            }
+            if (spill && spillBuffer.shouldSpill()) {
+                // The append waits for the disk, so it is kept off the event loop
+                return Mono.fromCallable(() -> spillBuffer.spill(payload))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(spilled -> spilled ? spilled(payload) : sendAndMark(payload));
+            }
+            return sendAndMark(payload);
+        });
+    }
+
+    private Mono<String> spilled(MessagePayload payload) {
+        messageEventLogger.spilled(payload.getId());
+        return Mono.just(SPILLED_RESPONSE);
+    }
+
+    private Mono<String> sendAndMark(MessagePayload payload) {
+        if (!deliveredMessageCache.isEnabled()) {
+            return send(payload);
+        }
+        return send(payload).doOnSuccess(response -> deliveredMessageCache.markDelivered(payload.getId()));
+    }
+
+    private Mono<String> send(MessagePayload payload) {
+        long deadlineMillis = deadline(payload);
+        if (externalApiProperties.getBulk().isEnabled()) {
+            return bulkMessageAccumulator.submit(payload, deadlineMillis);
+        }
+        return resilience.execute(() -> concurrencyLimiter.execute(() -> sendMessage(payload, deadlineMillis)),
+                                  deadlineMillis);
+    }
+
+    /**
+     * The message's timestamp plus external.api.deadline.max-age, or no deadline when either is unset
+     */
+    private long deadline(MessagePayload payload) {
+        Duration maxAge = externalApiProperties.getDeadline().getMaxAge();
+        if (maxAge.isZero() || payload.getTimestamp() <= 0) {
+            return ExternalApiResilience.NO_DEADLINE;
+        }
+        return payload.getTimestamp() + maxAge.toMillis();
+    }
+
+    private static long remainingMillis(long deadlineMillis) {
+        return deadlineMillis == ExternalApiResilience.NO_DEADLINE
+                ? Long.MAX_VALUE : deadlineMillis - System.currentTimeMillis();
+    }
+
+    /**
+     * Passes the time left until the deadline to the API, when external.api.deadline.header is set
+     */
+    private void setDeadlineHeader(HttpHeaders headers, long remainingMillis) {
+        String deadlineHeader = externalApiProperties.getDeadline().getHeader();
+        if (StringUtils.hasText(deadlineHeader) && remainingMillis != Long.MAX_VALUE) {
+            headers.set(deadlineHeader, String.valueOf(Math.max(0, remainingMillis)));
+        }
+    }
+
+    /**
+     * Cuts the attempt short at the attempt timeout, or at the deadline if that comes first. An attempt
+     * made after the deadline has passed only gets the attempt timeout, so an old message still gets one try.
+     */
+    private <T> Mono<T> withTimeout(Mono<T> attempt, long remainingMillis) {
+        long timeoutMillis = externalApiProperties.getDeadline().getAttemptTimeout().toMillis();
+        if (remainingMillis > 0 && (timeoutMillis == 0 || remainingMillis < timeoutMillis)) {
+            timeoutMillis = remainingMillis;
+        }
+        if (timeoutMillis == 0 || timeoutMillis == Long.MAX_VALUE) {
+            return attempt;
+        }
+        return attempt.timeout(Duration.ofMillis(timeoutMillis));
+    }
+
+    /**
+     * Serializes the payload in the configured content type directly into a buffer from the connector's
+     * allocator, which for Reactor Netty is a pooled ByteBuf, instead of going through an intermediate
+     * byte[] or String. A passthrough payload's original bytes are wrapped and sent as they are when they
+     * are already in that content type.
+     */
+    private BodyInserter<MessagePayload, ClientHttpRequest> messageBody(MessagePayload payload) {
+        return (request, context) -> {
+            if (payload instanceof RawMessagePayload raw && raw.getFormat() == messageFormat) {
+                return request.writeWith(Mono.just(request.bufferFactory().wrap(raw.getBytes())));
+            }
+            DataBuffer buffer = request.bufferFactory().allocateBuffer(256);
+            try (OutputStream out = buffer.asOutputStream()) {
+                messagePayloadCodec.write(payload, messageFormat, out);
+            } catch (IOException | RuntimeException e) {
+                DataBufferUtils.release(buffer);
+                return Mono.error(e);
+            }
+            return request.writeWith(Mono.just(buffer));
+        };
+    }
+
+    /**
+     * @param deadlineMillis Earliest deadline of the batched messages
+     */
+    private Mono<String> sendSerializedMessages(byte[] jsonArray, long deadlineMillis) {
+        return Mono.defer(() -> {
+            long remainingMillis = remainingMillis(deadlineMillis);
+            Mono<String> request = webClient.post()
+                    .uri(externalApiProperties.getBulk().getUri())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(headers -> setDeadlineHeader(headers, remainingMillis))
+                    .bodyValue(jsonArray)
+                    .retrieve()
+                    .bodyToMono(String.class);
+            return withTimeout(request, remainingMillis)
+                    .doOnSuccess(response -> log.debug("Successfully sent bulk request. Response: {}", response))
+                    .doOnError(error -> log.error("Error sending bulk request to external API", error));
+        });
+    }
+}
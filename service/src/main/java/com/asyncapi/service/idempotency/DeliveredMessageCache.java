@@ -0,0 +1,199 @@
+package com.asyncapi.service.idempotency;
+
+import com.asyncapi.config.ExternalApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * IDs of messages the external API has already accepted, kept for a limited time and up to a maximum
+ * count. Lookups go to a concurrent map and take no lock. Every delivery is also appended to a queue in
+ * delivery order, so both expiry and size eviction only ever remove entries from its head; one thread
+ * evicts at a time, and the others do not wait for it. An ID delivered again gets a new queue entry, and
+ * its older one is dropped when it reaches the head.
+ * <p>
+ * With a persistence file configured the IDs are written out periodically and on shutdown, to a
+ * temporary file that then replaces the previous one, and read back at startup.
+ */
+@Component
+public class DeliveredMessageCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveredMessageCache.class);
+
+    private final ExternalApiProperties.Idempotency settings;
+    private final Clock clock;
+    private final Path persistenceFile;
+    private final Map<String, Delivery> deliveries = new ConcurrentHashMap<>();
+    private final Queue<Delivery> deliveryOrder = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Disposable flushTask;
+
+    @Autowired
+    public DeliveredMessageCache(ExternalApiProperties externalApiProperties) {
+        this(externalApiProperties.getIdempotency(), Clock.systemUTC());
+    }
+
+    DeliveredMessageCache(ExternalApiProperties.Idempotency settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.persistenceFile = StringUtils.hasText(settings.getPersistenceFile())
+                ? Path.of(settings.getPersistenceFile()) : null;
+        if (settings.isEnabled() && persistenceFile != null) {
+            load();
+            long interval = settings.getFlushInterval().toMillis();
+            flushTask = Schedulers.boundedElastic().schedulePeriodically(this::flushQuietly, interval, interval,
+                                                                         TimeUnit.MILLISECONDS);
+        } else {
+            flushTask = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Whether a message with this ID was delivered within the TTL
+     */
+    public boolean wasDelivered(String id) {
+        if (id == null) {
+            return false;
+        }
+        Delivery delivery = deliveries.get(id);
+        return delivery != null && delivery.at() >= oldestValid();
+    }
+
+    public void markDelivered(String id) {
+        if (id == null) {
+            return;
+        }
+        remember(new Delivery(id, clock.millis()));
+    }
+
+    public int size() {
+        evict();
+        return deliveries.size();
+    }
+
+    private void remember(Delivery delivery) {
+        deliveries.put(delivery.id(), delivery);
+        deliveryOrder.add(delivery);
+        evict();
+    }
+
+    /**
+     * Removes expired entries, then the oldest ones beyond the maximum count. Skipped while another thread
+     * is already at it.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long oldestValid = oldestValid();
+            Delivery head;
+            while ((head = deliveryOrder.peek()) != null
+                    && (head.at() < oldestValid || deliveries.size() > settings.getMaxEntries())) {
+                deliveryOrder.poll();
+                // Only if the ID was not delivered again since
+                Delivery evicted = head;
+                deliveries.computeIfPresent(head.id(), (id, current) -> current == evicted ? null : current);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private long oldestValid() {
+        return clock.millis() - settings.getTtl().toMillis();
+    }
+
+    /**
+     * Writes the remembered IDs to the persistence file, one "timestamp id" line each
+     */
+    public void flush() {
+        if (persistenceFile == null) {
+            return;
+        }
+        evict();
+        List<Delivery> snapshot = deliveryOrder.stream()
+                .filter(delivery -> deliveries.get(delivery.id()) == delivery)
+                .toList();
+        try {
+            Path parent = persistenceFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, persistenceFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Delivery delivery : snapshot) {
+                    writer.write(Long.toString(delivery.at()));
+                    writer.write(' ');
+                    writer.write(delivery.id());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, persistenceFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write delivered message IDs to " + persistenceFile, e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            log.warn("⚠️ Could not persist delivered message IDs", e);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(persistenceFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(persistenceFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(' ');
+                if (separator > 0) {
+                    // Lines are in delivery order, so expired and surplus IDs are evicted as they are read
+                    remember(new Delivery(line.substring(separator + 1), Long.parseLong(line.substring(0, separator))));
+                }
+            }
+            log.info("💾 Restored {} delivered message IDs from {}", size(), persistenceFile);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("⚠️ Ignoring unreadable delivered message ID file {}", persistenceFile, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flushTask != null) {
+            flushTask.dispose();
+            flushQuietly();
+        }
+    }
+
+    private record Delivery(String id, long at) {
+    }
+}
@@ -0,0 +1,274 @@
+package com.asyncapi.service.limit;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of external API calls in flight at a limit that adapts to how the API responds.
+ * Calls beyond the limit wait for a permit instead of being sent. While any call is waiting the limiter
+ * reports itself as saturated, so that the consumer can stop fetching records rather than queue them here.
+ * <p>
+ * Waiting calls are granted permits by weighted fair queuing across the external.api.priority lanes,
+ * named by the {@link #PRIORITY_LANE} entry of the subscriber context, so a flood of calls in one lane
+ * delays the others only by their share. Without priority lanes every call is in the default lane and
+ * permits go out in arrival order.
+ * <p>
+ * Metrics, tagged with the lane and the route: the external.api.limit.waiting gauge (calls waiting for
+ * a permit) and the external.api.limit.wait timer (time from asking for a permit to getting it).
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    /**
+     * Lane of the calls that match no external.api.priority lane, or that name none
+     */
+    public static final String DEFAULT_LANE = "default";
+
+    /**
+     * Subscriber context key whose value names the priority lane of the call
+     */
+    public static final String PRIORITY_LANE = "external.api.priority.lane";
+
+    /**
+     * Notified, while the limiter's lock is held, whenever the limiter becomes saturated or stops being so
+     */
+    @FunctionalInterface
+    public interface SaturationListener {
+        void saturationChanged(boolean saturated);
+    }
+
+    private final boolean enabled;
+    private final LimitAlgorithm algorithm;
+    private final WeightedFairQueue<Sinks.Empty<Void>> waiters;
+    private final Map<String, Timer> waitTimers = new HashMap<>();
+    private final List<SaturationListener> listeners = new CopyOnWriteArrayList<>();
+    private int inFlight;
+    private int limit;
+    private boolean saturated;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry) {
+        this(externalApiProperties, meterRegistry, ExternalApiResilience.DEFAULT_ROUTE);
+    }
+
+    public AdaptiveConcurrencyLimiter(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry,
+                                      String route) {
+        ExternalApiProperties.ConcurrencyLimit settings = externalApiProperties.getConcurrencyLimit();
+        this.enabled = settings.isEnabled();
+        this.algorithm = switch (settings.getAlgorithm()) {
+            case AIMD -> new AimdLimitAlgorithm(settings);
+            case GRADIENT -> new GradientLimitAlgorithm(settings);
+        };
+        this.limit = algorithm.getLimit();
+        if (enabled) {
+            log.info("⚙️ External API concurrency limit enabled - Algorithm: {}, Initial: {}, Range: {}-{}",
+                     settings.getAlgorithm(), settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit());
+        }
+
+        ExternalApiProperties.Priority priority = externalApiProperties.getPriority();
+        Map<String, Integer> weights = laneWeights(priority);
+        this.waiters = new WeightedFairQueue<>(weights, DEFAULT_LANE);
+        if (priority.isEnabled() && !enabled) {
+            log.warn("⚠️ external.api.priority has no effect on route {} while its concurrency limit is disabled, "
+                     + "since calls never wait for a permit", route);
+        }
+        if (enabled) {
+            weights.keySet().forEach(lane -> {
+                waitTimers.put(lane, Timer.builder("external.api.limit.wait")
+                        .description("Time external API calls waited for a concurrency permit")
+                        .tag("lane", lane)
+                        .tag("route", route)
+                        .register(meterRegistry));
+                Gauge.builder("external.api.limit.waiting", this, limiter -> limiter.getWaiting(lane))
+                        .description("External API calls waiting for a concurrency permit")
+                        .baseUnit("calls")
+                        .tag("lane", lane)
+                        .tag("route", route)
+                        .register(meterRegistry);
+            });
+        }
+    }
+
+    /**
+     * The weight of each priority lane, the default lane last so that the named lanes win ties
+     */
+    private static Map<String, Integer> laneWeights(ExternalApiProperties.Priority priority) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        if (!priority.isEnabled()) {
+            weights.put(DEFAULT_LANE, 1);
+            return weights;
+        }
+        for (ExternalApiProperties.Priority.Lane lane : priority.getLanes()) {
+            Assert.hasText(lane.getName(), "Every external.api.priority.lanes entry needs a name");
+            Assert.isTrue(lane.getWeight() > 0, "external.api.priority.lanes weight must be positive: " + lane.getName());
+            Assert.isTrue(!DEFAULT_LANE.equals(lane.getName()) && weights.putIfAbsent(lane.getName(), lane.getWeight()) == null,
+                    "Duplicate or reserved external.api.priority.lanes name: " + lane.getName());
+        }
+        Assert.isTrue(priority.getDefaultWeight() > 0, "external.api.priority.default-weight must be positive");
+        weights.put(DEFAULT_LANE, priority.getDefaultWeight());
+        return weights;
+    }
+
+    public void addListener(SaturationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Subscribes to the call once a permit is available, waiting in the priority lane named by the
+     * subscriber context, and feeds its outcome back into the limit
+     *
+     * @param call Supplies the external API call, invoked only after a permit was granted
+     * @return Mono<T> The call's result
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.deferContextual(context -> {
+            String lane = context.getOrDefault(PRIORITY_LANE, DEFAULT_LANE);
+            long requestedAt = System.nanoTime();
+            return acquire(lane).then(Mono.defer(() -> {
+                long grantedAt = System.nanoTime();
+                waitTimers.getOrDefault(lane, waitTimers.get(DEFAULT_LANE)).record(grantedAt - requestedAt, TimeUnit.NANOSECONDS);
+                Permit permit = new Permit(grantedAt, getInFlight());
+                return Mono.defer(call)
+                        .doOnSuccess(response -> permit.release(false))
+                        .doOnError(error -> permit.release(isOverload(error)))
+                        .doOnCancel(permit::abandon);
+            }));
+        });
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized boolean isSaturated() {
+        return saturated;
+    }
+
+    /**
+     * Calls waiting for a permit in the priority lane
+     */
+    public synchronized int getWaiting(String lane) {
+        return waiters.size(lane);
+    }
+
+    private Mono<Void> acquire(String lane) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> waiter;
+            synchronized (this) {
+                if (inFlight < limit) {
+                    inFlight++;
+                    return Mono.empty();
+                }
+                waiter = Sinks.empty();
+                waiters.add(lane, waiter);
+                updateSaturation();
+            }
+            return waiter.asMono().doOnCancel(() -> {
+                boolean granted;
+                synchronized (this) {
+                    granted = !waiters.remove(lane, waiter);
+                    updateSaturation();
+                }
+                if (granted) {
+                    // The permit was handed over just as the caller went away
+                    releaseSlot();
+                }
+            });
+        });
+    }
+
+    private void releaseSlot() {
+        List<Sinks.Empty<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < limit && !waiters.isEmpty()) {
+                inFlight++;
+                granted.add(waiters.poll());
+            }
+            updateSaturation();
+        }
+        // Emitting subscribes the waiting calls, so it must happen outside the lock
+        granted.forEach(Sinks.Empty::tryEmitEmpty);
+    }
+
+    private void updateSaturation() {
+        boolean nowSaturated = !waiters.isEmpty() || (saturated && inFlight >= limit);
+        if (nowSaturated != saturated) {
+            saturated = nowSaturated;
+            log.debug("External API concurrency limit {} - Limit: {}, In flight: {}, Waiting: {}",
+                      saturated ? "saturated" : "released", limit, inFlight, waiters.size());
+            listeners.forEach(listener -> listener.saturationChanged(nowSaturated));
+        }
+    }
+
+    /**
+     * Client errors other than 429 say nothing about load, everything else (5xx, 429, timeouts,
+     * connection failures) is taken as a sign that the API is overloaded
+     */
+    private static boolean isOverload(Throwable error) {
+        return !(error instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError()
+                && response.getStatusCode().value() != 429);
+    }
+
+    private final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                int newLimit = algorithm.update(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+                synchronized (AdaptiveConcurrencyLimiter.this) {
+                    if (newLimit != limit) {
+                        log.debug("External API concurrency limit changed {} -> {}", limit, newLimit);
+                        limit = newLimit;
+                    }
+                }
+                releaseSlot();
+            }
+        }
+
+        void abandon() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.asyncapi.service.limit;
+
+import com.asyncapi.config.ExternalApiProperties;
+
+/**
+ * Additive increase, multiplicative decrease: the limit grows by one per successful call while it is
+ * actually being used, and shrinks by the backoff ratio when a call fails or is slower than the threshold.
+ */
+public class AimdLimitAlgorithm implements LimitAlgorithm {
+
+    private final ExternalApiProperties.ConcurrencyLimit settings;
+    private final long latencyThresholdNanos;
+    private int limit;
+
+    public AimdLimitAlgorithm(ExternalApiProperties.ConcurrencyLimit settings) {
+        this.settings = settings;
+        this.latencyThresholdNanos = settings.getLatencyThreshold().toNanos();
+        this.limit = settings.getInitialLimit();
+    }
+
+    @Override
+    public synchronized int update(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(settings.getMinLimit(), (int) (limit * settings.getBackoffRatio()));
+        } else if (inFlight * 2 >= limit) {
+            // Only grow when the current limit is at least half used, otherwise success says nothing about capacity
+            limit = Math.min(settings.getMaxLimit(), limit + 1);
+        }
+        return limit;
+    }
+
+    @Override
+    public synchronized int getLimit() {
+        return limit;
+    }
+}
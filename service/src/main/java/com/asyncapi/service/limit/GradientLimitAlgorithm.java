@@ -0,0 +1,53 @@
+package com.asyncapi.service.limit;
+
+import com.asyncapi.config.ExternalApiProperties;
+
+/**
+ * Latency-gradient limit: compares each round-trip time with a long-term average and scales the limit
+ * by their ratio, so the limit shrinks as soon as queueing shows up in the external API's latency and
+ * grows again, by roughly the square root of the limit per sample, while latency stays flat.
+ */
+public class GradientLimitAlgorithm implements LimitAlgorithm {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final ExternalApiProperties.ConcurrencyLimit settings;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public GradientLimitAlgorithm(ExternalApiProperties.ConcurrencyLimit settings) {
+        this.settings = settings;
+        this.estimatedLimit = settings.getInitialLimit();
+    }
+
+    @Override
+    public synchronized int update(long rttNanos, int inFlight, boolean dropped) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / settings.getLongWindow();
+        }
+        if (longRttNanos / rttNanos > 2) {
+            // Latency dropped well below the average (e.g. the API recovered), so let the average catch up faster
+            longRttNanos *= 0.95;
+        }
+
+        // Calls that do not use the limit cannot tell whether a larger one would be safe
+        if (!dropped && inFlight < estimatedLimit / 2) {
+            return (int) estimatedLimit;
+        }
+
+        double gradient = dropped
+                ? MIN_GRADIENT
+                : Math.max(MIN_GRADIENT, Math.min(1.0, settings.getRttTolerance() * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - settings.getSmoothing()) + newLimit * settings.getSmoothing();
+        estimatedLimit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), newLimit));
+        return (int) estimatedLimit;
+    }
+
+    @Override
+    public synchronized int getLimit() {
+        return (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,17 @@
+package com.asyncapi.service.limit;
+
+/**
+ * Computes the next concurrency limit from the outcome of one completed call
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * @param rttNanos round-trip time of the call
+     * @param inFlight calls in flight when this call started, including itself
+     * @param dropped  whether the call failed in a way that signals overload
+     * @return the new limit
+     */
+    int update(long rttNanos, int inFlight, boolean dropped);
+
+    int getLimit();
+}
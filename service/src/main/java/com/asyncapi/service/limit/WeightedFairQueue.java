@@ -0,0 +1,110 @@
+package com.asyncapi.service.limit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Waiting items in one FIFO queue per lane, taken out by start-time fair queuing. Each item is stamped on
+ * arrival with a virtual start time, the later of the virtual clock and the finish of its lane's previous
+ * item, and finishes 1/weight after it. The item with the earliest start goes next and moves the clock to
+ * its start. Lanes that keep items waiting thus share the dequeues in proportion to their weights, and a
+ * lane that was idle comes back at the current clock instead of with credit saved up.
+ * <p>
+ * Not thread-safe; the limiter only touches it while holding its lock.
+ */
+final class WeightedFairQueue<T> {
+
+    private final Map<String, Lane<T>> lanes = new LinkedHashMap<>();
+    private final Lane<T> defaultLane;
+    private double virtualTime;
+    private int size;
+
+    /**
+     * @param weights     Weight of each lane, in the order ties are broken in
+     * @param defaultLane Lane of the items added under a name that is not one of the lanes
+     */
+    WeightedFairQueue(Map<String, Integer> weights, String defaultLane) {
+        weights.forEach((name, weight) -> lanes.put(name, new Lane<>(weight)));
+        this.defaultLane = lanes.get(defaultLane);
+        if (this.defaultLane == null) {
+            throw new IllegalArgumentException("No weight given for the default lane " + defaultLane);
+        }
+    }
+
+    void add(String lane, T item) {
+        Lane<T> target = lane(lane);
+        double start = Math.max(virtualTime, target.lastFinish);
+        target.lastFinish = start + 1.0 / target.weight;
+        target.items.add(new Entry<>(item, start));
+        size++;
+    }
+
+    /**
+     * Takes out the item with the earliest virtual start, or returns null if none is waiting
+     */
+    T poll() {
+        Lane<T> next = null;
+        for (Lane<T> lane : lanes.values()) {
+            Entry<T> head = lane.items.peek();
+            if (head != null && (next == null || head.start() < next.items.peek().start())) {
+                next = lane;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+        Entry<T> entry = next.items.poll();
+        virtualTime = entry.start();
+        size--;
+        return entry.item();
+    }
+
+    boolean remove(String lane, T item) {
+        Iterator<Entry<T>> entries = lane(lane).items.iterator();
+        while (entries.hasNext()) {
+            if (entries.next().item() == item) {
+                entries.remove();
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Items waiting in the lane
+     */
+    int size(String lane) {
+        return lane(lane).items.size();
+    }
+
+    private Lane<T> lane(String name) {
+        Lane<T> lane = name != null ? lanes.get(name) : null;
+        return lane != null ? lane : defaultLane;
+    }
+
+    private static final class Lane<T> {
+
+        private final int weight;
+        private final Deque<Entry<T>> items = new ArrayDeque<>();
+        private double lastFinish;
+
+        private Lane(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Entry<T>(T item, double start) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.asyncapi.service.resilience;
+
+/**
+ * Signals that a call was rejected without being sent because the circuit breaker is open
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(CircuitBreaker.State state) {
+        super("External API circuit breaker is " + state + ", call not permitted", null, false, false);
+    }
+}
@@ -0,0 +1,144 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count-based circuit breaker. It opens once the failure rate over the last calls reaches the threshold,
+ * rejects every call while open, and after the open duration lets a few trial calls through: if they
+ * all succeed it closes, otherwise it opens again.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Notified, while the breaker's lock is held, on every state transition
+     */
+    @FunctionalInterface
+    public interface StateListener {
+        void stateChanged(State state);
+    }
+
+    private final ExternalApiProperties.CircuitBreaker settings;
+    private final boolean[] window;
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private State state = State.CLOSED;
+    private Disposable halfOpenTimer;
+
+    public CircuitBreaker(ExternalApiProperties.CircuitBreaker settings) {
+        this.settings = settings;
+        this.window = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    public void addListener(StateListener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (halfOpenPermits == 0) {
+                    yield false;
+                }
+                halfOpenPermits--;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= settings.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= settings.getMinimumCalls()
+                    && windowFailures >= settings.getFailureRateThreshold() * windowCalls) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Releases a permit that was granted but never used, e.g. because the caller cancelled
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("⚡ External API circuit breaker {} -> {} (failures {}/{} in window)",
+                 state, next, windowFailures, windowCalls);
+        state = next;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        halfOpenSuccesses = 0;
+        halfOpenPermits = next == State.HALF_OPEN ? settings.getHalfOpenCalls() : 0;
+        if (halfOpenTimer != null) {
+            halfOpenTimer.dispose();
+            halfOpenTimer = null;
+        }
+        if (next == State.OPEN) {
+            // Nothing calls the breaker while consumption is paused, so the move to half-open must be timed
+            halfOpenTimer = Schedulers.parallel().schedule(this::halfOpen,
+                    settings.getOpenDuration().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        listeners.forEach(listener -> listener.stateChanged(next));
+    }
+
+    private synchronized void halfOpen() {
+        if (state == State.OPEN) {
+            transitionTo(State.HALF_OPEN);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Wraps each external API call with the circuit breaker and with retries using jittered exponential
+ * backoff, limited per failure class, by a global retry budget and by the call's deadline. For idempotent
+ * endpoints each attempt can also be hedged (see {@link RequestHedger}).
+ * <p>
+ * Metrics: external.api.retries and external.api.retries.rejected (tagged with the failure class and,
+ * for rejections, the reason: budget or deadline), external.api.hedges (tagged with the outcome),
+ * external.api.circuit.rejected and the external.api.circuit.state gauge (0 closed, 1 open, 2 half-open), all tagged with the route whose endpoint the calls go to: default for
+ * external.api itself, the route name for each of its routes.
+ */
+@Component
+public class ExternalApiResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalApiResilience.class);
+
+    /**
+     * Route tag of the calls to the endpoint configured under external.api itself
+     */
+    public static final String DEFAULT_ROUTE = "default";
+
+    /**
+     * Deadline of the calls that have none
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final ExternalApiProperties.Retry retrySettings;
+    private final ExternalApiProperties.CircuitBreaker circuitBreakerSettings;
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker circuitBreaker;
+    private final RequestHedger hedger;
+    private final Map<FailureClass, Counter> retries = new EnumMap<>(FailureClass.class);
+    private final Map<FailureClass, Counter> budgetExhausted = new EnumMap<>(FailureClass.class);
+    private final Map<FailureClass, Counter> deadlineReached = new EnumMap<>(FailureClass.class);
+    private final Counter circuitRejected;
+
+    @Autowired
+    public ExternalApiResilience(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry) {
+        this(externalApiProperties, meterRegistry, DEFAULT_ROUTE);
+    }
+
+    public ExternalApiResilience(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry, String route) {
+        this.retrySettings = externalApiProperties.getRetry();
+        this.circuitBreakerSettings = externalApiProperties.getCircuitBreaker();
+        this.retryBudget = new RetryBudget(retrySettings.getBudget());
+        this.circuitBreaker = new CircuitBreaker(circuitBreakerSettings);
+        this.hedger = new RequestHedger(externalApiProperties, meterRegistry, route);
+
+        for (FailureClass failureClass : FailureClass.values()) {
+            retries.put(failureClass, Counter.builder("external.api.retries")
+                    .description("External API calls retried")
+                    .tag("class", failureClass.name())
+                    .tag("route", route)
+                    .register(meterRegistry));
+            budgetExhausted.put(failureClass, Counter.builder("external.api.retries.rejected")
+                    .description("Retries skipped because the retry budget was exhausted or the deadline would pass")
+                    .tag("class", failureClass.name())
+                    .tag("reason", "budget")
+                    .tag("route", route)
+                    .register(meterRegistry));
+            deadlineReached.put(failureClass, Counter.builder("external.api.retries.rejected")
+                    .description("Retries skipped because the retry budget was exhausted or the deadline would pass")
+                    .tag("class", failureClass.name())
+                    .tag("reason", "deadline")
+                    .tag("route", route)
+                    .register(meterRegistry));
+        }
+        this.circuitRejected = Counter.builder("external.api.circuit.rejected")
+                .description("External API calls rejected by the open circuit breaker")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("external.api.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("External API circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @param call Supplies one attempt of the external API call; invoked again for every retry
+     * @return Mono<T> The result of the first successful attempt, or the last failure
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return execute(call, NO_DEADLINE);
+    }
+
+    /**
+     * @param call           Supplies one attempt of the external API call; invoked again for every retry and hedge
+     * @param deadlineMillis Epoch millis after which no retry may start, or {@link #NO_DEADLINE}
+     * @return Mono<T> The result of the first successful attempt, or the last failure
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call, long deadlineMillis) {
+        Supplier<Mono<T>> hedged = () -> hedger.execute(call);
+        Mono<T> attempt = circuitBreakerSettings.isEnabled() ? guarded(hedged) : Mono.defer(hedged);
+        if (!retrySettings.isEnabled()) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            retryBudget.deposit();
+            return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal ->
+                    retryDelay(signal.failure(), signal.totalRetriesInARow() + 1, deadlineMillis)
+                            .map(Mono::delay)
+                            .orElseGet(() -> Mono.error(signal.failure())))));
+        });
+    }
+
+    private <T> Mono<T> guarded(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitRejected.increment();
+                return Mono.error(new CallNotPermittedException(circuitBreaker.getState()));
+            }
+            return Mono.defer(call)
+                    .doOnSuccess(response -> circuitBreaker.onSuccess())
+                    .doOnError(error -> {
+                        if (countsAgainstCircuit(FailureClass.of(error))) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::onIgnored);
+        });
+    }
+
+    /**
+     * Decides whether a failed attempt is retried and after how long
+     *
+     * @param attempt number of the attempt that just failed, starting at 1
+     */
+    private Optional<Duration> retryDelay(Throwable failure, long attempt, long deadlineMillis) {
+        if (failure instanceof CallNotPermittedException) {
+            return Optional.empty();
+        }
+        FailureClass failureClass = FailureClass.of(failure);
+        ExternalApiProperties.Retry.Policy policy = policyFor(failureClass);
+        if (attempt >= policy.getMaxAttempts()) {
+            return Optional.empty();
+        }
+        Duration delay = backoff(policy.getInitialBackoff(), attempt);
+        if (deadlineMillis != NO_DEADLINE && System.currentTimeMillis() + delay.toMillis() >= deadlineMillis) {
+            deadlineReached.get(failureClass).increment();
+            log.debug("Deadline reached, not retrying {} failure", failureClass);
+            return Optional.empty();
+        }
+        if (!retryBudget.tryWithdraw()) {
+            budgetExhausted.get(failureClass).increment();
+            log.debug("Retry budget exhausted, not retrying {} failure", failureClass);
+            return Optional.empty();
+        }
+        retries.get(failureClass).increment();
+        log.warn("🔁 Retrying external API call after {} failure - Attempt: {}, Backoff: {}ms",
+                 failureClass, attempt + 1, delay.toMillis());
+        return Optional.of(delay);
+    }
+
+    Duration backoff(Duration initialBackoff, long attempt) {
+        double exponential = initialBackoff.toMillis() * Math.pow(retrySettings.getMultiplier(), attempt - 1);
+        double capped = Math.min(exponential, retrySettings.getMaxBackoff().toMillis());
+        double jitter = retrySettings.getJitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Duration.ofMillis(Math.max(0, Math.round(capped * (1 + jitter))));
+    }
+
+    private ExternalApiProperties.Retry.Policy policyFor(FailureClass failureClass) {
+        return switch (failureClass) {
+            case CLIENT_ERROR -> retrySettings.getClientError();
+            case TOO_MANY_REQUESTS -> retrySettings.getTooManyRequests();
+            case SERVER_ERROR -> retrySettings.getServerError();
+            case IO -> retrySettings.getIo();
+        };
+    }
+
+    private boolean countsAgainstCircuit(FailureClass failureClass) {
+        return switch (failureClass) {
+            case CLIENT_ERROR -> circuitBreakerSettings.isRecordClientErrors();
+            case TOO_MANY_REQUESTS -> circuitBreakerSettings.isRecordTooManyRequests();
+            case SERVER_ERROR, IO -> true;
+        };
+    }
+}
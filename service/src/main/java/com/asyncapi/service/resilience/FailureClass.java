@@ -0,0 +1,30 @@
+package com.asyncapi.service.resilience;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * The kinds of external API failure that retry and circuit breaker settings distinguish
+ */
+public enum FailureClass {
+
+    /**
+     * 4xx responses other than 429; retrying the same request will normally fail the same way
+     */
+    CLIENT_ERROR,
+    TOO_MANY_REQUESTS,
+    SERVER_ERROR,
+    /**
+     * No response at all: connection failures, timeouts and the like
+     */
+    IO;
+
+    public static FailureClass of(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            if (response.getStatusCode().value() == 429) {
+                return TOO_MANY_REQUESTS;
+            }
+            return response.getStatusCode().is4xxClientError() ? CLIENT_ERROR : SERVER_ERROR;
+        }
+        return IO;
+    }
+}
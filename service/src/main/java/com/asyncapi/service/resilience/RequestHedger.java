@@ -0,0 +1,192 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical attempt when the first one is slower than the chosen percentile of recent
+ * attempts. Whichever succeeds first wins and the other is cancelled; if one fails, the outcome is the
+ * other's, and the call fails only when every attempt sent has failed. A failure before the hedge is
+ * due is returned straight away, without hedging.
+ * <p>
+ * The percentile is recomputed from a ring of the latest first-attempt latencies of successful calls every
+ * tenth of the window, so it follows the endpoint as it speeds up or slows down. When the hedge wins, the
+ * first attempt is recorded with the time it had run for when it was cancelled, which is longer than the
+ * hedge delay. Recording the winner instead would leave the slow tail out of the window, so the delay would
+ * shrink and more and more calls would be hedged.
+ */
+class RequestHedger {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestHedger.class);
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long[] latencies;
+    private final int recomputeEvery;
+    private final RetryBudget budget;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter rejected;
+    private int next;
+    private int recorded;
+    private long delayNanos = -1;
+
+    RequestHedger(ExternalApiProperties externalApiProperties, MeterRegistry meterRegistry, String route) {
+        ExternalApiProperties.Hedging settings = externalApiProperties.getHedging();
+        this.enabled = settings.isEnabled() && externalApiProperties.isIdempotent();
+        this.percentile = settings.getPercentile();
+        this.minDelayNanos = settings.getMinDelay().toNanos();
+        this.latencies = new long[Math.max(1, settings.getWindow())];
+        this.recomputeEvery = Math.max(1, latencies.length / 10);
+        this.budget = new RetryBudget(settings.getBudget());
+        this.sent = counter(meterRegistry, route, "sent");
+        this.won = counter(meterRegistry, route, "won");
+        this.rejected = counter(meterRegistry, route, "rejected");
+        if (settings.isEnabled() && !externalApiProperties.isIdempotent()) {
+            log.warn("⚠️ Hedging is enabled but the {} endpoint is not marked idempotent, so no hedges are sent", route);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String route, String outcome) {
+        return Counter.builder("external.api.hedges")
+                .description("Hedged external API attempts, by outcome: sent, won (answered first) or rejected by the budget")
+                .tag("outcome", outcome)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param attempt Supplies one attempt of the call; invoked a second time for the hedge
+     */
+    <T> Mono<T> execute(Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return Mono.defer(attempt);
+        }
+        return Mono.defer(() -> {
+            budget.deposit();
+            long delay = hedgeDelayNanos();
+            return Mono.<T>create(sink -> {
+                Race<T> race = new Race<>(sink);
+                race.start(attempt, false);
+                if (delay >= 0) {
+                    race.add(Mono.delay(Duration.ofNanos(delay)).subscribe(tick -> race.hedge(attempt)));
+                }
+            });
+        });
+    }
+
+    /**
+     * Nanoseconds after which the hedge is sent, or -1 while too few attempts have been seen
+     */
+    synchronized long hedgeDelayNanos() {
+        return delayNanos;
+    }
+
+    synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % latencies.length;
+        recorded++;
+        if (recorded % recomputeEvery == 0) {
+            long[] window = Arrays.copyOf(latencies, Math.min(recorded, latencies.length));
+            Arrays.sort(window);
+            int index = (int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1);
+            delayNanos = Math.max(minDelayNanos, window[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * The attempts of one call racing for its sink
+     */
+    private final class Race<T> {
+
+        private final MonoSink<T> sink;
+        private final Disposable.Composite subscriptions = Disposables.composite();
+        private int running;
+        private boolean done;
+        private long firstStartNanos;
+
+        private Race(MonoSink<T> sink) {
+            this.sink = sink;
+            sink.onDispose(subscriptions);
+        }
+
+        void add(Disposable subscription) {
+            subscriptions.add(subscription);
+        }
+
+        void start(Supplier<Mono<T>> attempt, boolean hedge) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                running++;
+                if (!hedge) {
+                    firstStartNanos = System.nanoTime();
+                }
+            }
+            add(Mono.defer(attempt)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .contextWrite(sink.contextView())
+                    .subscribe(value -> succeeded(value, hedge), this::failed));
+        }
+
+        void hedge(Supplier<Mono<T>> attempt) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+            }
+            if (!budget.tryWithdraw()) {
+                rejected.increment();
+                return;
+            }
+            sent.increment();
+            start(attempt, true);
+        }
+
+        private void succeeded(Optional<T> value, boolean hedge) {
+            long firstLatencyNanos;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                firstLatencyNanos = System.nanoTime() - firstStartNanos;
+            }
+            record(firstLatencyNanos);
+            if (hedge) {
+                won.increment();
+            }
+            // Completing the sink disposes the subscriptions, which cancels the slower attempt
+            sink.success(value.orElse(null));
+        }
+
+        private void failed(Throwable error) {
+            synchronized (this) {
+                if (done || --running > 0) {
+                    return;
+                }
+                done = true;
+            }
+            sink.error(error);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+
+/**
+ * Token bucket shared by all calls: every original call deposits a fraction of a token, every retry
+ * withdraws a whole one, and a small per-second allowance keeps retries possible at low traffic.
+ * During an outage the bucket runs dry, so failing calls stop being multiplied by their retries.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RetryBudget(ExternalApiProperties.Retry.Budget settings) {
+        this.ratio = settings.getRatio();
+        this.minRetriesPerSecond = settings.getMinRetriesPerSecond();
+        // Allow up to ten seconds' worth of allowance to accumulate, so a burst after a quiet period can retry
+        this.capacity = Math.max(1, minRetriesPerSecond * 10.0);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1e9 * minRetriesPerSecond);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.asyncapi.service.routing;
+
+import com.asyncapi.model.MessagePayload;
+import org.springframework.messaging.MessageHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A message's source and record headers checked against regular expressions compiled once. Header values
+ * mapped from Kafka arrive as bytes and are matched as UTF-8 text.
+ */
+final class MessageMatcher {
+
+    private final Pattern source;
+    private final Map<String, Pattern> headers;
+
+    private MessageMatcher(Pattern source, Map<String, Pattern> headers) {
+        this.source = source;
+        this.headers = headers;
+    }
+
+    /**
+     * @param source  Regular expression the whole source must match, or null for any source
+     * @param headers Regular expressions the values of the named headers must match in full
+     */
+    static MessageMatcher of(String source, Map<String, String> headers) {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        headers.forEach((name, regex) -> patterns.put(name, Pattern.compile(regex)));
+        return new MessageMatcher(source != null ? Pattern.compile(source) : null, patterns);
+    }
+
+    boolean matches(MessagePayload payload, MessageHeaders messageHeaders) {
+        if (source != null && (payload.getSource() == null || !source.matcher(payload.getSource()).matches())) {
+            return false;
+        }
+        for (Map.Entry<String, Pattern> header : headers.entrySet()) {
+            Object value = messageHeaders.get(header.getKey());
+            if (value == null) {
+                return false;
+            }
+            String text = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+            if (!header.getValue().matcher(text).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
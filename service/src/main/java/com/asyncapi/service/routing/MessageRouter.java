@@ -0,0 +1,180 @@
+package com.asyncapi.service.routing;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.config.WebClientConfig;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.ExternalApiService;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Picks the endpoint for each message from the external.api.routes rules: the first rule whose topic,
+ * source and headers match wins, and a message that matches none goes to the external.api endpoint.
+ * Each route delivers through its own {@link ExternalApiService}, with its own connection pool,
+ * concurrency limit, circuit breaker and bulk batching, so a slow endpoint only holds up its own messages.
+ * <p>
+ * The rules are compiled once at startup, their patterns included, and grouped by topic, so matching a
+ * message only tries the rules that can apply to its topic. Records read back from a retry topic are
+ * matched against the topic they were originally consumed from.
+ * <p>
+ * With external.api.priority enabled it also puts each message in a priority lane, which decides how soon
+ * its call gets a permit from the concurrency limiter while calls are waiting (see {@link AdaptiveConcurrencyLimiter}).
+ */
+@Component
+public class MessageRouter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageRouter.class);
+
+    private static final CompiledRoute[] NO_ROUTES = new CompiledRoute[0];
+    private static final CompiledLane[] NO_LANES = new CompiledLane[0];
+
+    private final ExternalApiService defaultService;
+    private final Map<String, CompiledRoute[]> routesByTopic;
+    private final CompiledRoute[] anyTopicRoutes;
+    private final CompiledLane[] lanes;
+    private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+    public MessageRouter(ExternalApiService defaultService, ExternalApiProperties externalApiProperties,
+                         MessagePayloadCodec messagePayloadCodec, DeliveredMessageCache deliveredMessageCache,
+                         MessageEventLogger messageEventLogger, WebClient.Builder webClientBuilder,
+                         MeterRegistry meterRegistry) {
+        this.defaultService = defaultService;
+
+        List<CompiledRoute> compiled = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ExternalApiProperties.Route route : externalApiProperties.getRoutes()) {
+            Assert.hasText(route.getName(), "Every external.api.routes entry needs a name");
+            Assert.isTrue(names.add(route.getName()), "Duplicate external.api.routes name: " + route.getName());
+            Assert.isTrue(!ExternalApiResilience.DEFAULT_ROUTE.equals(route.getName()),
+                    "external.api.routes name " + ExternalApiResilience.DEFAULT_ROUTE + " is reserved");
+
+            ExternalApiProperties routeProperties = externalApiProperties.forRoute(route);
+            ConnectionProvider connectionProvider =
+                    WebClientConfig.connectionProvider(routeProperties, "external-api-" + route.getName());
+            connectionProviders.add(connectionProvider);
+            WebClient webClient = WebClientConfig.webClient(webClientBuilder.clone(), connectionProvider, routeProperties);
+            AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(routeProperties, meterRegistry,
+                                                                                         route.getName());
+            ExternalApiResilience resilience = new ExternalApiResilience(routeProperties, meterRegistry, route.getName());
+            // Spilling is disabled for routes, so this buffer never opens a journal
+            SpillBuffer spillBuffer = new SpillBuffer(routeProperties, messagePayloadCodec, concurrencyLimiter,
+                                                      resilience, meterRegistry, route.getName());
+            ExternalApiService service = new ExternalApiService(webClient, messagePayloadCodec, routeProperties,
+                                                                concurrencyLimiter, resilience, deliveredMessageCache,
+                                                                messageEventLogger, spillBuffer);
+
+            compiled.add(new CompiledRoute(route.getName(), route.getTopic(),
+                                           MessageMatcher.of(route.getSource(), route.getHeaders()), service));
+            log.info("⚙️ External API route {} - Topic: {}, Source: {}, Headers: {}, Endpoint: {}{}",
+                     route.getName(), route.getTopic() != null ? route.getTopic() : "*",
+                     route.getSource() != null ? route.getSource() : "*", route.getHeaders(),
+                     routeProperties.getBaseUrl(), routeProperties.getUri());
+        }
+
+        CompiledRoute[] anyTopic = compiled.stream().filter(route -> route.topic() == null).toArray(CompiledRoute[]::new);
+        Map<String, CompiledRoute[]> byTopic = new HashMap<>();
+        compiled.stream().map(CompiledRoute::topic).filter(topic -> topic != null).distinct().forEach(topic ->
+                byTopic.put(topic, compiled.stream()
+                        .filter(route -> route.topic() == null || route.topic().equals(topic))
+                        .toArray(CompiledRoute[]::new)));
+        this.routesByTopic = Map.copyOf(byTopic);
+        this.anyTopicRoutes = anyTopic;
+
+        ExternalApiProperties.Priority priority = externalApiProperties.getPriority();
+        this.lanes = !priority.isEnabled() ? NO_LANES : priority.getLanes().stream()
+                .map(lane -> new CompiledLane(lane.getName(), MessageMatcher.of(lane.getSource(), lane.getHeaders())))
+                .toArray(CompiledLane[]::new);
+    }
+
+    /**
+     * Delivers the message through the service of the first route it matches, or of the external.api endpoint.
+     * With priority lanes enabled the call waits for its concurrency permit in the lane the message matches.
+     *
+     * @param payload The message payload to deliver
+     * @param headers The headers of the record the payload was read from
+     * @return Mono<String> Response from the external API
+     * @see ExternalApiService#deliverMessage
+     */
+    public Mono<String> deliver(MessagePayload payload, MessageHeaders headers) {
+        CompiledRoute route = match(payload, headers);
+        Mono<String> delivery = (route != null ? route.service() : defaultService).deliverMessage(payload);
+        if (lanes.length == 0) {
+            return delivery;
+        }
+        return delivery.contextWrite(Context.of(AdaptiveConcurrencyLimiter.PRIORITY_LANE, lane(payload, headers)));
+    }
+
+    /**
+     * Name of the priority lane of the message: the first lane it matches, or the default lane
+     */
+    String lane(MessagePayload payload, MessageHeaders headers) {
+        for (CompiledLane lane : lanes) {
+            if (lane.matcher().matches(payload, headers)) {
+                return lane.name();
+            }
+        }
+        return AdaptiveConcurrencyLimiter.DEFAULT_LANE;
+    }
+
+    /**
+     * Name of the route the message would be delivered through
+     */
+    String route(MessagePayload payload, MessageHeaders headers) {
+        CompiledRoute route = match(payload, headers);
+        return route != null ? route.name() : ExternalApiResilience.DEFAULT_ROUTE;
+    }
+
+    private CompiledRoute match(MessagePayload payload, MessageHeaders headers) {
+        if (anyTopicRoutes.length == 0 && routesByTopic.isEmpty()) {
+            return null;
+        }
+        String topic = topic(headers);
+        CompiledRoute[] candidates = topic != null ? routesByTopic.getOrDefault(topic, anyTopicRoutes) : anyTopicRoutes;
+        for (CompiledRoute route : candidates) {
+            if (route.matcher().matches(payload, headers)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String topic(MessageHeaders headers) {
+        byte[] original = headers.get(KafkaHeaders.DLT_ORIGINAL_TOPIC, byte[].class);
+        return original != null ? new String(original, StandardCharsets.UTF_8) : headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+
+    private record CompiledRoute(String name, String topic, MessageMatcher matcher, ExternalApiService service) {
+    }
+
+    private record CompiledLane(String name, MessageMatcher matcher) {
+    }
+}
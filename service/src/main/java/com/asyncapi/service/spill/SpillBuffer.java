@@ -0,0 +1,232 @@
+package com.asyncapi.service.spill;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.PayloadFormat;
+import com.asyncapi.model.RawMessagePayload;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.CircuitBreaker;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decides when messages are written to the local {@link SpillJournal} instead of being sent: while the
+ * circuit breaker is open, while the concurrency limiter is saturated, and while the breaker is half-open
+ * with messages still waiting in the journal, since the {@link SpillDrainer} makes the trial calls then.
+ * A spilled message counts as handled, so its offset is committed once it is on disk.
+ * <p>
+ * Metrics: the external.api.spill.pending gauge (messages waiting to be replayed) and the
+ * external.api.spill.messages counter, tagged with the event: spilled, rejected (the journal was full),
+ * replayed or dropped (the external API refused it for good).
+ */
+@Component
+public class SpillBuffer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillBuffer.class);
+
+    /**
+     * Notified whenever the journal runs out of room or has room again
+     */
+    @FunctionalInterface
+    public interface FullListener {
+        void fullChanged(boolean full);
+    }
+
+    private final ExternalApiProperties.Spill settings;
+    private final MessagePayloadCodec messagePayloadCodec;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final SpillJournal journal;
+    private final List<FullListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter spilled;
+    private final Counter rejected;
+    private final Counter replayed;
+    private final Counter dropped;
+    private boolean full;
+
+    @Autowired
+    public SpillBuffer(ExternalApiProperties externalApiProperties, MessagePayloadCodec messagePayloadCodec,
+                       AdaptiveConcurrencyLimiter concurrencyLimiter, ExternalApiResilience resilience,
+                       MeterRegistry meterRegistry) {
+        this(externalApiProperties, messagePayloadCodec, concurrencyLimiter, resilience, meterRegistry,
+             ExternalApiResilience.DEFAULT_ROUTE);
+    }
+
+    /**
+     * @param route Route whose endpoint the buffered messages go to, which tags the spill metrics
+     */
+    public SpillBuffer(ExternalApiProperties externalApiProperties, MessagePayloadCodec messagePayloadCodec,
+                       AdaptiveConcurrencyLimiter concurrencyLimiter, ExternalApiResilience resilience,
+                       MeterRegistry meterRegistry, String route) {
+        this.settings = externalApiProperties.getSpill();
+        this.messagePayloadCodec = messagePayloadCodec;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreaker = resilience.getCircuitBreaker();
+        if (settings.isEnabled()) {
+            Assert.isTrue(settings.getSegmentSize().toBytes() <= Integer.MAX_VALUE,
+                    "external.api.spill.segment-size must be below 2GB");
+            Assert.isTrue(settings.getDrainRate() > 0, "external.api.spill.drain-rate must be positive");
+            Assert.isTrue(settings.getDrainConcurrency() > 0, "external.api.spill.drain-concurrency must be positive");
+            try {
+                this.journal = new SpillJournal(Path.of(settings.getDirectory()), (int) settings.getSegmentSize().toBytes(),
+                                                settings.getMaxSegments());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open the spill journal in " + settings.getDirectory(), e);
+            }
+            log.info("⚙️ Spill journal enabled - Directory: {}, Segments: {} x {}, Drain rate: {}/s, Drain concurrency: {}",
+                     settings.getDirectory(), settings.getMaxSegments(), settings.getSegmentSize(), settings.getDrainRate(),
+                     settings.getDrainConcurrency());
+        } else {
+            this.journal = null;
+        }
+
+        this.spilled = counter(meterRegistry, route, "spilled");
+        this.rejected = counter(meterRegistry, route, "rejected");
+        this.replayed = counter(meterRegistry, route, "replayed");
+        this.dropped = counter(meterRegistry, route, "dropped");
+        Gauge.builder("external.api.spill.pending", this, SpillBuffer::pending)
+                .description("Messages in the spill journal waiting to be replayed")
+                .baseUnit("messages")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String route, String event) {
+        return Counter.builder("external.api.spill.messages")
+                .description("Messages written to or replayed from the spill journal, by event")
+                .tag("event", event)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public void addListener(FullListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Whether a message should go to the journal rather than to the external API right now
+     */
+    public boolean shouldSpill() {
+        if (journal == null) {
+            return false;
+        }
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || concurrencyLimiter.isSaturated()
+                || state == CircuitBreaker.State.HALF_OPEN && journal.pending() > 0;
+    }
+
+    /**
+     * Writes the message to the journal; blocks until it is on disk
+     *
+     * @return false when it could not be written, in which case it has to be sent after all
+     */
+    public boolean spill(MessagePayload payload) {
+        byte[] json;
+        try {
+            json = messagePayloadCodec.write(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ Could not serialize message for the spill journal - Message ID: {}", payload.getId(), e);
+            return false;
+        }
+        if (!journal.append(json)) {
+            rejected.increment();
+            setFull(true);
+            return false;
+        }
+        spilled.increment();
+        return true;
+    }
+
+    /**
+     * Whether the drainer may replay a message now: there is one, and the API is not known to be unavailable
+     */
+    boolean canReplay() {
+        return journal != null && journal.pending() > 0
+                && circuitBreaker.getState() != CircuitBreaker.State.OPEN && !concurrencyLimiter.isSaturated();
+    }
+
+    /**
+     * Replays the drainer may have in flight at once; a single one while the circuit breaker is half-open,
+     * so that the trial calls are made one at a time
+     */
+    int replayWindow() {
+        return circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN ? 1 : settings.getDrainConcurrency();
+    }
+
+    /**
+     * The oldest message not yet acknowledged when previous is null, otherwise the one after previous
+     */
+    SpillJournal.Entry next(SpillJournal.Entry previous) {
+        SpillJournal.Entry entry = previous == null ? journal.next() : journal.nextAfter(previous);
+        releaseSegments();
+        return entry;
+    }
+
+    /**
+     * The message to send for a journal entry: its bytes go out exactly as they were spilled
+     */
+    MessagePayload decode(SpillJournal.Entry entry) throws JsonProcessingException {
+        MessagePayload payload = messagePayloadCodec.read(entry.record());
+        return new RawMessagePayload(payload.getId(), payload.getTimestamp(), payload.getSource(), entry.record(),
+                                     PayloadFormat.JSON);
+    }
+
+    void replayed(SpillJournal.Entry entry) {
+        journal.acknowledge(entry);
+        replayed.increment();
+        releaseSegments();
+    }
+
+    void dropped(SpillJournal.Entry entry) {
+        journal.acknowledge(entry);
+        dropped.increment();
+        releaseSegments();
+    }
+
+    private void releaseSegments() {
+        if (full && journal.segmentCount() < settings.getMaxSegments()) {
+            setFull(false);
+        }
+    }
+
+    public long pending() {
+        return journal != null ? journal.pending() : 0;
+    }
+
+    private synchronized void setFull(boolean full) {
+        if (this.full != full) {
+            this.full = full;
+            if (full) {
+                log.warn("⚠️ Spill journal full - {} segments of {}", settings.getMaxSegments(), settings.getSegmentSize());
+            }
+            listeners.forEach(listener -> listener.fullChanged(full));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.asyncapi.service.spill;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.service.ExternalApiService;
+import com.asyncapi.service.resilience.FailureClass;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the spill journal in the background whenever the circuit breaker is not open and the concurrency
+ * limiter has room. At most drain-rate replays are started per second, and up to drain-concurrency of them
+ * are in flight at once, so the drain is not held to one message per round trip. A replayed message goes
+ * through the retries, circuit breaker and limiter like any other; while the breaker is half-open its trial
+ * calls are the replayed messages, one at a time, since new messages keep being spilled until the journal
+ * is empty.
+ * <p>
+ * A message is done once the external API accepted it, or once it refused it with a client error, which
+ * replaying again would not change. Other failures keep it in flight to be replayed again. Messages are
+ * removed from the journal only in the order they were read, once every message before them is done too,
+ * so the checkpoint never skips one that is still pending and delivery is at least once; with the
+ * idempotency cache enabled, a message whose delivery was recorded before a crash is not sent twice.
+ */
+@Component
+public class SpillDrainer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillDrainer.class);
+
+    private final SpillBuffer spillBuffer;
+    private final ExternalApiService externalApiService;
+    private final Deque<Replay> inFlight = new ArrayDeque<>();
+    private final Disposable drainTask;
+
+    public SpillDrainer(SpillBuffer spillBuffer, ExternalApiService externalApiService,
+                        ExternalApiProperties externalApiProperties) {
+        this.spillBuffer = spillBuffer;
+        this.externalApiService = externalApiService;
+        if (spillBuffer.isEnabled()) {
+            long period = TimeUnit.SECONDS.toNanos(1) / externalApiProperties.getSpill().getDrainRate();
+            drainTask = Schedulers.boundedElastic().schedulePeriodically(this::drainQuietly, period, period,
+                                                                         TimeUnit.NANOSECONDS);
+        } else {
+            drainTask = null;
+        }
+    }
+
+    /**
+     * Starts one replay, if the external API can take it now: a failed one again, or else the next message
+     * read from the journal while there is room in the window
+     *
+     * @return whether a replay was started
+     */
+    boolean drainOne() {
+        if (!spillBuffer.canReplay()) {
+            return false;
+        }
+        Replay replay;
+        synchronized (this) {
+            replay = inFlight.stream().filter(candidate -> candidate.state == Replay.State.FAILED).findFirst()
+                    .orElse(null);
+            if (replay == null) {
+                if (inFlight.size() >= spillBuffer.replayWindow()) {
+                    return false;
+                }
+                SpillJournal.Entry entry = spillBuffer.next(inFlight.isEmpty() ? null : inFlight.peekLast().entry);
+                if (entry == null) {
+                    return false;
+                }
+                replay = new Replay(entry);
+                inFlight.add(replay);
+            }
+            replay.state = Replay.State.SENDING;
+        }
+        start(replay);
+        return true;
+    }
+
+    private void start(Replay replay) {
+        MessagePayload payload;
+        try {
+            payload = spillBuffer.decode(replay.entry);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Dropping unreadable message from the spill journal", e);
+            completed(replay, Replay.State.DROPPED);
+            return;
+        }
+        externalApiService.replay(payload).subscribe(
+                response -> { },
+                error -> {
+                    if (FailureClass.of(error) == FailureClass.CLIENT_ERROR) {
+                        log.error("❌ External API refused spilled message, dropping it - Message ID: {}",
+                                  payload.getId(), error);
+                        completed(replay, Replay.State.DROPPED);
+                    } else {
+                        log.debug("Replay of spilled message failed, keeping it for the next attempt - Message ID: {}",
+                                  payload.getId(), error);
+                        completed(replay, Replay.State.FAILED);
+                    }
+                },
+                () -> completed(replay, Replay.State.REPLAYED));
+    }
+
+    /**
+     * Records the replay's outcome and removes the messages at the head of the window that are done from the journal
+     */
+    private synchronized void completed(Replay replay, Replay.State state) {
+        replay.state = state;
+        while (!inFlight.isEmpty() && inFlight.peekFirst().state.isDone()) {
+            Replay done = inFlight.pollFirst();
+            if (done.state == Replay.State.REPLAYED) {
+                spillBuffer.replayed(done.entry);
+            } else {
+                spillBuffer.dropped(done.entry);
+            }
+        }
+    }
+
+    synchronized int inFlight() {
+        return inFlight.size();
+    }
+
+    private void drainQuietly() {
+        try {
+            drainOne();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not replay from the spill journal", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (drainTask != null) {
+            drainTask.dispose();
+        }
+    }
+
+    /**
+     * A message read from the journal and not yet removed from it
+     */
+    private static final class Replay {
+
+        enum State {
+            SENDING, FAILED, REPLAYED, DROPPED;
+
+            boolean isDone() {
+                return this == REPLAYED || this == DROPPED;
+            }
+        }
+
+        private final SpillJournal.Entry entry;
+        private State state;
+
+        private Replay(SpillJournal.Entry entry) {
+            this.entry = entry;
+        }
+    }
+}
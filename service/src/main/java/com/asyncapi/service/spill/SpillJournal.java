@@ -0,0 +1,438 @@
+package com.asyncapi.service.spill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of records, kept in fixed-size memory-mapped segment files that are written one
+ * after the other. Each record is stored as its length, the CRC32 of its bytes and the bytes themselves;
+ * a length of zero marks the end of the data in a segment, since segments start out zero-filled. An append
+ * returns only once the record has been forced to disk.
+ * <p>
+ * Records are read back in order from a cursor that {@link #acknowledge} advances; segments whose records
+ * are all acknowledged are deleted. {@link #nextAfter} reads ahead of the cursor, so several records can be
+ * in flight at once, as long as they are acknowledged in the order they were read. The cursor is kept in a
+ * small checkpoint file with its own CRC, forced to disk on every acknowledgement, so after a crash reading
+ * resumes at the first unacknowledged record, or at worst from the start of the oldest segment. Records that
+ * were read and handled but not yet acknowledged when the process died are read again, so a consumer of the
+ * journal sees at most the records it had in flight a second time.
+ * At startup each segment is scanned up to its first zero length or CRC mismatch, which discards a record
+ * that was torn by a crash while it was being written.
+ * <p>
+ * Segments are unmapped as soon as they are deleted or the journal is closed, rather than whenever the
+ * garbage collector gets to their buffers, so a deleted segment file does not keep its disk space in use.
+ * The journal cannot be used once closed.
+ */
+public class SpillJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillJournal.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int CHECKPOINT_BYTES = 2 * Long.BYTES + Integer.BYTES;
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final MappedByteBuffer checkpoint;
+    private Segment readSegment;
+    private int readPosition;
+    private long pending;
+    private boolean closed;
+
+    /**
+     * Opens the journal in the directory, recovering the segments and the read cursor left there
+     */
+    public SpillJournal(Path directory, int segmentBytes, int maxSegments) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be larger than " + HEADER_BYTES + " bytes");
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("At least one segment is needed");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_BYTES);
+        }
+        recover();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    long id = Long.parseLong(matcher.group(1));
+                    segments.put(id, Segment.open(file, id, segmentBytes));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, Segment.create(directory, 0, segmentBytes));
+        }
+
+        long checkpointSegment = checkpoint.getLong(0);
+        long checkpointPosition = checkpoint.getLong(Long.BYTES);
+        boolean checkpointValid = checksum(checkpointSegment, checkpointPosition) == checkpoint.getInt(2 * Long.BYTES)
+                && segments.containsKey(checkpointSegment)
+                && checkpointPosition >= 0 && checkpointPosition <= segmentBytes;
+        if (!checkpointValid) {
+            checkpointSegment = segments.firstKey();
+            checkpointPosition = 0;
+        }
+        // Segments before the checkpoint were fully read before a crash kept them from being deleted
+        for (Long id : List.copyOf(segments.headMap(checkpointSegment).keySet())) {
+            segments.remove(id).delete();
+        }
+
+        for (Segment segment : segments.values()) {
+            segment.writePosition = segment.scan(0);
+            pending += segment.countRecords(segment.id == checkpointSegment ? (int) checkpointPosition : 0,
+                                            segment.writePosition);
+        }
+        // Anything after the last readable record of the newest segment is a torn write; clear it for new appends
+        segments.lastEntry().getValue().clearFrom(segments.lastEntry().getValue().writePosition);
+
+        readSegment = segments.get(checkpointSegment);
+        readPosition = (int) checkpointPosition;
+        if (pending > 0) {
+            log.info("💾 Recovered spill journal in {} - Segments: {}, Records to replay: {}",
+                     directory, segments.size(), pending);
+        }
+    }
+
+    /**
+     * Appends the record and forces it to disk
+     *
+     * @return false when the record does not fit, because all segments are full or it is larger than a segment
+     */
+    public synchronized boolean append(byte[] record) {
+        ensureOpen();
+        int size = HEADER_BYTES + record.length;
+        if (size > segmentBytes) {
+            log.warn("⚠️ Record of {} bytes is larger than a spill segment", record.length);
+            return false;
+        }
+        Segment segment = segments.lastEntry().getValue();
+        if (segment.writePosition + size > segmentBytes) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            segment = rotate(segment);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        MappedByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+        // The length goes in last, so a record only becomes visible once its bytes and CRC are in place
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.put(position + HEADER_BYTES, record);
+        buffer.putInt(position, record.length);
+        buffer.force(position, size);
+        segment.writePosition = position + size;
+        pending++;
+        return true;
+    }
+
+    private Segment rotate(Segment full) {
+        try {
+            Segment next = Segment.create(directory, full.id + 1, segmentBytes);
+            segments.put(next.id, next);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create spill segment in " + directory, e);
+        }
+    }
+
+    /**
+     * The oldest record not yet acknowledged, or null when every record has been
+     */
+    public synchronized Entry next() {
+        ensureOpen();
+        while (true) {
+            int length = readSegment.lengthAt(readPosition);
+            if (length > 0) {
+                byte[] record = new byte[length];
+                readSegment.buffer.get(readPosition + HEADER_BYTES, record);
+                return new Entry(record, readSegment.id, readPosition + HEADER_BYTES + length);
+            }
+            Map.Entry<Long, Segment> following = segments.higherEntry(readSegment.id);
+            if (following == null) {
+                return null;
+            }
+            // The reader has passed the end of a segment the writer has left behind, so it is done with
+            segments.remove(readSegment.id).delete();
+            readSegment = following.getValue();
+            readPosition = 0;
+            saveCheckpoint();
+        }
+    }
+
+    /**
+     * The record following one returned by {@link #next} or by this method, without moving the read cursor
+     */
+    public synchronized Entry nextAfter(Entry previous) {
+        ensureOpen();
+        Segment segment = segments.get(previous.segment);
+        int position = previous.nextPosition;
+        while (true) {
+            if (segment != null) {
+                int length = segment.lengthAt(position);
+                if (length > 0) {
+                    byte[] record = new byte[length];
+                    segment.buffer.get(position + HEADER_BYTES, record);
+                    return new Entry(record, segment.id, position + HEADER_BYTES + length);
+                }
+            }
+            Map.Entry<Long, Segment> following = segments.higherEntry(segment != null ? segment.id : previous.segment);
+            if (following == null) {
+                return null;
+            }
+            segment = following.getValue();
+            position = 0;
+        }
+    }
+
+    /**
+     * Moves the read cursor past the entry, provided it is the record at the cursor; entries must be
+     * acknowledged in the order they were read
+     */
+    public synchronized void acknowledge(Entry entry) {
+        ensureOpen();
+        int start = entry.nextPosition - HEADER_BYTES - entry.record.length;
+        if (entry.segment != readSegment.id) {
+            // The first record of a later segment, read ahead once the cursor's segment had no more
+            if (entry.segment < readSegment.id || start != 0 || readSegment.lengthAt(readPosition) > 0) {
+                return;
+            }
+            while (readSegment.id < entry.segment) {
+                Map.Entry<Long, Segment> following = segments.higherEntry(readSegment.id);
+                segments.remove(readSegment.id).delete();
+                readSegment = following.getValue();
+                readPosition = 0;
+            }
+        }
+        if (start != readPosition) {
+            return;
+        }
+        readPosition = entry.nextPosition;
+        pending--;
+        saveCheckpoint();
+    }
+
+    /**
+     * Records appended and not yet acknowledged
+     */
+    public synchronized long pending() {
+        return pending;
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Whether a record of this size can be appended without exceeding the maximum number of segments
+     */
+    public synchronized boolean hasRoomFor(int recordLength) {
+        return segments.lastEntry().getValue().writePosition + HEADER_BYTES + recordLength <= segmentBytes
+                || segments.size() < maxSegments;
+    }
+
+    private void saveCheckpoint() {
+        checkpoint.putLong(0, readSegment.id);
+        checkpoint.putLong(Long.BYTES, readPosition);
+        checkpoint.putInt(2 * Long.BYTES, checksum(readSegment.id, readPosition));
+        checkpoint.force();
+    }
+
+    private static int checksum(long segment, long position) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(2 * Long.BYTES).putLong(segment).putLong(position).array());
+        return (int) crc.getValue();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            // The segments are unmapped, and touching an unmapped buffer crashes the JVM
+            throw new IllegalStateException("Spill journal in " + directory + " is closed");
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        checkpoint.force();
+        unmap(checkpoint);
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Releases the buffer's mapping now; where the JDK does not allow it, the mapping goes when the buffer is collected
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable e) {
+            log.debug("Could not unmap spill journal buffer", e);
+        }
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("⚠️ Cannot unmap spill segments, they are released by the garbage collector - {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * A record read from the journal, with the cursor position just past it
+     */
+    public record Entry(byte[] record, long segment, int nextPosition) {
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final long id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(Path file, long id, FileChannel channel, int size) throws IOException {
+            this.file = file;
+            this.id = id;
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        static Segment create(Path directory, long id, int size) throws IOException {
+            Path file = directory.resolve(String.format("segment-%020d.log", id));
+            return open(file, id, size);
+        }
+
+        static Segment open(Path file, long id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                   StandardOpenOption.WRITE);
+            return new Segment(file, id, channel, size);
+        }
+
+        /**
+         * Length of the record at the position, or 0 when there is no intact record there
+         */
+        int lengthAt(int position) {
+            if (position + HEADER_BYTES > buffer.capacity()) {
+                return 0;
+            }
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                return 0;
+            }
+            byte[] record = new byte[length];
+            buffer.get(position + HEADER_BYTES, record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                log.warn("⚠️ CRC mismatch in spill segment {} at position {}; the rest of the segment is skipped",
+                         file, position);
+                return 0;
+            }
+            return length;
+        }
+
+        /**
+         * Position just past the last intact record from the given position on
+         */
+        int scan(int position) {
+            int length;
+            while ((length = lengthAt(position)) > 0) {
+                position += HEADER_BYTES + length;
+            }
+            return position;
+        }
+
+        long countRecords(int from, int to) {
+            long count = 0;
+            int length;
+            for (int position = from; position < to && (length = buffer.getInt(position)) > 0;
+                 position += HEADER_BYTES + length) {
+                count++;
+            }
+            return count;
+        }
+
+        void clearFrom(int position) {
+            boolean cleared = false;
+            for (int i = position; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                    cleared = true;
+                }
+            }
+            if (cleared) {
+                buffer.force();
+            }
+        }
+
+        void close() {
+            unmap(buffer);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Could not close spill segment {}", file, e);
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("⚠️ Could not delete replayed spill segment {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.asyncapi.config;
+
+import com.asyncapi.consumer.lag.PartitionLag;
+import com.asyncapi.consumer.metrics.PollTimestampInterceptor;
+import com.asyncapi.model.MessagePayload;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeHintsConfigTest {
+
+    @Test
+    void registerHints_ShouldCoverReflectiveAccess() throws NoSuchMethodException {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new RuntimeHintsConfig.ServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(PollTimestampInterceptor.class.getConstructor()))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(MessagePayload.Deserializer.class.getConstructor()))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PartitionLag.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("avro/message-payload.avsc")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("asyncapi-bindings.yml")).accepts(hints);
+    }
+}
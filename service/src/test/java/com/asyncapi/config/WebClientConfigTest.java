@@ -0,0 +1,80 @@
+package com.asyncapi.config;
+
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class WebClientConfigTest {
+
+    @Test
+    void validate_ShouldAcceptDefaults() {
+        // Given
+        ExternalApiProperties properties = properties();
+
+        // When / Then
+        assertThatNoException().isThrownBy(() -> WebClientConfig.validate(properties));
+    }
+
+    @Test
+    void validate_ShouldRejectMissingBaseUrl() {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties();
+
+        // When / Then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> WebClientConfig.validate(properties))
+            .withMessageContaining("external.api.base-url");
+    }
+
+    @Test
+    void validate_ShouldRejectIdleTimeLongerThanLifeTime() {
+        // Given
+        ExternalApiProperties properties = properties();
+        properties.getPool().setMaxIdleTime(Duration.ofMinutes(10));
+
+        // When / Then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> WebClientConfig.validate(properties))
+            .withMessageContaining("max-idle-time");
+    }
+
+    @Test
+    void validate_ShouldRejectH2cOverHttps() {
+        // Given
+        ExternalApiProperties properties = properties();
+        properties.setBaseUrl("https://api.example.com");
+        properties.setProtocols(List.of(ExternalApiProperties.Protocol.H2C));
+
+        // When / Then
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> WebClientConfig.validate(properties))
+            .withMessageContaining("H2C");
+    }
+
+    @Test
+    void externalApiConnectionProvider_ShouldUseConfiguredPoolSize() {
+        // Given
+        ExternalApiProperties properties = properties();
+        properties.getPool().setMaxConnections(42);
+        properties.getPool().setMetricsEnabled(false);
+
+        // When
+        ConnectionProvider provider = new WebClientConfig(properties).externalApiConnectionProvider();
+
+        // Then
+        assertThat(provider.maxConnections()).isEqualTo(42);
+        provider.dispose();
+    }
+
+    private static ExternalApiProperties properties() {
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.setBaseUrl("http://localhost:9999");
+        return properties;
+    }
+}
@@ -0,0 +1,136 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncMessageDispatcherTest {
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final OffsetTracker offsetTracker = new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry());
+    private final AsyncMessageDispatcher dispatcher = new AsyncMessageDispatcher(offsetTracker,
+            consumerProperties, new ConsumerMetrics(new SimpleMeterRegistry()), new InboundRecordHandler(messageRouter,
+            new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+            mock(FailedRecordPublisher.class), consumerProperties, new MessageEventLogger(new MessageLoggingProperties())));
+
+    @Test
+    void dispatch_ShouldAcknowledgeOnlyUpToContiguousOffset_WhenRecordsCompleteOutOfOrder() {
+        // Given
+        Map<String, Sinks.One<String>> responses = new ConcurrentHashMap<>();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            return responses.computeIfAbsent(payload.getId(), id -> Sinks.one()).asMono();
+        });
+        for (long offset = 0; offset < 3; offset++) {
+            dispatcher.dispatch(record(offset));
+        }
+
+        // When / Then - the last record completing first commits nothing
+        responses.get("msg-2").tryEmitValue("ok");
+        assertThat(acknowledged).isEmpty();
+
+        responses.get("msg-0").tryEmitValue("ok");
+        assertThat(acknowledged).containsExactly(0L);
+
+        responses.get("msg-1").tryEmitValue("ok");
+        assertThat(acknowledged).containsExactly(0L, 2L);
+    }
+
+    @Test
+    void dispatch_ShouldRetryFailedRecord_InsteadOfSkippingIt() {
+        // Given
+        consumerProperties.setRedeliveryBackoff(Duration.ofMillis(10));
+        AtomicInteger attempts = new AtomicInteger();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            if (!payload.getId().equals("msg-0")) {
+                return Mono.just("ok");
+            }
+            return Mono.defer(() -> attempts.incrementAndGet() < 3
+                    ? Mono.error(new IllegalStateException("API unavailable"))
+                    : Mono.just("ok"));
+        });
+
+        // When
+        dispatcher.dispatch(record(0L));
+        dispatcher.dispatch(record(1L));
+
+        // Then - the second record is held back until the first one finally succeeds
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(acknowledged).containsExactly(1L));
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void dispatch_ShouldDropInFlightRecords_WhenPartitionIsRevoked() {
+        // Given
+        consumerProperties.setRedeliveryBackoff(Duration.ofMillis(10));
+        Sinks.One<String> pending = Sinks.one();
+        AtomicInteger failingAttempts = new AtomicInteger();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            if (payload.getId().equals("msg-0")) {
+                return pending.asMono();
+            }
+            return Mono.defer(() -> {
+                failingAttempts.incrementAndGet();
+                return Mono.error(new IllegalStateException("API unavailable"));
+            });
+        });
+        dispatcher.dispatch(record(0L));
+        dispatcher.dispatch(record(1L));
+        await().atMost(Duration.ofSeconds(5)).until(() -> failingAttempts.get() > 1);
+
+        // When
+        offsetTracker.revoke(List.of(new TopicPartition("message-topic", 0)));
+        int attemptsAtRevoke = failingAttempts.get();
+        pending.tryEmitValue("ok");
+
+        // Then - the late completion commits nothing and the failing record stops being retried
+        await().pollDelay(Duration.ofMillis(100)).atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(failingAttempts.get()).isLessThanOrEqualTo(attemptsAtRevoke + 1));
+        assertThat(acknowledged).isEmpty();
+    }
+
+    private Message<byte[]> record(long offset) {
+        String json = "{\"id\":\"msg-" + offset + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+        Acknowledgment acknowledgment = () -> acknowledged.add(offset);
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchMessageProcessorTest {
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final FailedRecordPublisher failedRecordPublisher = mock(FailedRecordPublisher.class);
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final BatchMessageProcessor processor = new BatchMessageProcessor(messageRouter,
+            new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+            consumerProperties, failedRecordPublisher, new ConsumerMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void process_ShouldSendParseableRecordsAndAcknowledgeOnce_WhenAllCallsSucceed() {
+        // Given
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.just("ok"));
+
+        // When
+        processor.process(batch(json("msg-001"), "not-json", json("msg-002")));
+
+        // Then
+        verify(messageRouter, times(2)).deliver(any(MessagePayload.class), any());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void process_ShouldFailAtLowestFailedIndex_WhenSomeCallsFail() {
+        // Given
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.just("ok"));
+        when(messageRouter.deliver(argThat(payload -> payload != null && !payload.getId().equals("msg-001")), any()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        // When / Then
+        assertThatThrownBy(() -> processor.process(batch(json("msg-001"), json("msg-002"), json("msg-003"))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void process_ShouldMoveFailedRecordsAwayAndCommitWholeBatch_WhenRetryTopicsAreEnabled() {
+        // Given
+        when(failedRecordPublisher.isEnabled()).thenReturn(true);
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.just("ok"));
+        when(messageRouter.deliver(argThat(payload -> payload != null && payload.getId().equals("msg-003")), any()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        // When
+        processor.process(batch(json("msg-001"), "not-json", json("msg-003")));
+
+        // Then
+        verify(failedRecordPublisher).deadLetter(argThat(record -> new String(record.getPayload(), StandardCharsets.UTF_8).equals("not-json")
+                && Long.valueOf(1L).equals(record.getHeaders().get(KafkaHeaders.OFFSET))), any());
+        verify(failedRecordPublisher).retryLater(argThat(record -> new String(record.getPayload(), StandardCharsets.UTF_8).contains("msg-003")
+                && Long.valueOf(2L).equals(record.getHeaders().get(KafkaHeaders.OFFSET))), any(IllegalStateException.class));
+        verify(acknowledgment).acknowledge();
+    }
+
+    private Message<List<byte[]>> batch(String... records) {
+        List<byte[]> payloads = Arrays.stream(records).map(json -> json.getBytes(StandardCharsets.UTF_8)).toList();
+        return MessageBuilder.withPayload(payloads)
+                .setHeader(KafkaHeaders.OFFSET, List.of(0L, 1L, 2L))
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, List.of(0, 0, 0))
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                .build();
+    }
+
+    private static String json(String id) {
+        return "{\"id\":\"" + id + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+    }
+}
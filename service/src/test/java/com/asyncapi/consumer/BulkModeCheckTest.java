@@ -0,0 +1,65 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.config.ExternalApiProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class BulkModeCheckTest {
+
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final ExternalApiProperties externalApiProperties = new ExternalApiProperties();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty(BulkModeCheck.FUNCTION_DEFINITION, "messageConsumer");
+
+    @Test
+    void constructor_ShouldFail_WhenBulkIsEnabledInSyncMode() {
+        // Given
+        externalApiProperties.getBulk().setEnabled(true);
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BulkModeCheck(consumerProperties, externalApiProperties, environment))
+                .withMessageContaining("external.api.bulk.enabled");
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenARouteEnablesBulkInSyncMode() {
+        // Given
+        ExternalApiProperties.Bulk bulk = new ExternalApiProperties.Bulk();
+        bulk.setEnabled(true);
+        ExternalApiProperties.Route route = new ExternalApiProperties.Route();
+        route.setName("billing");
+        route.setBulk(bulk);
+        externalApiProperties.setRoutes(List.of(route));
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BulkModeCheck(consumerProperties, externalApiProperties, environment))
+                .withMessageContaining("'billing'");
+    }
+
+    @Test
+    void constructor_ShouldPass_WhenBulkRecordsAreDispatchedConcurrently() {
+        // Given
+        externalApiProperties.getBulk().setEnabled(true);
+        consumerProperties.setMode(ConsumerProperties.ProcessingMode.ASYNC);
+
+        // When / Then
+        assertThatNoException().isThrownBy(() -> new BulkModeCheck(consumerProperties, externalApiProperties, environment));
+    }
+
+    @Test
+    void constructor_ShouldPass_WhenOnlyTheBatchConsumerIsBound() {
+        // Given
+        externalApiProperties.getBulk().setEnabled(true);
+        environment.setProperty(BulkModeCheck.FUNCTION_DEFINITION, "batchMessageConsumer;retryMessageConsumer");
+
+        // When / Then
+        assertThatNoException().isThrownBy(() -> new BulkModeCheck(consumerProperties, externalApiProperties, environment));
+    }
+}
@@ -0,0 +1,167 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConsumerPauseControllerTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private AdaptiveConcurrencyLimiter limiter;
+    private ExternalApiResilience resilience;
+    private SpillBuffer spillBuffer;
+
+    @BeforeEach
+    void setUp() {
+        properties.getConcurrencyLimit().setEnabled(true);
+        properties.getConcurrencyLimit().setInitialLimit(1);
+        properties.getConcurrencyLimit().setMinLimit(1);
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        properties.getCircuitBreaker().setSlidingWindowSize(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (spillBuffer != null) {
+            spillBuffer.destroy();
+        }
+    }
+
+    @Test
+    void resume_ShouldWaitForLastReason_WhenLimiterAndCircuitOverlap() {
+        // Given
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(200));
+        ConsumerPauseController controller = controller();
+        controller.register(container);
+
+        // When - the limiter saturates, then the circuit opens while it still is
+        Disposable inFlight = limiter.execute(Mono::never).subscribe();
+        Disposable waiting = limiter.execute(Mono::never).subscribe();
+        resilience.getCircuitBreaker().onFailure();
+
+        // Then
+        assertThat(controller.isPaused()).isTrue();
+        verify(container, times(1)).pause();
+
+        // When - the limiter has room again, but the circuit is still open
+        waiting.dispose();
+        inFlight.dispose();
+
+        // Then
+        assertThat(limiter.isSaturated()).isFalse();
+        assertThat(controller.isPaused()).isTrue();
+        verify(container, never()).resume();
+
+        // When / Then - the circuit goes half-open after its open duration
+        await().atMost(Duration.ofSeconds(5)).until(() -> !controller.isPaused());
+        verify(container, times(1)).resume();
+    }
+
+    @Test
+    void register_ShouldPauseNewContainer_WhenAReasonIsAlreadyActive() {
+        // Given
+        ConsumerPauseController controller = controller();
+        controller.pause(ConsumerPauseController.CONCURRENCY_LIMIT);
+
+        // When
+        controller.register(container);
+
+        // Then
+        verify(container).pause();
+    }
+
+    @Test
+    void constructor_ShouldPauseOnlyForFullJournal_WhenSpillIsEnabled(@TempDir Path directory) {
+        // Given
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setDirectory(directory.toString());
+        properties.getSpill().setSegmentSize(DataSize.ofBytes(256));
+        properties.getSpill().setMaxSegments(1);
+        ConsumerPauseController controller = controller();
+        controller.register(container);
+
+        // When - the circuit opens and the limiter saturates, which the journal absorbs
+        resilience.getCircuitBreaker().onFailure();
+        limiter.execute(Mono::never).subscribe();
+        limiter.execute(Mono::never).subscribe();
+
+        // Then
+        assertThat(limiter.isSaturated()).isTrue();
+        assertThat(controller.isPaused()).isFalse();
+        verify(container, never()).pause();
+
+        // When - the journal runs out of room
+        int spilled = 0;
+        while (spillBuffer.spill(payload(spilled))) {
+            spilled++;
+        }
+
+        // Then
+        assertThat(spilled).isPositive();
+        assertThat(controller.isPaused()).isTrue();
+        verify(container).pause();
+    }
+
+    @Test
+    void resumePartition_ShouldWaitForLastReason_WhenBacklogAndRetryDelayOverlap() {
+        // Given
+        TopicPartition partition = new TopicPartition("message-topic-retry-1s", 0);
+        when(container.getAssignedPartitions()).thenReturn(List.of(partition));
+        ConsumerPauseController controller = controller();
+        controller.register(container);
+
+        // When
+        controller.pausePartition(partition, ConsumerPauseController.RETRY_NOT_DUE);
+        controller.backlogHigh(partition);
+        controller.resumePartition(partition, ConsumerPauseController.RETRY_NOT_DUE);
+
+        // Then
+        verify(container, times(1)).pausePartition(partition);
+        verify(container, never()).resumePartition(partition);
+
+        // When
+        controller.backlogLow(partition);
+
+        // Then
+        verify(container, times(1)).resumePartition(partition);
+    }
+
+    private ConsumerPauseController controller() {
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        resilience = new ExternalApiResilience(properties, new SimpleMeterRegistry());
+        spillBuffer = new SpillBuffer(properties, new MessagePayloadCodec(new ObjectMapper()), limiter, resilience,
+                                      new SimpleMeterRegistry());
+        return new ConsumerPauseController(limiter, resilience, spillBuffer);
+    }
+
+    private static MessagePayload payload(int index) {
+        return MessagePayload.builder().id("msg-" + index).content("Test content").timestamp(1L).source("unit-test").build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.metrics.RecordMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.offset.PartitionOffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InboundRecordHandlerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("message-topic", 0);
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final ConsumerMetrics consumerMetrics = new ConsumerMetrics(new SimpleMeterRegistry());
+    private final PartitionOffsetTracker tracker =
+            new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry()).forPartition(PARTITION);
+    private final InboundRecordHandler handler = new InboundRecordHandler(messageRouter,
+            new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+            mock(FailedRecordPublisher.class), consumerProperties, new MessageEventLogger(new MessageLoggingProperties()));
+
+    @Test
+    void parse_ShouldSkipAndCompleteRecord_WhenItDoesNotParseAndRetryTopicsAreDisabled() {
+        // Given
+        Message<byte[]> message = record(0L, "not json");
+        tracker.track(0L, acknowledgment(0L));
+
+        // When
+        MessagePayload messagePayload = handler.parse(message, consumerMetrics.received(message), tracker, 0L);
+
+        // Then
+        assertThat(messagePayload).isNull();
+        assertThat(acknowledged).containsExactly(0L);
+    }
+
+    @Test
+    void deliverAndWait_ShouldRedeliverAfterBackoff_UntilTheCallSucceeds() throws InterruptedException {
+        // Given
+        consumerProperties.setRedeliveryBackoff(Duration.ofMillis(10));
+        AtomicInteger attempts = new AtomicInteger();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.defer(() ->
+                attempts.incrementAndGet() < 3 ? Mono.error(new IllegalStateException("API unavailable")) : Mono.just("ok")));
+        Message<byte[]> message = record(0L, json(0L));
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        tracker.track(0L, acknowledgment(0L));
+        MessagePayload messagePayload = handler.parse(message, recordMetrics, tracker, 0L);
+
+        // When
+        handler.deliverAndWait(message, messagePayload, recordMetrics, tracker, 0L);
+
+        // Then
+        assertThat(attempts).hasValue(3);
+        assertThat(acknowledged).containsExactly(0L);
+    }
+
+    @Test
+    void deliverAndWait_ShouldStopRedelivering_WhenTheWaitingThreadIsInterrupted() throws InterruptedException {
+        // Given
+        consumerProperties.setRedeliveryBackoff(Duration.ofMillis(10));
+        AtomicInteger attempts = new AtomicInteger();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalStateException("API unavailable"));
+        }));
+        Message<byte[]> message = record(0L, json(0L));
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        tracker.track(0L, acknowledgment(0L));
+        MessagePayload messagePayload = handler.parse(message, recordMetrics, tracker, 0L);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread lane = new Thread(() -> assertThatThrownBy(
+                () -> handler.deliverAndWait(message, messagePayload, recordMetrics, tracker, 0L))
+                .isInstanceOf(InterruptedException.class));
+        lane.setUncaughtExceptionHandler((thread, error) -> thrown.set(error));
+        lane.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> attempts.get() > 1);
+
+        // When
+        lane.interrupt();
+        lane.join(5_000);
+        int attemptsAtInterrupt = attempts.get();
+
+        // Then - the pending redelivery was cancelled and nothing was committed
+        assertThat(lane.isAlive()).isFalse();
+        assertThat(thrown.get()).isNull();
+        await().pollDelay(Duration.ofMillis(100)).atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(attempts.get()).isLessThanOrEqualTo(attemptsAtInterrupt + 1));
+        assertThat(acknowledged).isEmpty();
+    }
+
+    @Test
+    void deliverAndWait_ShouldMoveRecordToRetryTopics_WhenInterruptedWithRetryTopicsEnabled() throws InterruptedException {
+        // Given
+        FailedRecordPublisher failedRecordPublisher = mock(FailedRecordPublisher.class);
+        when(failedRecordPublisher.isEnabled()).thenReturn(true);
+        InboundRecordHandler retryingHandler = new InboundRecordHandler(messageRouter,
+                new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+                failedRecordPublisher, consumerProperties, new MessageEventLogger(new MessageLoggingProperties()));
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.never());
+        Message<byte[]> message = record(0L, json(0L));
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        tracker.track(0L, acknowledgment(0L));
+        MessagePayload messagePayload = retryingHandler.parse(message, recordMetrics, tracker, 0L);
+        Thread lane = new Thread(() -> assertThatThrownBy(
+                () -> retryingHandler.deliverAndWait(message, messagePayload, recordMetrics, tracker, 0L))
+                .isInstanceOf(InterruptedException.class));
+        lane.start();
+
+        // When
+        lane.interrupt();
+        lane.join(5_000);
+
+        // Then - the record is settled through the retry topics rather than left holding back the partition
+        verify(failedRecordPublisher).publishAndComplete(eq(message), isA(InterruptedException.class), eq(false),
+                                                         eq(tracker), eq(0L));
+    }
+
+    private Acknowledgment acknowledgment(long offset) {
+        return () -> acknowledged.add(offset);
+    }
+
+    private static String json(long offset) {
+        return "{\"id\":\"msg-" + offset + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+    }
+
+    private static Message<byte[]> record(long offset, String payload) {
+        return MessageBuilder.withPayload(payload.getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, PARTITION.topic())
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, PARTITION.partition())
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .build();
+    }
+}
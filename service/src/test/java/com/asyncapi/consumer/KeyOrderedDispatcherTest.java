@@ -0,0 +1,88 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeyOrderedDispatcherTest {
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(
+            new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry()), consumerProperties,
+            new ConsumerMetrics(new SimpleMeterRegistry()), new InboundRecordHandler(messageRouter,
+            new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+            mock(FailedRecordPublisher.class), consumerProperties, new MessageEventLogger(new MessageLoggingProperties())));
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void dispatch_ShouldKeepPerKeyOrderAndCommitAllOffsets() {
+        // Given - the first message of key-a only completes once key-b has overtaken it
+        Sinks.Empty<Void> otherKeySent = Sinks.empty();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            Mono<Void> gate = payload.getId().equals("a-1") ? otherKeySent.asMono() : Mono.empty();
+            return gate.then(Mono.fromRunnable(() -> {
+                sent.add(payload.getId());
+                if (payload.getId().equals("b-1")) {
+                    otherKeySent.tryEmitEmpty();
+                }
+            })).thenReturn("ok");
+        });
+
+        // When
+        dispatcher.dispatch(record(0L, "key-a", "a-1"));
+        dispatcher.dispatch(record(1L, "key-b", "b-1"));
+        dispatcher.dispatch(record(2L, "key-a", "a-2"));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(acknowledged).contains(2L));
+        assertThat(sent).containsSubsequence("a-1", "a-2");
+        assertThat(sent.indexOf("b-1")).isLessThan(sent.indexOf("a-1"));
+    }
+
+    private Message<byte[]> record(long offset, String key, String id) {
+        String json = "{\"id\":\"" + id + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+        Acknowledgment acknowledgment = () -> acknowledged.add(offset);
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .setHeader(KafkaHeaders.RECEIVED_KEY, key)
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.asyncapi.consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class PollSizeCheckTest {
+
+    private static final String BINDING_POLL_SIZE =
+            "spring.cloud.stream.kafka.bindings.messageConsumer-in-0.consumer.configuration.max.poll.records";
+
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final MockEnvironment environment = new MockEnvironment();
+
+    @Test
+    void constructor_ShouldFail_WhenKafkaDefaultPollSizeExceedsWhatAPartitionCanTake() {
+        // Given
+        consumerProperties.setMode(ConsumerProperties.ProcessingMode.ASYNC);
+
+        // When / Then - 256 in flight, paused at 192, leaves room for 65 records per poll, not 500
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PollSizeCheck(consumerProperties, environment))
+                .withMessageContaining("messageConsumer-in-0")
+                .withMessageContaining("(65)");
+    }
+
+    @Test
+    void constructor_ShouldPass_WhenBindingCapsThePollSize() {
+        // Given
+        consumerProperties.setMode(ConsumerProperties.ProcessingMode.KEY_ORDERED);
+        consumerProperties.getRetryTopics().setEnabled(false);
+        environment.setProperty(BINDING_POLL_SIZE, "64");
+        environment.setProperty("spring.kafka.consumer.max-poll-records", "500");
+
+        // When / Then
+        assertThatNoException().isThrownBy(() -> new PollSizeCheck(consumerProperties, environment));
+    }
+
+    @Test
+    void constructor_ShouldCheckOnlyRetryConsumer_InSyncMode() {
+        // Given
+        consumerProperties.getRetryTopics().setEnabled(true);
+
+        // When / Then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PollSizeCheck(consumerProperties, environment))
+                .withMessageContaining("retryMessageConsumer-in-0");
+
+        environment.setProperty(
+                "spring.cloud.stream.kafka.bindings.retryMessageConsumer-in-0.consumer.configuration.max.poll.records", "64");
+        assertThatNoException().isThrownBy(() -> new PollSizeCheck(consumerProperties, environment));
+    }
+
+    @Test
+    void maxPollRecords_ShouldPreferBinderSettings_OverSpringKafkaOnes() {
+        // Given
+        environment.setProperty("spring.kafka.consumer.max-poll-records", "10");
+        environment.setProperty("spring.cloud.stream.kafka.binder.consumer-properties.max.poll.records", "20");
+
+        // When / Then
+        assertThat(PollSizeCheck.maxPollRecords("messageConsumer-in-0", environment)).isEqualTo(20);
+        assertThat(PollSizeCheck.maxPollRecords("other-in-0", new MockEnvironment())).isEqualTo(500);
+    }
+}
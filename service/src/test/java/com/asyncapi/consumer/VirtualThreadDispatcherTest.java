@@ -0,0 +1,138 @@
+package com.asyncapi.consumer;
+
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.consumer.retry.FailedRecordPublisher;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VirtualThreadDispatcherTest {
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private VirtualThreadDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void dispatch_ShouldCommitOffsetsInOrder_WhenRecordsCompleteOutOfOrder() {
+        // Given - the first record only completes once the second has been sent
+        Sinks.Empty<Void> secondSent = Sinks.empty();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            Mono<Void> gate = payload.getId().equals("msg-0") ? secondSent.asMono() : Mono.empty();
+            return gate.then(Mono.fromRunnable(() -> {
+                sent.add(payload.getId());
+                if (payload.getId().equals("msg-1")) {
+                    secondSent.tryEmitEmpty();
+                }
+            })).thenReturn("ok");
+        });
+        dispatcher = dispatcher();
+
+        // When
+        dispatcher.dispatch(record(0L));
+        dispatcher.dispatch(record(1L));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(acknowledged).contains(1L));
+        assertThat(sent).containsExactly("msg-1", "msg-0");
+    }
+
+    @Test
+    void dispatch_ShouldHandleAtMostMaxConcurrencyRecordsAtOnce() {
+        // Given
+        consumerProperties.getVirtualThreads().setMaxConcurrency(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20))
+                    .doOnNext(tick -> running.decrementAndGet())
+                    .thenReturn("ok");
+        });
+        dispatcher = dispatcher();
+
+        // When
+        for (long offset = 0; offset < 10; offset++) {
+            dispatcher.dispatch(record(offset));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(acknowledged).contains(9L));
+        assertThat(mostRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenVirtualThreadsAreUnavailable() {
+        // Given
+        consumerProperties.setMode(ConsumerProperties.ProcessingMode.VIRTUAL);
+
+        // When / Then - the error surfaces at startup rather than on the first record
+        assertThatIllegalStateException()
+                .isThrownBy(() -> new VirtualThreadDispatcher(
+                        new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry()),
+                        consumerProperties, new ConsumerMetrics(new SimpleMeterRegistry()), mock(InboundRecordHandler.class),
+                        () -> {
+                            throw new IllegalStateException("consumer.mode VIRTUAL needs Java 21 or later");
+                        }))
+                .withMessageContaining("Java 21");
+    }
+
+    private VirtualThreadDispatcher dispatcher() {
+        // Platform threads stand in for virtual threads, which this Java 17 build cannot create
+        consumerProperties.setMode(ConsumerProperties.ProcessingMode.VIRTUAL);
+        return new VirtualThreadDispatcher(
+                new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry()), consumerProperties,
+                new ConsumerMetrics(new SimpleMeterRegistry()), new InboundRecordHandler(messageRouter,
+                new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+                mock(FailedRecordPublisher.class), consumerProperties, new MessageEventLogger(new MessageLoggingProperties())),
+                Executors::newCachedThreadPool);
+    }
+
+    private Message<byte[]> record(long offset) {
+        String json = "{\"id\":\"msg-" + offset + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+        Acknowledgment acknowledgment = () -> acknowledged.add(offset);
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                .build();
+    }
+}
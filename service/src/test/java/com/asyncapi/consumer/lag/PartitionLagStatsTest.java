@@ -0,0 +1,56 @@
+package com.asyncapi.consumer.lag;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PartitionLagStatsTest {
+
+    private final PartitionLagStats stats = new PartitionLagStats("message-consumer-group",
+            new TopicPartition("message-topic", 0), 0.5);
+
+    @Test
+    void sample_ShouldEstimateTimeToCatchUp_WhenConsumingFasterThanProducing() {
+        // Given
+        stats.sample(0, 1000, 2000);
+
+        // When
+        stats.sample(10_000, 1500, 2100);
+
+        // Then
+        PartitionLag lag = stats.snapshot();
+        assertThat(lag.lag()).isEqualTo(600);
+        assertThat(lag.consumeRate()).isEqualTo(50.0);
+        assertThat(lag.produceRate()).isEqualTo(10.0);
+        assertThat(lag.secondsToCatchUp()).isCloseTo(15.0, within(0.001));
+    }
+
+    @Test
+    void sample_ShouldSmoothRatesAcrossSamples() {
+        // Given
+        stats.sample(0, 0, 0);
+        stats.sample(1000, 100, 100);
+
+        // When
+        stats.sample(2000, 100, 300);
+
+        // Then
+        assertThat(stats.consumeRate()).isEqualTo(50.0);
+        assertThat(stats.produceRate()).isEqualTo(150.0);
+    }
+
+    @Test
+    void snapshot_ShouldReportNoCatchUpEstimate_WhenLagIsGrowing() {
+        // Given
+        stats.sample(0, 100, 200);
+
+        // When
+        stats.sample(1000, 110, 300);
+
+        // Then
+        assertThat(stats.snapshot().secondsToCatchUp()).isNull();
+        assertThat(stats.secondsToCatchUp()).isNaN();
+    }
+}
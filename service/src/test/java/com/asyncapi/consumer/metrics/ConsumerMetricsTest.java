@@ -0,0 +1,76 @@
+package com.asyncapi.consumer.metrics;
+
+import com.asyncapi.service.ExternalApiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumerMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConsumerMetrics consumerMetrics = new ConsumerMetrics(meterRegistry);
+
+    @Test
+    void received_ShouldRecordPollToHandleAndEndToEndPerPartition_WhenRecordIsDelivered() {
+        // Given
+        long polledAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(50);
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0])
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, "message-topic")
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 3)
+                .setHeader(KafkaHeaders.RECEIVED_TIMESTAMP, System.currentTimeMillis() - 2000)
+                .setHeader(PollTimestampInterceptor.POLLED_AT_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(polledAt).array())
+                .build();
+
+        // When
+        RecordMetrics recordMetrics = consumerMetrics.received(message);
+        recordMetrics.parsed(System.nanoTime(), true);
+        recordMetrics.delivered("{\"status\":\"success\"}");
+
+        // Then
+        assertThat(meterRegistry.get("consumer.record.poll.to.handle").tags("topic", "message-topic", "partition", "3")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(meterRegistry.get("consumer.record.parse").tags("partition", "3", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("consumer.record.end.to.end").tags("partition", "3", "result", "success")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2000);
+        assertThat(meterRegistry.get("consumer.records").tags("partition", "3", "result", "success")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void delivered_ShouldCountSkipped_WhenMessageWasAlreadyDelivered() {
+        // Given
+        RecordMetrics recordMetrics = consumerMetrics.received("message-topic", 0, null, null);
+
+        // When
+        recordMetrics.delivered(ExternalApiService.DUPLICATE_RESPONSE);
+
+        // Then
+        assertThat(meterRegistry.get("consumer.records").tags("result", "skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("consumer.records").tags("result", "success").counter().count()).isZero();
+        assertThat(meterRegistry.get("consumer.record.end.to.end").tags("result", "skipped").timer().count()).isZero();
+    }
+
+    @Test
+    void received_ShouldRecordTimeToFirstMessageOnce() throws InterruptedException {
+        // Given
+        consumerMetrics.received("message-topic", 0, null, null);
+        double firstMessageTime = meterRegistry.get("application.first.message.time").timeGauge().value(TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+
+        // When
+        consumerMetrics.received("message-topic", 1, null, null);
+
+        // Then
+        assertThat(firstMessageTime).isPositive();
+        assertThat(meterRegistry.get("application.first.message.time").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isEqualTo(firstMessageTime);
+    }
+}
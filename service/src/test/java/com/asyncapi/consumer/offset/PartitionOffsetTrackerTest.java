@@ -0,0 +1,122 @@
+package com.asyncapi.consumer.offset;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionOffsetTrackerTest {
+
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker(new TopicPartition("message-topic", 0));
+    private final List<Long> acknowledged = new ArrayList<>();
+
+    @Test
+    void complete_ShouldAcknowledgeOnlyContiguousOffsets_WhenRecordsFinishOutOfOrder() {
+        // Given
+        track(10L, 11L, 12L);
+
+        // When
+        tracker.complete(12L);
+        tracker.complete(11L);
+
+        // Then
+        assertThat(acknowledged).isEmpty();
+        assertThat(tracker.inFlight()).isEqualTo(3);
+
+        // When
+        tracker.complete(10L);
+
+        // Then
+        assertThat(acknowledged).containsExactly(12L);
+        assertThat(tracker.getLastAcknowledgedOffset()).isEqualTo(12L);
+        assertThat(tracker.inFlight()).isZero();
+    }
+
+    @Test
+    void complete_ShouldNotBeHeldBackByOffsetGaps() {
+        // Given
+        track(5L, 9L);
+
+        // When
+        tracker.complete(5L);
+        tracker.complete(9L);
+
+        // Then
+        assertThat(acknowledged).containsExactly(5L, 9L);
+    }
+
+    @Test
+    void revoke_ShouldIgnoreLaterCompletions() {
+        // Given
+        track(1L, 2L);
+
+        // When
+        int abandoned = tracker.revoke();
+        tracker.complete(1L);
+
+        // Then
+        assertThat(abandoned).isEqualTo(2);
+        assertThat(acknowledged).isEmpty();
+        assertThat(tracker.isRevoked()).isTrue();
+    }
+
+    @Test
+    void awaitCapacity_ShouldReturnOnceARecordCompletes() throws InterruptedException {
+        // Given
+        track(1L);
+        Thread completer = new Thread(() -> tracker.complete(1L));
+
+        // When
+        completer.start();
+        tracker.awaitCapacity(1);
+        completer.join();
+
+        // Then
+        assertThat(tracker.inFlight()).isZero();
+    }
+
+    @Test
+    void trackAndComplete_ShouldSignalBacklogOnceAtEachWatermark() {
+        // Given
+        TopicPartition topicPartition = new TopicPartition("message-topic", 0);
+        List<String> signals = new ArrayList<>();
+        PartitionOffsetTracker watermarked = new PartitionOffsetTracker(topicPartition, 3, 1, new BacklogListener() {
+            @Override
+            public void backlogHigh(TopicPartition partition) {
+                signals.add("high");
+            }
+
+            @Override
+            public void backlogLow(TopicPartition partition) {
+                signals.add("low");
+            }
+        });
+
+        // When
+        for (long offset = 0; offset < 4; offset++) {
+            watermarked.track(offset, () -> { });
+        }
+        watermarked.complete(0L);
+        watermarked.complete(1L);
+
+        // Then
+        assertThat(signals).containsExactly("high");
+
+        // When
+        watermarked.complete(2L);
+
+        // Then
+        assertThat(signals).containsExactly("high", "low");
+    }
+
+    private void track(Long... offsets) {
+        for (Long offset : offsets) {
+            Acknowledgment acknowledgment = () -> acknowledged.add(offset);
+            tracker.track(offset, acknowledgment);
+        }
+    }
+}
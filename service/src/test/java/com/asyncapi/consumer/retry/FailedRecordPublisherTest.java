@@ -0,0 +1,111 @@
+package com.asyncapi.consumer.retry;
+
+import com.asyncapi.consumer.ConsumerProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FailedRecordPublisherTest {
+
+    private final StreamBridge streamBridge = mock(StreamBridge.class);
+    private final FailedRecordPublisher publisher = new FailedRecordPublisher(streamBridge, new ConsumerProperties());
+
+    @Test
+    void retryLater_ShouldPublishToFirstRetryTopicWithFailureHeaders_WhenRecordComesFromMainTopic() {
+        // Given
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        long before = System.currentTimeMillis();
+
+        // When
+        publisher.retryLater(record("message-topic", null), new IllegalStateException("boom"));
+
+        // Then
+        Message<byte[]> published = captured("message-topic-retry-1s");
+        assertThat(new String(published.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"msg-001\"}");
+        assertThat(ByteBuffer.wrap(header(published, RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS)).getInt()).isEqualTo(2);
+        assertThat(ByteBuffer.wrap(header(published, KafkaHeaders.DLT_ORIGINAL_PARTITION)).getInt()).isEqualTo(3);
+        assertThat(ByteBuffer.wrap(header(published, KafkaHeaders.DLT_ORIGINAL_OFFSET)).getLong()).isEqualTo(42L);
+        assertThat(new String(header(published, KafkaHeaders.DLT_EXCEPTION_FQCN), StandardCharsets.UTF_8))
+                .isEqualTo(IllegalStateException.class.getName());
+        assertThat(publisher.dueAt(MessageBuilder.withPayload("").copyHeaders(published.getHeaders()).build()))
+                .isGreaterThanOrEqualTo(before + 1000);
+    }
+
+    @Test
+    void retryLater_ShouldDeadLetterUnderOriginalTopic_WhenLastRetryTopicFails() {
+        // Given
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        Message<byte[]> fromLastRetryTopic = record("message-topic-retry-5m", 4);
+
+        // When
+        publisher.retryLater(fromLastRetryTopic, new IllegalStateException("still failing"));
+
+        // Then
+        Message<byte[]> published = captured("message-topic-dlt");
+        assertThat(ByteBuffer.wrap(header(published, RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS)).getInt()).isEqualTo(4);
+    }
+
+    @Test
+    void retryLater_ShouldCarryOverRecordHeaders_WhenRecordHasCustomHeaders() {
+        // Given
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        Message<byte[]> withTenant = MessageBuilder.fromMessage(record("message-topic", null))
+                .setHeader("tenant", "acme".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        // When
+        publisher.retryLater(withTenant, new IllegalStateException("boom"));
+
+        // Then
+        Message<byte[]> published = captured("message-topic-retry-1s");
+        assertThat(new String(header(published, "tenant"), StandardCharsets.UTF_8)).isEqualTo("acme");
+        assertThat(published.getHeaders()).doesNotContainKey(KafkaHeaders.RECEIVED_TOPIC);
+    }
+
+    @Test
+    void isRetryTopic_ShouldMatchConfiguredDelaysOnly() {
+        assertThat(publisher.isRetryTopic("message-topic-retry-30s")).isTrue();
+        assertThat(publisher.isRetryTopic("message-topic")).isFalse();
+        assertThat(FailedRecordPublisher.retryTopic("orders", Duration.ofMillis(1500))).isEqualTo("orders-retry-1500ms");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Message<byte[]> captured(String destination) {
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(streamBridge).send(eq(destination), message.capture());
+        return (Message<byte[]>) message.getValue();
+    }
+
+    private static byte[] header(Message<?> message, String name) {
+        return message.getHeaders().get(name, byte[].class);
+    }
+
+    private static Message<byte[]> record(String topic, Integer attempts) {
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload("{\"id\":\"msg-001\"}".getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, topic)
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 3)
+                .setHeader(KafkaHeaders.OFFSET, 42L)
+                .setHeader(KafkaHeaders.RECEIVED_KEY, "key-1");
+        if (attempts != null) {
+            builder.setHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, ByteBuffer.allocate(4).putInt(attempts).array())
+                   .setHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC, "message-topic".getBytes(StandardCharsets.UTF_8));
+        }
+        return builder.build();
+    }
+}
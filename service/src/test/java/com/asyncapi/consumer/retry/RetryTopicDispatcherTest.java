@@ -0,0 +1,113 @@
+package com.asyncapi.consumer.retry;
+
+import com.asyncapi.consumer.ConsumerPauseController;
+import com.asyncapi.consumer.ConsumerProperties;
+import com.asyncapi.consumer.InboundPayloadParser;
+import com.asyncapi.consumer.InboundRecordHandler;
+import com.asyncapi.consumer.metrics.ConsumerMetrics;
+import com.asyncapi.consumer.offset.BacklogListener;
+import com.asyncapi.consumer.offset.OffsetTracker;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.routing.MessageRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryTopicDispatcherTest {
+
+    private static final TopicPartition RETRY_PARTITION = new TopicPartition("message-topic-retry-1s", 0);
+
+    private final MessageRouter messageRouter = mock(MessageRouter.class);
+    private final ConsumerPauseController pauseController = mock(ConsumerPauseController.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final ConsumerProperties consumerProperties = new ConsumerProperties();
+    private final FailedRecordPublisher failedRecordPublisher =
+            new FailedRecordPublisher(mock(StreamBridge.class), consumerProperties);
+    private final RetryTopicDispatcher dispatcher = new RetryTopicDispatcher(
+            new OffsetTracker(consumerProperties, BacklogListener.NONE, new SimpleMeterRegistry()),
+            failedRecordPublisher, consumerProperties,
+            pauseController, new ConsumerMetrics(new SimpleMeterRegistry()), new InboundRecordHandler(messageRouter,
+            new InboundPayloadParser(new MessagePayloadCodec(new ObjectMapper()), consumerProperties),
+            failedRecordPublisher, consumerProperties, new MessageEventLogger(new MessageLoggingProperties())));
+
+    @Test
+    void dispatch_ShouldDeliverAndAcknowledge_WhenRecordIsDue() {
+        // Given
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.just("ok"));
+
+        // When
+        dispatcher.dispatch(record(0L, System.currentTimeMillis() - 1));
+
+        // Then
+        assertThat(acknowledged).containsExactly(0L);
+        verify(pauseController, never()).pausePartition(any(), any());
+    }
+
+    @Test
+    void dispatch_ShouldSeekBackAndPausePartition_InsteadOfHoldingRecordsUntilDue() {
+        // Given
+        when(messageRouter.deliver(any(MessagePayload.class), any())).thenReturn(Mono.just("ok"));
+        long dueAt = System.currentTimeMillis() + 200;
+
+        // When - both records of the poll are not due yet
+        dispatcher.dispatch(record(0L, dueAt));
+        dispatcher.dispatch(record(1L, dueAt));
+
+        // Then - the listener returns at once, nothing is delivered and the partition waits for the head record
+        verify(consumer, times(1)).seek(RETRY_PARTITION, 0L);
+        verify(pauseController, times(1)).pausePartition(RETRY_PARTITION, ConsumerPauseController.RETRY_NOT_DUE);
+        verify(messageRouter, never()).deliver(any(MessagePayload.class), any());
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(pauseController).resumePartition(RETRY_PARTITION, ConsumerPauseController.RETRY_NOT_DUE));
+
+        // When - the next fetch starts again at the head record, which is due by now
+        await().atMost(Duration.ofSeconds(5)).until(() -> System.currentTimeMillis() >= dueAt);
+        dispatcher.dispatch(record(0L, dueAt));
+        dispatcher.dispatch(record(1L, dueAt));
+
+        // Then
+        assertThat(acknowledged).containsExactly(0L, 1L);
+        verify(messageRouter, times(2)).deliver(any(MessagePayload.class), any());
+    }
+
+    private Message<byte[]> record(long offset, long dueAt) {
+        String json = "{\"id\":\"msg-" + offset + "\",\"content\":\"Test content\",\"timestamp\":1698768000000,\"source\":\"unit-test\"}";
+        Acknowledgment acknowledgment = () -> acknowledged.add(offset);
+        return MessageBuilder.withPayload(json.getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_TOPIC, RETRY_PARTITION.topic())
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, RETRY_PARTITION.partition())
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, acknowledgment)
+                .setHeader(KafkaHeaders.CONSUMER, consumer)
+                .setHeader(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP, BigInteger.valueOf(dueAt).toByteArray())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.asyncapi.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageEventLoggerTest {
+
+    @Test
+    void isLogged_ShouldLogNothing_WhenModeIsOff() {
+        // Given
+        MessageEventLogger logger = new MessageEventLogger(properties(MessageLoggingProperties.Mode.OFF, 1, 0));
+
+        // When
+        long logged = IntStream.range(0, 1000).filter(i -> logger.isLogged("msg-" + i)).count();
+
+        // Then
+        assertThat(logged).isZero();
+    }
+
+    @Test
+    void isLogged_ShouldPickTheSameMessagesEveryTime_WhenSampled() {
+        // Given
+        MessageEventLogger logger = new MessageEventLogger(properties(MessageLoggingProperties.Mode.SAMPLED, 10, 0));
+
+        // When
+        long logged = IntStream.range(0, 10_000).filter(i -> logger.isLogged("msg-" + i)).count();
+
+        // Then
+        assertThat(logged).isBetween(800L, 1200L);
+        IntStream.range(0, 100).forEach(i ->
+                assertThat(logger.isLogged("msg-" + i)).isEqualTo(logger.isLogged("msg-" + i)));
+    }
+
+    @Test
+    void isLogged_ShouldStopLogging_WhenMaxEventsPerSecondIsReached() {
+        // Given
+        MessageEventLogger logger = new MessageEventLogger(properties(MessageLoggingProperties.Mode.ALL, 1, 5));
+
+        // When
+        long logged = IntStream.range(0, 100).filter(i -> logger.isLogged("msg-" + i)).count();
+
+        // Then - the calls may straddle a second boundary
+        assertThat(logged).isBetween(5L, 10L);
+    }
+
+    private static MessageLoggingProperties properties(MessageLoggingProperties.Mode mode, int sampleRate,
+                                                       int maxEventsPerSecond) {
+        MessageLoggingProperties properties = new MessageLoggingProperties();
+        properties.setMode(mode);
+        properties.setSampleRate(sampleRate);
+        properties.setMaxEventsPerSecond(maxEventsPerSecond);
+        return properties;
+    }
+}
@@ -0,0 +1,114 @@
+package com.asyncapi.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessagePayloadCodecTest {
+
+    private final MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+
+    @Test
+    void read_ShouldParsePayloadFromUtf8Bytes() throws Exception {
+        // Given
+        byte[] json = "{\"id\":\"msg-001\",\"content\":\"Café ☕\",\"timestamp\":1698768000000,\"source\":\"test-source\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        MessagePayload payload = codec.read(json);
+
+        // Then
+        assertThat(payload).isEqualTo(new MessagePayload("msg-001", "Café ☕", 1698768000000L, "test-source"));
+    }
+
+    @Test
+    void read_ShouldThrowJsonProcessingException_WhenBytesAreNotJson() {
+        assertThatThrownBy(() -> codec.read("not-json".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void readRequiredFields_ShouldKeepOriginalBytes_WhenIdAndTimestampArePresent() throws Exception {
+        // Given
+        byte[] json = "{\"content\":{\"nested\":[1,2]},\"id\":\"msg-001\",\"timestamp\":1698768000000,\"extra\":true,\"source\":\"billing-eu\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        RawMessagePayload payload = codec.readRequiredFields(json);
+
+        // Then
+        assertThat(payload.getId()).isEqualTo("msg-001");
+        assertThat(payload.getTimestamp()).isEqualTo(1698768000000L);
+        assertThat(payload.getSource()).isEqualTo("billing-eu");
+        assertThat(payload.getContent()).isNull();
+        assertThat(codec.write(payload)).isSameAs(json);
+        assertThat(new ObjectMapper().writeValueAsString(payload)).isEqualTo(new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readRequiredFields_ShouldThrowJsonProcessingException_WhenRecordIsInvalid() {
+        for (String json : List.of("{\"timestamp\":1698768000000}",
+                                   "{\"id\":\"msg-001\",\"timestamp\":\"yesterday\"}",
+                                   "{\"id\":\"msg-001\",\"timestamp\":1698768000000",
+                                   "[{\"id\":\"msg-001\",\"timestamp\":1698768000000}]")) {
+            assertThatThrownBy(() -> codec.readRequiredFields(json.getBytes(StandardCharsets.UTF_8)))
+                    .as(json)
+                    .isInstanceOf(JsonProcessingException.class);
+        }
+    }
+
+    @Test
+    void write_ShouldProduceSameBytesForArrayAndStream() throws Exception {
+        // Given
+        MessagePayload payload = new MessagePayload("msg-001", "Test content", 1698768000000L, "test-source");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        codec.write(payload, out);
+
+        // Then
+        assertThat(out.toByteArray()).isEqualTo(codec.write(payload));
+        assertThat(codec.read(out.toByteArray())).isEqualTo(payload);
+    }
+
+    @Test
+    void read_ShouldReadBackWhatWriteProduced_InEveryFormat() throws Exception {
+        // Given
+        MessagePayload payload = new MessagePayload("msg-001", "Test content", 1698768000000L, null);
+
+        for (PayloadFormat format : PayloadFormat.values()) {
+            // When
+            byte[] bytes = codec.write(payload, format);
+
+            // Then
+            assertThat(codec.read(bytes, format)).as(format.name()).isEqualTo(payload);
+            assertThat(codec.readRequiredFields(bytes, format).getId()).as(format.name()).isEqualTo("msg-001");
+        }
+    }
+
+    @Test
+    void write_ShouldTranscodePassthroughPayload_WhenFormatsDiffer() throws Exception {
+        // Given
+        byte[] json = "{\"id\":\"msg-001\",\"timestamp\":1698768000000,\"content\":\"Test content\",\"extra\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+        RawMessagePayload raw = codec.readRequiredFields(json);
+
+        // When
+        RawMessagePayload cbor = codec.readRequiredFields(codec.write(raw, PayloadFormat.CBOR), PayloadFormat.CBOR);
+        byte[] avro = codec.write(raw, PayloadFormat.AVRO);
+
+        // Then
+        assertThat(codec.write(cbor, PayloadFormat.CBOR)).isSameAs(cbor.getBytes());
+        assertThat(codec.write(cbor)).isEqualTo(json);
+        assertThat(avro.length).isLessThan(json.length);
+        assertThat(codec.read(avro, PayloadFormat.AVRO))
+                .isEqualTo(new MessagePayload("msg-001", "Test content", 1698768000000L, null));
+    }
+}
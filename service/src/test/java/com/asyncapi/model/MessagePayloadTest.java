@@ -1,9 +1,12 @@
 package com.asyncapi.model;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class MessagePayloadTest {
 
@@ -62,5 +65,30 @@ class MessagePayloadTest {
         assertThat(payload.getTimestamp()).isEqualTo(123456789L);
         assertThat(payload.getSource()).isEqualTo("test-source");
     }
-}
 
+    @Test
+    void shouldDeserializeFieldsInAnyOrder_AndCoerceQuotedNumbers() throws Exception {
+        // Given
+        String json = "{\"source\":null,\"timestamp\":\"1698768000000\",\"id\":\"msg-001\"}";
+
+        // When
+        MessagePayload payload = objectMapper.readValue(json, MessagePayload.class);
+
+        // Then
+        assertThat(payload).isEqualTo(new MessagePayload("msg-001", null, 1698768000000L, null));
+    }
+
+    @Test
+    void shouldFailToDeserialize_WhenARequiredFieldIsMissingOrAFieldIsUnknown() {
+        // Given
+        String withoutTimestamp = "{\"id\":\"msg-001\",\"content\":\"Test content\"}";
+        String withUnknownField = "{\"id\":\"msg-001\",\"timestamp\":1698768000000,\"extra\":[1,2]}";
+
+        // When / Then
+        assertThatThrownBy(() -> objectMapper.readValue(withoutTimestamp, MessagePayload.class))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Missing required field 'timestamp'");
+        assertThatThrownBy(() -> objectMapper.readValue(withUnknownField, MessagePayload.class))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.asyncapi.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadFormatTest {
+
+    @Test
+    void of_ShouldMatchContentTypeIgnoringParameters() {
+        assertThat(PayloadFormat.of("application/cbor")).isEqualTo(PayloadFormat.CBOR);
+        assertThat(PayloadFormat.of("application/json;charset=UTF-8")).isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.of("application/vnd.message+json")).isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.of(MimeTypeUtils.parseMimeType("application/avro"))).isEqualTo(PayloadFormat.AVRO);
+        assertThat(PayloadFormat.of("text/plain")).isNull();
+        assertThat(PayloadFormat.of("not a type")).isNull();
+    }
+
+    @Test
+    void of_ShouldFallBackToJson_WhenMessageHasNoKnownContentType() {
+        assertThat(PayloadFormat.of(new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, "application/x-jackson-smile"))))
+                .isEqualTo(PayloadFormat.SMILE);
+        assertThat(PayloadFormat.of(new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, "text/plain"))))
+                .isEqualTo(PayloadFormat.JSON);
+        assertThat(PayloadFormat.of(new MessageHeaders(Map.of()))).isEqualTo(PayloadFormat.JSON);
+    }
+}
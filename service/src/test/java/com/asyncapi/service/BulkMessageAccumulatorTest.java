@@ -0,0 +1,130 @@
+package com.asyncapi.service;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkMessageAccumulatorTest {
+
+    private final List<String> bulkBodies = new CopyOnWriteArrayList<>();
+    private final List<Long> bulkDeadlines = new CopyOnWriteArrayList<>();
+    private final ExternalApiProperties.Bulk settings = new ExternalApiProperties.Bulk();
+
+    @Test
+    void submit_ShouldFlushOneBulkRequest_WhenMaxCountIsReached() {
+        // Given
+        settings.setMaxCount(2);
+        settings.setMaxLinger(Duration.ofMinutes(1));
+        BulkMessageAccumulator accumulator = accumulator(body -> Mono.just("{\"status\":\"success\"}"));
+
+        // When
+        Mono<String> first = accumulator.submit(payload("msg-001"), ExternalApiResilience.NO_DEADLINE);
+        Mono<String> second = accumulator.submit(payload("msg-002"), ExternalApiResilience.NO_DEADLINE);
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+            .assertNext(responses -> {
+                assertThat(responses.getT1()).isEqualTo("{\"status\":\"success\"}");
+                assertThat(responses.getT2()).isEqualTo("{\"status\":\"success\"}");
+            })
+            .verifyComplete();
+        assertThat(bulkBodies).hasSize(1);
+        assertThat(bulkBodies.get(0)).startsWith("[{\"id\":\"msg-001\"").contains("},{\"id\":\"msg-002\"").endsWith("}]");
+    }
+
+    @Test
+    void submit_ShouldFlushAfterMaxLinger_WhenBatchIsNotFull() {
+        // Given
+        settings.setMaxLinger(Duration.ofMillis(50));
+        BulkMessageAccumulator accumulator = accumulator(body -> Mono.just("ok"));
+
+        // When / Then
+        StepVerifier.create(accumulator.submit(payload("msg-001"), ExternalApiResilience.NO_DEADLINE))
+            .expectNext("ok")
+            .verifyComplete();
+        assertThat(bulkBodies).hasSize(1);
+    }
+
+    @Test
+    void submit_ShouldFailEveryMessage_WhenBulkRequestFails() {
+        // Given
+        settings.setMaxCount(2);
+        BulkMessageAccumulator accumulator = accumulator(body -> Mono.error(new IllegalStateException("boom")));
+
+        // When
+        Mono<String> first = accumulator.submit(payload("msg-001"), ExternalApiResilience.NO_DEADLINE);
+        Mono<String> second = accumulator.submit(payload("msg-002"), ExternalApiResilience.NO_DEADLINE);
+
+        // Then
+        StepVerifier.create(Mono.zipDelayError(first, second))
+            .expectErrorSatisfies(error -> assertThat(Exceptions.unwrapMultiple(error))
+                .hasSize(2)
+                .allMatch(IllegalStateException.class::isInstance))
+            .verify();
+    }
+
+    @Test
+    void submit_ShouldStartNewBatch_WhenMaxBytesWouldBeExceeded() {
+        // Given
+        settings.setMaxBytes(DataSize.ofBytes(150));
+        settings.setMaxLinger(Duration.ofMillis(50));
+        BulkMessageAccumulator accumulator = accumulator(body -> Mono.just("ok"));
+
+        // When
+        StepVerifier.create(Mono.zip(accumulator.submit(payload("msg-001"), ExternalApiResilience.NO_DEADLINE), accumulator.submit(payload("msg-002"), ExternalApiResilience.NO_DEADLINE)))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        // Then
+        assertThat(bulkBodies).hasSize(2);
+    }
+
+    @Test
+    void submit_ShouldSendBatchWithEarliestDeadline_WhenMessagesHaveDifferentDeadlines() {
+        // Given
+        settings.setMaxCount(3);
+        settings.setMaxLinger(Duration.ofMinutes(1));
+        BulkMessageAccumulator accumulator = accumulator(body -> Mono.just("ok"));
+
+        // When
+        Mono<String> first = accumulator.submit(payload("msg-001"), ExternalApiResilience.NO_DEADLINE);
+        Mono<String> second = accumulator.submit(payload("msg-002"), 2_000L);
+        Mono<String> third = accumulator.submit(payload("msg-003"), 1_000L);
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second, third)).expectNextCount(1).verifyComplete();
+        assertThat(bulkDeadlines).containsExactly(1_000L);
+    }
+
+    private BulkMessageAccumulator accumulator(Function<byte[], Mono<String>> response) {
+        return new BulkMessageAccumulator(settings, new MessagePayloadCodec(new ObjectMapper()), (body, deadlineMillis) -> {
+            bulkBodies.add(new String(body, StandardCharsets.UTF_8));
+            bulkDeadlines.add(deadlineMillis);
+            return response.apply(body);
+        });
+    }
+
+    private static MessagePayload payload(String id) {
+        return MessagePayload.builder()
+            .id(id)
+            .content("Test content")
+            .timestamp(1698768000000L)
+            .source("unit-test")
+            .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.asyncapi.service;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.asyncapi.service.spill.SpillBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Wires an {@link ExternalApiService} the way the application context does, with throwaway meter registries
+ */
+public final class ExternalApiServiceFixture {
+
+    private ExternalApiServiceFixture() {
+    }
+
+    public static ExternalApiService create(WebClient webClient) {
+        return create(webClient, new ExternalApiProperties());
+    }
+
+    public static ExternalApiService create(WebClient webClient, ExternalApiProperties properties) {
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, new SimpleMeterRegistry());
+        return new ExternalApiService(webClient, codec, properties, limiter, resilience,
+                                      new DeliveredMessageCache(properties),
+                                      new MessageEventLogger(new MessageLoggingProperties()),
+                                      new SpillBuffer(properties, codec, limiter, resilience, new SimpleMeterRegistry()));
+    }
+}
@@ -1,9 +1,15 @@
 package com.asyncapi.service;
 
+import com.asyncapi.config.ExternalApiProperties;
 import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.model.PayloadFormat;
+import com.asyncapi.model.RawMessagePayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +18,10 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,7 +39,7 @@ class ExternalApiServiceTest {
             .baseUrl(mockWebServer.url("/").toString())
             .build();
 
-        externalApiService = new ExternalApiService(webClient);
+        externalApiService = ExternalApiServiceFixture.create(webClient);
     }
 
     @AfterEach
@@ -63,6 +73,8 @@ class ExternalApiServiceTest {
         RecordedRequest recordedRequest = mockWebServer.takeRequest();
         assertThat(recordedRequest.getMethod()).isEqualTo("POST");
         assertThat(recordedRequest.getPath()).isEqualTo("/api/messages");
+        assertThat(recordedRequest.getHeader("Content-Type")).isEqualTo("application/json");
+        assertThat(recordedRequest.getBody().readUtf8()).contains("\"id\":\"test-001\"", "\"content\":\"Test message\"");
     }
 
     @Test
@@ -87,5 +99,147 @@ class ExternalApiServiceTest {
             .expectError()
             .verify();
     }
-}
 
+    @Test
+    void deliverMessage_ShouldSendOriginalBytes_WhenPayloadIsPassedThrough() throws InterruptedException {
+        // Given
+        String json = "{\"id\":\"test-005\", \"timestamp\":1, \"unknown\":{\"kept\":true}}";
+        RawMessagePayload payload = new RawMessagePayload("test-005", 1L, json.getBytes(StandardCharsets.UTF_8));
+
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":\"success\"}")
+            .addHeader("Content-Type", "application/json"));
+
+        // When
+        Mono<String> result = externalApiService.deliverMessage(payload);
+
+        // Then
+        StepVerifier.create(result)
+            .expectNext("{\"status\":\"success\"}")
+            .verifyComplete();
+
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).isEqualTo(json);
+    }
+
+    @Test
+    void deliverMessage_ShouldSendConfiguredContentType_WhenItIsNotJson() throws Exception {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.setContentType("application/cbor");
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        ExternalApiService cborService = ExternalApiServiceFixture.create(
+            WebClient.create(mockWebServer.url("/").toString()), properties);
+        String json = "{\"id\":\"test-006\",\"timestamp\":1}";
+        RawMessagePayload payload = codec.readRequiredFields(json.getBytes(StandardCharsets.UTF_8));
+
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":\"success\"}")
+            .addHeader("Content-Type", "application/json"));
+
+        // When
+        Mono<String> result = cborService.deliverMessage(payload);
+
+        // Then
+        StepVerifier.create(result)
+            .expectNext("{\"status\":\"success\"}")
+            .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getHeader("Content-Type")).isEqualTo("application/cbor");
+        assertThat(codec.read(recordedRequest.getBody().readByteArray(), PayloadFormat.CBOR).getId()).isEqualTo("test-006");
+    }
+
+    @Test
+    void deliverMessage_ShouldTimeOutAndSendRemainingTime_WhenDeadlineIsConfigured() throws InterruptedException {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.getRetry().setEnabled(false);
+        properties.getDeadline().setAttemptTimeout(Duration.ofSeconds(2));
+        properties.getDeadline().setMaxAge(Duration.ofSeconds(10));
+        properties.getDeadline().setHeader("X-Deadline-Ms");
+        ExternalApiService deadlineService = ExternalApiServiceFixture.create(
+            WebClient.create(mockWebServer.url("/").toString()), properties);
+        MessagePayload payload = MessagePayload.builder()
+            .id("test-007")
+            .timestamp(System.currentTimeMillis())
+            .source("unit-test")
+            .build();
+
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        // When
+        Mono<String> result = deadlineService.deliverMessage(payload);
+
+        // Then
+        StepVerifier.create(result)
+            .expectError(TimeoutException.class)
+            .verify(Duration.ofSeconds(10));
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(recordedRequest).isNotNull();
+        assertThat(Long.parseLong(recordedRequest.getHeader("X-Deadline-Ms"))).isBetween(0L, 10_000L);
+    }
+
+    @Test
+    void deliverMessage_ShouldPostOneBulkRequest_WhenBulkIsEnabled() throws InterruptedException {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.getBulk().setEnabled(true);
+        properties.getBulk().setMaxCount(2);
+        ExternalApiService bulkService = ExternalApiServiceFixture.create(
+            WebClient.create(mockWebServer.url("/").toString()), properties);
+
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":\"success\"}")
+            .addHeader("Content-Type", "application/json"));
+
+        // When
+        Mono<String> first = bulkService.deliverMessage(
+            MessagePayload.builder().id("test-003").content("First").timestamp(1L).source("unit-test").build());
+        Mono<String> second = bulkService.deliverMessage(
+            MessagePayload.builder().id("test-004").content("Second").timestamp(2L).source("unit-test").build());
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+            .assertNext(responses -> assertThat(responses.toList()).containsOnly("{\"status\":\"success\"}"))
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getPath()).isEqualTo("/api/messages/bulk");
+        assertThat(recordedRequest.getBody().readUtf8()).startsWith("[").contains("test-003", "test-004");
+    }
+
+    @Test
+    void deliverMessage_ShouldSendEarliestDeadlineOfBatch_WhenBulkIsEnabled() throws InterruptedException {
+        // Given
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.getBulk().setEnabled(true);
+        properties.getBulk().setMaxCount(2);
+        properties.getDeadline().setMaxAge(Duration.ofSeconds(10));
+        properties.getDeadline().setHeader("X-Deadline-Ms");
+        ExternalApiService bulkService = ExternalApiServiceFixture.create(
+            WebClient.create(mockWebServer.url("/").toString()), properties);
+        long now = System.currentTimeMillis();
+
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"status\":\"success\"}")
+            .addHeader("Content-Type", "application/json"));
+
+        // When - the second message is five seconds older, so its deadline comes first
+        Mono<String> first = bulkService.deliverMessage(
+            MessagePayload.builder().id("test-008").content("First").timestamp(now).source("unit-test").build());
+        Mono<String> second = bulkService.deliverMessage(
+            MessagePayload.builder().id("test-009").content("Second").timestamp(now - 5_000).source("unit-test").build());
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second)).expectNextCount(1).verifyComplete();
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertThat(recordedRequest.getPath()).isEqualTo("/api/messages/bulk");
+        assertThat(Long.parseLong(recordedRequest.getHeader("X-Deadline-Ms"))).isBetween(0L, 5_000L);
+    }
+}
@@ -0,0 +1,138 @@
+package com.asyncapi.service.idempotency;
+
+import com.asyncapi.config.ExternalApiProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveredMessageCacheTest {
+
+    private final ExternalApiProperties.Idempotency settings = new ExternalApiProperties.Idempotency();
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void wasDelivered_ShouldForgetIds_WhenTtlExpires() {
+        // Given
+        settings.setTtl(Duration.ofMinutes(10));
+        DeliveredMessageCache cache = new DeliveredMessageCache(settings, clock);
+        cache.markDelivered("msg-001");
+
+        // When
+        clock.advance(Duration.ofMinutes(5));
+        boolean withinTtl = cache.wasDelivered("msg-001");
+        clock.advance(Duration.ofMinutes(6));
+
+        // Then
+        assertThat(withinTtl).isTrue();
+        assertThat(cache.wasDelivered("msg-001")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void markDelivered_ShouldEvictOldestIds_WhenMaxEntriesIsExceeded() {
+        // Given
+        settings.setMaxEntries(2);
+        DeliveredMessageCache cache = new DeliveredMessageCache(settings, clock);
+
+        // When
+        cache.markDelivered("msg-001");
+        cache.markDelivered("msg-002");
+        cache.markDelivered("msg-003");
+
+        // Then
+        assertThat(cache.wasDelivered("msg-001")).isFalse();
+        assertThat(cache.wasDelivered("msg-002")).isTrue();
+        assertThat(cache.wasDelivered("msg-003")).isTrue();
+    }
+
+    @Test
+    void destroy_ShouldPersistIdsThatANewCacheRestores(@TempDir Path directory) {
+        // Given
+        settings.setPersistenceFile(directory.resolve("delivered-ids.txt").toString());
+        DeliveredMessageCache cache = new DeliveredMessageCache(settings, clock);
+        cache.markDelivered("msg-001");
+        cache.markDelivered("msg with spaces");
+
+        // When
+        cache.destroy();
+        DeliveredMessageCache restored = new DeliveredMessageCache(settings, clock);
+
+        // Then
+        assertThat(restored.wasDelivered("msg-001")).isTrue();
+        assertThat(restored.wasDelivered("msg with spaces")).isTrue();
+        restored.destroy();
+    }
+
+    @Test
+    void constructor_ShouldRestoreOnlyNewestIds_WhenFileHoldsMoreThanMaxEntries(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("delivered-ids.txt");
+        long now = clock.millis();
+        Files.write(file, List.of((now - Duration.ofHours(2).toMillis()) + " msg-expired",
+                                  now + " msg-001", now + " msg-002", now + " msg-003"));
+        settings.setPersistenceFile(file.toString());
+        settings.setMaxEntries(2);
+
+        // When
+        DeliveredMessageCache restored = new DeliveredMessageCache(settings, clock);
+
+        // Then
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.wasDelivered("msg-expired")).isFalse();
+        assertThat(restored.wasDelivered("msg-001")).isFalse();
+        assertThat(restored.wasDelivered("msg-002")).isTrue();
+        assertThat(restored.wasDelivered("msg-003")).isTrue();
+        restored.destroy();
+    }
+
+    @Test
+    void markDelivered_ShouldKeepRedeliveredId_WhenItsFirstEntryIsEvicted() {
+        // Given
+        settings.setMaxEntries(2);
+        DeliveredMessageCache cache = new DeliveredMessageCache(settings, clock);
+        cache.markDelivered("msg-001");
+        cache.markDelivered("msg-002");
+
+        // When
+        cache.markDelivered("msg-001");
+        cache.markDelivered("msg-003");
+
+        // Then
+        assertThat(cache.wasDelivered("msg-001")).isTrue();
+        assertThat(cache.wasDelivered("msg-002")).isFalse();
+        assertThat(cache.wasDelivered("msg-003")).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.asyncapi.service.limit;
+
+import com.asyncapi.config.ExternalApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void execute_ShouldHoldCallsBeyondLimitAndReportSaturation_UntilPermitsAreReleased() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties(ExternalApiProperties.ConcurrencyLimit.Algorithm.AIMD, 2), new SimpleMeterRegistry());
+        List<Boolean> saturationChanges = new ArrayList<>();
+        limiter.addListener(saturationChanges::add);
+        AtomicInteger started = new AtomicInteger();
+        List<Sinks.One<String>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(Sinks.one());
+        }
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            Sinks.One<String> response = responses.get(i);
+            limiter.execute(() -> {
+                started.incrementAndGet();
+                return response.asMono();
+            }).subscribe();
+        }
+
+        // Then
+        assertThat(started).hasValue(2);
+        assertThat(limiter.isSaturated()).isTrue();
+
+        responses.get(0).tryEmitValue("ok");
+        responses.get(1).tryEmitValue("ok");
+        responses.get(2).tryEmitValue("ok");
+
+        assertThat(started).hasValue(3);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.isSaturated()).isFalse();
+        assertThat(saturationChanges).containsExactly(true, false);
+    }
+
+    @Test
+    void execute_ShouldShrinkLimit_WhenCallsFailWithServerErrors() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties(ExternalApiProperties.ConcurrencyLimit.Algorithm.AIMD, 20), new SimpleMeterRegistry());
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(limiter.execute(() -> Mono.error(new IllegalStateException("503"))))
+                    .expectError()
+                    .verify();
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void gradient_ShouldShrinkLimit_WhenLatencyRisesAboveLongTermAverage() {
+        // Given
+        ExternalApiProperties.ConcurrencyLimit settings = properties(ExternalApiProperties.ConcurrencyLimit.Algorithm.GRADIENT, 50)
+                .getConcurrencyLimit();
+        GradientLimitAlgorithm algorithm = new GradientLimitAlgorithm(settings);
+        for (int i = 0; i < 100; i++) {
+            algorithm.update(TimeUnit.MILLISECONDS.toNanos(10), 50, false);
+        }
+        int steadyLimit = algorithm.getLimit();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            algorithm.update(TimeUnit.MILLISECONDS.toNanos(100), steadyLimit, false);
+        }
+
+        // Then
+        assertThat(steadyLimit).isGreaterThan(50);
+        assertThat(algorithm.getLimit()).isLessThan(steadyLimit);
+    }
+
+    @Test
+    void execute_ShouldPassCallsStraightThrough_WhenDisabled() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new ExternalApiProperties(), new SimpleMeterRegistry());
+
+        // When / Then
+        StepVerifier.create(limiter.execute(() -> Mono.just("ok").delayElement(Duration.ofMillis(10))))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void execute_ShouldGrantWaitingCallsByLaneWeight_WhenPriorityLanesAreEnabled() {
+        // Given
+        ExternalApiProperties properties = properties(ExternalApiProperties.ConcurrencyLimit.Algorithm.AIMD, 1);
+        properties.getConcurrencyLimit().setMaxLimit(1);
+        ExternalApiProperties.Priority.Lane interactive = new ExternalApiProperties.Priority.Lane();
+        interactive.setName("interactive");
+        interactive.setWeight(3);
+        properties.getPriority().setEnabled(true);
+        properties.getPriority().getLanes().add(interactive);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        Sinks.One<String> blocker = Sinks.one();
+        limiter.execute(blocker::asMono).subscribe();
+        List<String> granted = new ArrayList<>();
+
+        // When
+        for (String lane : List.of("default", "default", "default", "default",
+                                   "interactive", "interactive", "interactive", "interactive")) {
+            limiter.execute(() -> {
+                granted.add(lane);
+                return Mono.just("ok");
+            }).contextWrite(Context.of(AdaptiveConcurrencyLimiter.PRIORITY_LANE, lane)).subscribe();
+        }
+        double waitingInteractive = meterRegistry.get("external.api.limit.waiting").tag("lane", "interactive").gauge().value();
+        blocker.tryEmitValue("ok");
+
+        // Then
+        assertThat(waitingInteractive).isEqualTo(4);
+        assertThat(granted).containsExactly("interactive", "default", "interactive", "interactive",
+                                            "interactive", "default", "default", "default");
+        assertThat(meterRegistry.get("external.api.limit.wait").tag("lane", "interactive").timer().count()).isEqualTo(4);
+        assertThat(limiter.getWaiting("default")).isZero();
+    }
+
+    private static ExternalApiProperties properties(ExternalApiProperties.ConcurrencyLimit.Algorithm algorithm, int initialLimit) {
+        ExternalApiProperties properties = new ExternalApiProperties();
+        properties.getConcurrencyLimit().setEnabled(true);
+        properties.getConcurrencyLimit().setAlgorithm(algorithm);
+        properties.getConcurrencyLimit().setInitialLimit(initialLimit);
+        return properties;
+    }
+}
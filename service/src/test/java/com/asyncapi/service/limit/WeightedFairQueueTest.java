@@ -0,0 +1,107 @@
+package com.asyncapi.service.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedFairQueueTest {
+
+    private final WeightedFairQueue<String> queue = new WeightedFairQueue<>(weights(), "low");
+
+    @Test
+    void poll_ShouldInterleaveLanesByWeight_WhenBothKeepItemsWaiting() {
+        // Given
+        for (int i = 1; i <= 4; i++) {
+            queue.add("high", "h" + i);
+            queue.add("low", "l" + i);
+        }
+
+        // When
+        List<String> order = drain();
+
+        // Then - three high items per low one, ties going to the lane listed first
+        assertThat(order).containsExactly("h1", "l1", "h2", "h3", "h4", "l2", "l3", "l4");
+    }
+
+    @Test
+    void poll_ShouldSkipCancelledItems_WhenTheyWereRemovedWhileWaiting() {
+        // Given
+        queue.add("high", "h1");
+        queue.add("high", "h2");
+        queue.add("low", "l1");
+        queue.add("high", "h3");
+
+        // When
+        boolean removed = queue.remove("high", "h2");
+        boolean removedTwice = queue.remove("high", "h2");
+
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(removedTwice).isFalse();
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.size("high")).isEqualTo(2);
+        assertThat(drain()).containsExactly("h1", "l1", "h3");
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void add_ShouldStartIdleLaneAtCurrentClock_InsteadOfWithSavedCredit() {
+        // Given - the low lane has the queue to itself for a while
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("high", 2);
+        weights.put("low", 1);
+        WeightedFairQueue<String> twoToOne = new WeightedFairQueue<>(weights, "low");
+        for (int i = 1; i <= 5; i++) {
+            twoToOne.add("low", "l" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            twoToOne.poll();
+        }
+
+        // When - the idle high lane comes back
+        for (int i = 1; i <= 4; i++) {
+            twoToOne.add("high", "h" + i);
+        }
+
+        // Then - it gets its share from now on, not all the dequeues it missed
+        assertThat(twoToOne.poll()).isEqualTo("h1");
+        assertThat(twoToOne.poll()).isEqualTo("h2");
+        assertThat(twoToOne.poll()).isEqualTo("h3");
+        assertThat(twoToOne.poll()).isEqualTo("l5");
+        assertThat(twoToOne.poll()).isEqualTo("h4");
+        assertThat(twoToOne.poll()).isNull();
+    }
+
+    @Test
+    void add_ShouldUseDefaultLane_WhenLaneIsUnknown() {
+        // Given
+        queue.add("unknown", "u1");
+        queue.add(null, "u2");
+
+        // Then
+        assertThat(queue.size("low")).isEqualTo(2);
+        assertThat(queue.remove("unknown", "u2")).isTrue();
+        assertThat(drain()).containsExactly("u1");
+    }
+
+    private List<String> drain() {
+        List<String> order = new ArrayList<>();
+        String next;
+        while ((next = queue.poll()) != null) {
+            order.add(next);
+        }
+        return order;
+    }
+
+    private static Map<String, Integer> weights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("high", 3);
+        weights.put("low", 1);
+        return weights;
+    }
+}
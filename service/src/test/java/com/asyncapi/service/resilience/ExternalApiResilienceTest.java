@@ -0,0 +1,178 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalApiResilienceTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_ShouldRetryServerErrors_UntilTheCallSucceeds() {
+        // Given
+        properties.getRetry().getServerError().setInitialBackoff(Duration.ofMillis(1));
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        Mono<String> result = resilience.execute(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(error(HttpStatus.SERVICE_UNAVAILABLE))
+                : Mono.just("ok"));
+
+        // Then
+        StepVerifier.create(result).expectNext("ok").verifyComplete();
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("external.api.retries").tag("class", "SERVER_ERROR").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_ShouldNotRetryClientErrors() {
+        // Given
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        Mono<String> result = resilience.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(error(HttpStatus.BAD_REQUEST));
+        });
+
+        // Then
+        StepVerifier.create(result).expectError(WebClientResponseException.BadRequest.class).verify();
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void execute_ShouldStopRetrying_WhenTheBudgetIsExhausted() {
+        // Given
+        properties.getRetry().getServerError().setInitialBackoff(Duration.ZERO);
+        properties.getRetry().getServerError().setMaxAttempts(100);
+        properties.getRetry().getBudget().setMinRetriesPerSecond(1);
+        properties.getRetry().getBudget().setRatio(0);
+        properties.getCircuitBreaker().setEnabled(false);
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        Mono<String> result = resilience.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(error(HttpStatus.INTERNAL_SERVER_ERROR));
+        });
+
+        // Then - the initial allowance of ten retries is spent, then the failure is reported
+        StepVerifier.create(result).expectError(WebClientResponseException.InternalServerError.class).verify();
+        assertThat(attempts).hasValue(11);
+        assertThat(meterRegistry.get("external.api.retries.rejected").tag("class", "SERVER_ERROR").tag("reason", "budget")
+                           .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldNotRetry_WhenTheBackoffWouldEndPastTheDeadline() {
+        // Given
+        properties.getRetry().getServerError().setInitialBackoff(Duration.ofSeconds(5));
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        Mono<String> result = resilience.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(error(HttpStatus.SERVICE_UNAVAILABLE));
+        }, System.currentTimeMillis() + 1000);
+
+        // Then
+        StepVerifier.create(result).expectError(WebClientResponseException.ServiceUnavailable.class).verify(Duration.ofSeconds(1));
+        assertThat(attempts).hasValue(1);
+        assertThat(meterRegistry.get("external.api.retries.rejected").tag("class", "SERVER_ERROR").tag("reason", "deadline")
+                           .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldSendHedgeAndCancelTheSlowAttempt_WhenTheAttemptOutlastsThePercentile() {
+        // Given
+        properties.setIdempotent(true);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setWindow(10);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        resilience.execute(() -> Mono.just("warm-up")).block();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean slowCancelled = new AtomicBoolean();
+
+        // When
+        Mono<String> result = resilience.execute(() -> attempts.incrementAndGet() == 1
+                ? Mono.<String>never().doOnCancel(() -> slowCancelled.set(true))
+                : Mono.just("hedge"));
+
+        // Then
+        StepVerifier.create(result).expectNext("hedge").expectComplete().verify(Duration.ofSeconds(5));
+        assertThat(attempts).hasValue(2);
+        assertThat(slowCancelled).isTrue();
+        assertThat(meterRegistry.get("external.api.hedges").tag("outcome", "won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldNotHedge_WhenTheEndpointIsNotIdempotent() {
+        // Given
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setWindow(10);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        resilience.execute(() -> Mono.just("warm-up")).block();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        Mono<String> result = resilience.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.just("slow").delayElement(Duration.ofMillis(100));
+        });
+
+        // Then
+        StepVerifier.create(result).expectNext("slow").expectComplete().verify(Duration.ofSeconds(5));
+        assertThat(attempts).hasValue(1);
+        assertThat(meterRegistry.get("external.api.hedges").tag("outcome", "sent").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_ShouldFailFast_WhenTheCircuitIsOpen() {
+        // Given
+        properties.getRetry().setEnabled(false);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        ExternalApiResilience resilience = new ExternalApiResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(() -> {
+                attempts.incrementAndGet();
+                return Mono.error(error(HttpStatus.BAD_GATEWAY));
+            }).onErrorResume(error -> Mono.empty()).block();
+        }
+
+        // When
+        Mono<String> result = resilience.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.just("ok");
+        });
+
+        // Then
+        StepVerifier.create(result).expectError(CallNotPermittedException.class).verify();
+        assertThat(attempts).hasValue(4);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("external.api.circuit.state").gauge().value()).isEqualTo(1);
+    }
+
+    private static WebClientResponseException error(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), null, null, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.asyncapi.service.resilience;
+
+import com.asyncapi.config.ExternalApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_ShouldNotLetHedgeDelayCollapse_WhenTheSlowTailIsSteady() {
+        // Given - one call in five has a first attempt that takes 100ms, everything else takes 5ms
+        properties.setIdempotent(true);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setPercentile(0.9);
+        properties.getHedging().setWindow(100);
+        properties.getHedging().setMinDelay(Duration.ofMillis(1));
+        properties.getHedging().getBudget().setRatio(1);
+        RequestHedger hedger = new RequestHedger(properties, meterRegistry, "default");
+
+        // When
+        Flux.range(0, 600)
+                .flatMap(call -> {
+                    AtomicBoolean first = new AtomicBoolean(true);
+                    return hedger.execute(() -> {
+                        boolean slow = first.getAndSet(false) && call % 5 == 0;
+                        return Mono.just("ok").delayElement(Duration.ofMillis(slow ? 100 : 5));
+                    });
+                }, 20)
+                .blockLast(Duration.ofSeconds(30));
+
+        // Then - the hedges that won did not pull the delay down to their own 5ms
+        assertThat(Duration.ofNanos(hedger.hedgeDelayNanos())).isGreaterThan(Duration.ofMillis(20));
+    }
+}
@@ -0,0 +1,135 @@
+package com.asyncapi.service.routing;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.logging.MessageEventLogger;
+import com.asyncapi.logging.MessageLoggingProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.ExternalApiServiceFixture;
+import com.asyncapi.service.idempotency.DeliveredMessageCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class MessageRouterTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private MessageRouter router;
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.destroy();
+        }
+    }
+
+    @Test
+    void route_ShouldPickFirstMatchingRule_WhenSeveralRulesApplyToTopic() {
+        // Given
+        router = router(route("billing", "message-topic", "billing-.*", Map.of()),
+                        route("premium", "message-topic", null, Map.of("tier", "gold|platinum")),
+                        route("audit", null, "audit", Map.of()));
+
+        // When / Then
+        assertThat(router.route(payload("billing-eu"), headers("message-topic", Map.of("tier", "gold")))).isEqualTo("billing");
+        assertThat(router.route(payload("shop"), headers("message-topic", Map.of("tier", "gold")))).isEqualTo("premium");
+        assertThat(router.route(payload("shop"), headers("message-topic", Map.of("tier", "silver")))).isEqualTo("default");
+        assertThat(router.route(payload("audit"), headers("other-topic", Map.of()))).isEqualTo("audit");
+        assertThat(router.route(payload("billing-eu"), headers("other-topic", Map.of()))).isEqualTo("default");
+    }
+
+    @Test
+    void route_ShouldMatchOriginalTopic_WhenRecordComesFromRetryTopic() {
+        // Given
+        router = router(route("billing", "message-topic", "billing-.*", Map.of()));
+        Map<String, Object> retried = new HashMap<>();
+        retried.put(KafkaHeaders.DLT_ORIGINAL_TOPIC, "message-topic".getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertThat(router.route(payload("billing-eu"), headers("message-topic-retry-30s", retried))).isEqualTo("billing");
+    }
+
+    @Test
+    void route_ShouldMatchSource_WhenPayloadIsPassedThrough() throws Exception {
+        // Given
+        router = router(route("billing", null, "billing-.*", Map.of()));
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        MessagePayload billing = codec.readRequiredFields(
+                "{\"id\":\"msg-001\",\"timestamp\":1,\"source\":\"billing-eu\",\"content\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+        MessagePayload shop = codec.readRequiredFields(
+                "{\"id\":\"msg-002\",\"timestamp\":1,\"source\":\"shop\"}".getBytes(StandardCharsets.UTF_8));
+
+        // When / Then
+        assertThat(router.route(billing, headers("message-topic", Map.of()))).isEqualTo("billing");
+        assertThat(router.route(shop, headers("message-topic", Map.of()))).isEqualTo("default");
+    }
+
+    @Test
+    void lane_ShouldPutMessageInFirstMatchingLane_WhenPriorityLanesAreEnabled() {
+        // Given
+        ExternalApiProperties.Priority.Lane backfill = new ExternalApiProperties.Priority.Lane();
+        backfill.setName("backfill");
+        backfill.setSource("backfill-.*");
+        ExternalApiProperties.Priority.Lane interactive = new ExternalApiProperties.Priority.Lane();
+        interactive.setName("interactive");
+        interactive.setWeight(8);
+        interactive.setHeaders(Map.of("priority", "high"));
+        properties.getPriority().setEnabled(true);
+        properties.getPriority().setLanes(List.of(backfill, interactive));
+        router = router();
+
+        // When / Then
+        assertThat(router.lane(payload("backfill-2023"), headers("message-topic", Map.of("priority", "high")))).isEqualTo("backfill");
+        assertThat(router.lane(payload("shop"), headers("message-topic", Map.of("priority", "high")))).isEqualTo("interactive");
+        assertThat(router.lane(payload("shop"), headers("message-topic", Map.of()))).isEqualTo("default");
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenRouteNamesRepeat() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> router(route("billing", null, null, Map.of()), route("billing", null, null, Map.of())))
+                .withMessageContaining("Duplicate");
+    }
+
+    private MessageRouter router(ExternalApiProperties.Route... routes) {
+        properties.setBaseUrl("http://localhost:9999");
+        properties.setRoutes(List.of(routes));
+        MessagePayloadCodec codec = new MessagePayloadCodec(new ObjectMapper());
+        return new MessageRouter(ExternalApiServiceFixture.create(WebClient.create()), properties, codec,
+                                 new DeliveredMessageCache(properties), new MessageEventLogger(new MessageLoggingProperties()),
+                                 WebClient.builder(), new SimpleMeterRegistry());
+    }
+
+    private static ExternalApiProperties.Route route(String name, String topic, String source, Map<String, String> headers) {
+        ExternalApiProperties.Route route = new ExternalApiProperties.Route();
+        route.setName(name);
+        route.setTopic(topic);
+        route.setSource(source);
+        route.setHeaders(headers);
+        return route;
+    }
+
+    private static MessagePayload payload(String source) {
+        return MessagePayload.builder().id("msg-001").timestamp(1L).source(source).build();
+    }
+
+    private static MessageHeaders headers(String topic, Map<String, ?> recordHeaders) {
+        Map<String, Object> headers = new HashMap<>();
+        recordHeaders.forEach((name, value) -> headers.put(name, value instanceof String text
+                ? text.getBytes(StandardCharsets.UTF_8) : value));
+        headers.put(KafkaHeaders.RECEIVED_TOPIC, topic);
+        return new MessageHeaders(headers);
+    }
+}
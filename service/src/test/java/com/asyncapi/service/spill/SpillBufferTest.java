@@ -0,0 +1,128 @@
+package com.asyncapi.service.spill;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.CircuitBreaker;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SpillBufferTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private AdaptiveConcurrencyLimiter limiter;
+    private ExternalApiResilience resilience;
+    private SpillBuffer spillBuffer;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) {
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setDirectory(directory.toString());
+        properties.getSpill().setDrainConcurrency(8);
+        properties.getConcurrencyLimit().setEnabled(true);
+        properties.getConcurrencyLimit().setInitialLimit(1);
+        properties.getConcurrencyLimit().setMinLimit(1);
+        properties.getCircuitBreaker().setMinimumCalls(1);
+        properties.getCircuitBreaker().setSlidingWindowSize(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        spillBuffer.destroy();
+    }
+
+    @Test
+    void shouldSpill_ShouldBeFalse_AndReplayAllowed_WhenTheApiIsAvailable() {
+        // Given
+        spillBuffer();
+
+        // When / Then - nothing to replay yet
+        assertThat(spillBuffer.shouldSpill()).isFalse();
+        assertThat(spillBuffer.canReplay()).isFalse();
+
+        // When
+        spillBuffer.spill(payload("msg-001"));
+
+        // Then
+        assertThat(spillBuffer.shouldSpill()).isFalse();
+        assertThat(spillBuffer.canReplay()).isTrue();
+        assertThat(spillBuffer.replayWindow()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldSpill_ShouldBeTrue_AndReplayHeldBack_WhenTheCircuitIsOpen() {
+        // Given
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        spillBuffer();
+        spillBuffer.spill(payload("msg-001"));
+
+        // When
+        resilience.getCircuitBreaker().onFailure();
+
+        // Then
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(spillBuffer.shouldSpill()).isTrue();
+        assertThat(spillBuffer.canReplay()).isFalse();
+    }
+
+    @Test
+    void shouldSpill_ShouldBeTrue_AndReplayHeldBack_WhenTheLimiterIsSaturated() {
+        // Given
+        spillBuffer();
+        spillBuffer.spill(payload("msg-001"));
+
+        // When
+        limiter.execute(Mono::never).subscribe();
+        limiter.execute(Mono::never).subscribe();
+
+        // Then
+        assertThat(limiter.isSaturated()).isTrue();
+        assertThat(spillBuffer.shouldSpill()).isTrue();
+        assertThat(spillBuffer.canReplay()).isFalse();
+    }
+
+    @Test
+    void shouldSpill_ShouldBeTrue_AndOneReplayAllowed_WhenTheCircuitIsHalfOpenWithMessagesPending() {
+        // Given
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(50));
+        spillBuffer();
+        resilience.getCircuitBreaker().onFailure();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> resilience.getCircuitBreaker().getState() == CircuitBreaker.State.HALF_OPEN);
+
+        // When / Then - new messages need not wait while the journal is empty
+        assertThat(spillBuffer.shouldSpill()).isFalse();
+
+        // When
+        spillBuffer.spill(payload("msg-001"));
+
+        // Then - they queue behind the spilled ones, which make the trial calls one at a time
+        assertThat(spillBuffer.shouldSpill()).isTrue();
+        assertThat(spillBuffer.canReplay()).isTrue();
+        assertThat(spillBuffer.replayWindow()).isEqualTo(1);
+    }
+
+    private void spillBuffer() {
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        resilience = new ExternalApiResilience(properties, new SimpleMeterRegistry());
+        spillBuffer = new SpillBuffer(properties, new MessagePayloadCodec(new ObjectMapper()), limiter, resilience,
+                                      new SimpleMeterRegistry());
+    }
+
+    private static MessagePayload payload(String id) {
+        return MessagePayload.builder().id(id).content("Test content").timestamp(1L).source("unit-test").build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.asyncapi.service.spill;
+
+import com.asyncapi.config.ExternalApiProperties;
+import com.asyncapi.model.MessagePayload;
+import com.asyncapi.model.MessagePayloadCodec;
+import com.asyncapi.service.ExternalApiService;
+import com.asyncapi.service.limit.AdaptiveConcurrencyLimiter;
+import com.asyncapi.service.resilience.ExternalApiResilience;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpillDrainerTest {
+
+    private final ExternalApiProperties properties = new ExternalApiProperties();
+    private final ExternalApiService externalApiService = mock(ExternalApiService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpillBuffer spillBuffer;
+    private SpillDrainer drainer;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) {
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setDirectory(directory.toString());
+        properties.getSpill().setDrainRate(1000);
+        properties.getSpill().setDrainConcurrency(4);
+        spillBuffer = new SpillBuffer(properties, new MessagePayloadCodec(new ObjectMapper()),
+                                      new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry()),
+                                      new ExternalApiResilience(properties, new SimpleMeterRegistry()), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        drainer.destroy();
+        spillBuffer.destroy();
+    }
+
+    @Test
+    void drain_ShouldKeepSeveralReplaysInFlight_AndCheckpointOnlyPastCompletedOnesInOrder() {
+        // Given
+        Map<String, Sinks.One<String>> responses = new ConcurrentHashMap<>();
+        when(externalApiService.replay(any(MessagePayload.class))).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            return responses.computeIfAbsent(payload.getId(), id -> Sinks.one()).asMono();
+        });
+        for (int i = 0; i < 3; i++) {
+            spillBuffer.spill(payload("msg-" + i));
+        }
+
+        // When
+        drainer = new SpillDrainer(spillBuffer, externalApiService, properties);
+
+        // Then - all three are sent without waiting for each other
+        await().atMost(Duration.ofSeconds(5)).until(() -> responses.size() == 3);
+        assertThat(drainer.inFlight()).isEqualTo(3);
+
+        // When / Then - the last one succeeding first moves nothing
+        responses.get("msg-2").tryEmitValue("ok");
+        assertThat(spillBuffer.pending()).isEqualTo(3);
+
+        responses.get("msg-0").tryEmitValue("ok");
+        assertThat(spillBuffer.pending()).isEqualTo(2);
+
+        responses.get("msg-1").tryEmitValue("ok");
+        assertThat(spillBuffer.pending()).isZero();
+        assertThat(drainer.inFlight()).isZero();
+        assertThat(counter("replayed")).isEqualTo(3);
+    }
+
+    @Test
+    void drain_ShouldDropMessage_WhenTheApiRefusesItWithAClientError() {
+        // Given
+        when(externalApiService.replay(any(MessagePayload.class)))
+                .thenReturn(Mono.error(WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request",
+                                                                         null, null, null)));
+        spillBuffer.spill(payload("msg-0"));
+
+        // When
+        drainer = new SpillDrainer(spillBuffer, externalApiService, properties);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> spillBuffer.pending() == 0);
+        verify(externalApiService, times(1)).replay(any(MessagePayload.class));
+        assertThat(counter("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void drain_ShouldKeepMessage_WhenReplayFailsWithServerErrorOrTimeout() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        List<Long> pendingAtAttempt = new CopyOnWriteArrayList<>();
+        when(externalApiService.replay(any(MessagePayload.class))).thenAnswer(invocation -> {
+            pendingAtAttempt.add(spillBuffer.pending());
+            return switch (attempts.incrementAndGet()) {
+                case 1 -> Mono.error(WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                                                       "Service Unavailable", null, null, null));
+                case 2 -> Mono.error(new TimeoutException("no response"));
+                default -> Mono.just("ok");
+            };
+        });
+        spillBuffer.spill(payload("msg-0"));
+
+        // When
+        drainer = new SpillDrainer(spillBuffer, externalApiService, properties);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> spillBuffer.pending() == 0);
+        assertThat(attempts).hasValue(3);
+        assertThat(pendingAtAttempt).containsExactly(1L, 1L, 1L);
+        assertThat(counter("replayed")).isEqualTo(1);
+        assertThat(counter("dropped")).isZero();
+    }
+
+    private double counter(String event) {
+        return meterRegistry.get("external.api.spill.messages").tag("event", event).counter().count();
+    }
+
+    private static MessagePayload payload(String id) {
+        return MessagePayload.builder().id(id).content("Test content").timestamp(1L).source("unit-test").build();
+    }
+}
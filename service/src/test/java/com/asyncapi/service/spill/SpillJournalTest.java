@@ -0,0 +1,149 @@
+package com.asyncapi.service.spill;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SpillJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void next_ShouldReturnRecordsInAppendOrder_WhenEachIsAcknowledged() throws IOException {
+        // Given
+        try (SpillJournal journal = new SpillJournal(directory, 1024, 4)) {
+            journal.append(bytes("msg-001"));
+            journal.append(bytes("msg-002"));
+
+            // When
+            SpillJournal.Entry first = journal.next();
+            SpillJournal.Entry unacknowledged = journal.next();
+            journal.acknowledge(first);
+            SpillJournal.Entry second = journal.next();
+            journal.acknowledge(second);
+
+            // Then
+            assertThat(text(first)).isEqualTo("msg-001");
+            assertThat(text(unacknowledged)).isEqualTo("msg-001");
+            assertThat(text(second)).isEqualTo("msg-002");
+            assertThat(journal.next()).isNull();
+            assertThat(journal.pending()).isZero();
+        }
+    }
+
+    @Test
+    void append_ShouldRotateSegments_AndReplayShouldDeleteThem() throws IOException {
+        // Given - two 7-byte records and their headers fit in a 32-byte segment
+        try (SpillJournal journal = new SpillJournal(directory, 32, 3)) {
+            for (int i = 1; i <= 5; i++) {
+                assertThat(journal.append(bytes("msg-00" + i))).isTrue();
+            }
+            int segmentsWhenWritten = journal.segmentCount();
+
+            // When
+            List<String> replayed = drain(journal);
+
+            // Then
+            assertThat(segmentsWhenWritten).isEqualTo(3);
+            assertThat(replayed).containsExactly("msg-001", "msg-002", "msg-003", "msg-004", "msg-005");
+            assertThat(journal.segmentCount()).isEqualTo(1);
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    void append_ShouldReturnFalse_WhenAllSegmentsAreFull() throws IOException {
+        // Given
+        try (SpillJournal journal = new SpillJournal(directory, 32, 2)) {
+            for (int i = 1; i <= 4; i++) {
+                journal.append(bytes("msg-00" + i));
+            }
+
+            // When
+            boolean appended = journal.append(bytes("msg-005"));
+            boolean oversized = journal.append(new byte[64]);
+
+            // Then
+            assertThat(appended).isFalse();
+            assertThat(oversized).isFalse();
+            assertThat(journal.hasRoomFor(7)).isFalse();
+            assertThat(journal.pending()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void constructor_ShouldResumeFromCheckpoint_AndDiscardATornRecord() throws IOException {
+        // Given
+        try (SpillJournal journal = new SpillJournal(directory, 1024, 4)) {
+            journal.append(bytes("msg-001"));
+            journal.append(bytes("msg-002"));
+            journal.acknowledge(journal.next());
+        }
+        // A record whose length made it to disk but whose bytes did not
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(7).putInt(12345).flip(), 30);
+        }
+
+        // When
+        try (SpillJournal journal = new SpillJournal(directory, 1024, 4)) {
+            long recovered = journal.pending();
+            journal.append(bytes("msg-003"));
+
+            // Then
+            assertThat(recovered).isEqualTo(1);
+            assertThat(drain(journal)).containsExactly("msg-002", "msg-003");
+        }
+    }
+
+    @Test
+    void next_ShouldFail_WhenTheJournalIsClosed() throws IOException {
+        // Given
+        SpillJournal journal = new SpillJournal(directory, 1024, 4);
+        journal.append(bytes("msg-001"));
+
+        // When
+        journal.close();
+
+        // Then - the segments are unmapped, so the journal refuses to read them
+        assertThatIllegalStateException().isThrownBy(journal::next).withMessageContaining("closed");
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    private static List<String> drain(SpillJournal journal) {
+        List<String> records = new ArrayList<>();
+        SpillJournal.Entry entry;
+        while ((entry = journal.next()) != null) {
+            records.add(text(entry));
+            journal.acknowledge(entry);
+        }
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(SpillJournal.Entry entry) {
+        return new String(entry.record(), StandardCharsets.UTF_8);
+    }
+}